@@ -0,0 +1,122 @@
+package com.hyperlocal.backend;
+
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.marketplace.enums.ListingCondition;
+import com.hyperlocal.backend.user.entity.User;
+import com.hyperlocal.backend.user.enums.Role;
+import com.hyperlocal.backend.user.enums.VerificationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmarks. Shapes follow production data:
+ * 30-90 day availability windows, requests of 1-7 days, most of them non-overlapping.
+ */
+public final class BenchmarkData {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private BenchmarkData() {
+    }
+
+    public static List<User> users(int count) {
+        Random random = new Random(1);
+        List<User> users = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            users.add(User.builder()
+                    .id(id)
+                    .name("User " + id)
+                    .email("user" + id + "@example.com")
+                    .password("x")
+                    .role(Role.ROLE_USER)
+                    .verificationStatus(random.nextInt(3) == 0 ? VerificationStatus.VERIFIED : VerificationStatus.NOT_VERIFIED)
+                    .profilePhotoUrl("/uploads/profiles/00/00/" + id + "/profile_" + id + "_1.jpg")
+                    .trustIndex(40 + random.nextInt(60))
+                    .trustXp(random.nextInt(2000))
+                    .build());
+        }
+        return users;
+    }
+
+    public static Community community(long id) {
+        return Community.builder().id(id).name("Community " + id).code("C" + id).build();
+    }
+
+    public static List<Listing> listings(int count, List<User> owners) {
+        Random random = new Random(2);
+        ListingCategory[] categories = ListingCategory.values();
+        ListingCondition[] conditions = ListingCondition.values();
+        List<Listing> listings = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            LocalDate from = TODAY.plusDays(random.nextInt(10));
+            listings.add(Listing.builder()
+                    .id(id)
+                    .owner(owners.get(random.nextInt(owners.size())))
+                    .communityId(1L + random.nextInt(5))
+                    .title("Listing " + id)
+                    .description("Description of listing " + id)
+                    .category(categories[random.nextInt(categories.length)])
+                    .condition(conditions[random.nextInt(conditions.length)])
+                    .price(BigDecimal.valueOf(5 + random.nextInt(50)))
+                    .images(new ArrayList<>(List.of("/uploads/listings/00/00/1/listing_1_" + id + "_0.jpg")))
+                    .availableFrom(from)
+                    .availableTo(from.plusDays(30 + random.nextInt(60)))
+                    .createdAt(LocalDateTime.of(2025, 5, 1, 12, 0).plusMinutes(id))
+                    .build());
+        }
+        return listings;
+    }
+
+    /**
+     * Approved/completed requests for each listing, ordered by listing and start date as the
+     * repository returns them. Every {@code fullyBookedEvery}-th listing is covered end to end.
+     */
+    public static List<BorrowRequest> blockingRequests(List<Listing> listings, List<User> requesters,
+                                                       int perListing, int fullyBookedEvery) {
+        Random random = new Random(3);
+        List<BorrowRequest> requests = new ArrayList<>(listings.size() * perListing);
+        long id = 1;
+        for (Listing listing : listings) {
+            boolean coverAll = fullyBookedEvery > 0 && listing.getId() % fullyBookedEvery == 0;
+            LocalDate cursor = listing.getAvailableFrom();
+            long windowDays = listing.getAvailableTo().toEpochDay() - cursor.toEpochDay() + 1;
+            long step = Math.max(1, windowDays / perListing);
+            for (int i = 0; i < perListing && !cursor.isAfter(listing.getAvailableTo()); i++) {
+                LocalDate start = coverAll ? cursor : cursor.plusDays(random.nextInt(2));
+                LocalDate end = i == perListing - 1 && coverAll ? listing.getAvailableTo() : cursor.plusDays(step - 1);
+                requests.add(request(id++, listing, requesters.get(random.nextInt(requesters.size())), start, end,
+                        random.nextBoolean() ? BorrowRequestStatus.APPROVED : BorrowRequestStatus.COMPLETED));
+                cursor = end.plusDays(1);
+            }
+        }
+        requests.sort(Comparator.comparing(BorrowRequest::getListingId).thenComparing(BorrowRequest::getStartDate));
+        return requests;
+    }
+
+    public static BorrowRequest request(long id, Listing listing, User requester, LocalDate start, LocalDate end,
+                                        BorrowRequestStatus status) {
+        return BorrowRequest.builder()
+                .id(id)
+                .listingId(listing.getId())
+                .requester(requester)
+                .owner(listing.getOwner())
+                .startDate(start)
+                .endDate(end)
+                .message("Could I borrow this?")
+                .status(status)
+                .requestedAt(start.atStartOfDay().minusDays(3))
+                .approvedAt(start.atStartOfDay().minusDays(2))
+                .returnedAt(status == BorrowRequestStatus.COMPLETED ? end.atTime(18, 0) : null)
+                .build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.hyperlocal.backend.common.storage;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Per-user file lookup and cleanup in the sharded layout versus the old flat directory.
+ * Run with -p files=1000000 for the production-sized comparison (setup takes a few minutes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UploadLayoutBenchmark {
+
+    @Param({"100000"})
+    private int files;
+
+    /** Documents per user; the user count is files / documentsPerUser. */
+    private static final int DOCUMENTS_PER_USER = 2;
+
+    private Path root;
+    private int users;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("upload-layout-jmh");
+        users = files / DOCUMENTS_PER_USER;
+        Path flat = Files.createDirectories(root.resolve("flat"));
+        for (long userId = 1; userId <= users; userId++) {
+            for (String prefix : new String[]{UploadLayout.GOV_ID_PREFIX, UploadLayout.ADDRESS_PROOF_PREFIX}) {
+                String fileName = prefix + "_" + userId + "_1.pdf";
+                Files.createFile(flat.resolve(fileName));
+                Path sharded = root.resolve(UploadLayout.userFileKey(UploadLayout.DOCUMENTS, userId, fileName));
+                Files.createDirectories(sharded.getParent());
+                Files.createFile(sharded);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean shardedLookup() {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        return Files.exists(root.resolve(UploadLayout.userFileKey(
+                UploadLayout.DOCUMENTS, userId, UploadLayout.GOV_ID_PREFIX + "_" + userId + "_1.pdf")));
+    }
+
+    @Benchmark
+    public boolean flatLookup() {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        return Files.exists(root.resolve("flat").resolve(UploadLayout.GOV_ID_PREFIX + "_" + userId + "_1.pdf"));
+    }
+
+    /** What deleteVerificationDocuments does now: list only the user's directory. */
+    @Benchmark
+    public void shardedListUserDocuments(Blackhole blackhole) throws IOException {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        Path userDir = root.resolve(UploadLayout.userDirectory(UploadLayout.DOCUMENTS, userId));
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(userDir)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    /** What deleteVerificationDocuments did before: glob over the whole flat directory. */
+    @Benchmark
+    @Measurement(iterations = 3, time = 1)
+    public void flatScanUserDocuments(Blackhole blackhole) throws IOException {
+        long userId = 1 + ThreadLocalRandom.current().nextInt(users);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root.resolve("flat"), "*_" + userId + "_*")) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hyperlocal.backend.marketplace.repository;
+
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.user.entity.User;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Criteria predicate building for the browse specifications against a real Hibernate metamodel
+ * (in-memory H2, no schema).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingSpecificationBenchmark {
+
+    /** Number of communities the user belongs to (size of the IN list). */
+    @Param({"3", "50"})
+    private int communityCount;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+    private List<Long> communityIds;
+
+    @Setup
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting("hibernate.connection.url", "jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1")
+                .applySetting("hibernate.hbm2ddl.auto", "none")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(Listing.class)
+                .addAnnotatedClass(User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+        communityIds = LongStream.rangeClosed(1, communityCount).boxed().toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate browseWithSearch() {
+        return toPredicate(ListingSpecification.browse(communityIds, ListingCategory.values()[0], "drill"));
+    }
+
+    @Benchmark
+    public Predicate browseInCommunity() {
+        return toPredicate(ListingSpecification.browseInCommunity(1L, null, null));
+    }
+
+    private Predicate toPredicate(Specification<Listing> specification) {
+        CriteriaQuery<Listing> query = cb.createQuery(Listing.class);
+        Root<Listing> root = query.from(Listing.class);
+        return specification.toPredicate(root, query, cb);
+    }
+}
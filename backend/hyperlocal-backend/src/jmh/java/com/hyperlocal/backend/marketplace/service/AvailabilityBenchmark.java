@@ -0,0 +1,57 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.BenchmarkData;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fully-booked detection for a browse page ({@link MarketplaceService#computeIsFullyBookedMap(List, List)})
+ * and for a single listing with a long request history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    /** Listings on the page (20 = default page, 500 = availability filter over all non-expired listings). */
+    @Param({"20", "500"})
+    private int listingCount;
+
+    @Param({"5", "40"})
+    private int requestsPerListing;
+
+    private List<Listing> listings;
+    private List<BorrowRequest> requests;
+    private Listing singleListing;
+    private List<BorrowRequest> singleListingRequests;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(200);
+        listings = BenchmarkData.listings(listingCount, users);
+        requests = BenchmarkData.blockingRequests(listings, users, requestsPerListing, 4);
+        singleListing = listings.get(3);
+        singleListingRequests = requests.stream()
+                .filter(request -> request.getListingId().equals(singleListing.getId()))
+                .toList();
+    }
+
+    @Benchmark
+    public Map<Long, Boolean> computeIsFullyBookedMap() {
+        return MarketplaceService.computeIsFullyBookedMap(listings, requests);
+    }
+
+    @Benchmark
+    public boolean isFullyBookedWithinAvailability() {
+        return MarketplaceService.isFullyBookedWithinAvailability(singleListing, singleListingRequests);
+    }
+}
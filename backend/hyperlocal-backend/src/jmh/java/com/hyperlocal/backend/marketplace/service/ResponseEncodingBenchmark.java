@@ -0,0 +1,118 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.BenchmarkData;
+import com.hyperlocal.backend.common.dto.FieldSet;
+import com.hyperlocal.backend.common.dto.PagedResponseDto;
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.marketplace.dto.ListingSummaryResponse;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of one page of listing summaries per encoding, with and without Blackbird,
+ * and the cost of gzip on top (as server.compression applies it to JSON).
+ *
+ * Bytes on the wire do not vary between invocations; they are reported next to the timings as
+ * the secondary results rawBytes and gzipBytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper mapper;
+    private PagedResponseDto<ListingSummaryResponse> page;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(50);
+        List<Listing> listings = BenchmarkData.listings(pageSize, users);
+        Map<Long, User> usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Long, Community> communitiesById = listings.stream().map(Listing::getCommunityId).distinct()
+                .collect(Collectors.toMap(Function.identity(), BenchmarkData::community));
+
+        List<ListingSummaryResponse> content = listings.stream()
+                .map(listing -> MarketplaceService.buildListingSummaryResponse(
+                        listing,
+                        usersById.get(listing.getOwnerId()),
+                        communitiesById.get(listing.getCommunityId()),
+                        listing.getId() % 3 == 0 ? null : 4.2,
+                        listing.getId() % 3 == 0 ? 0L : 12L,
+                        false,
+                        FieldSet.ALL))
+                .toList();
+        page = PagedResponseDto.<ListingSummaryResponse>builder()
+                .content(content)
+                .pageNumber(0)
+                .pageSize(pageSize)
+                .totalElements(10_000)
+                .totalPages(10_000 / pageSize)
+                .last(false)
+                .build();
+
+        mapper = switch (format) {
+            case "json" -> blackbird ? JsonMapper.builder().addModule(new BlackbirdModule()).build() : JsonMapper.builder().build();
+            case "cbor" -> blackbird ? CBORMapper.builder().addModule(new BlackbirdModule()).build() : CBORMapper.builder().build();
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    @Benchmark
+    public byte[] serialize(WireSize wireSize) {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzip(WireSize wireSize) throws IOException {
+        return gzip(mapper.writeValueAsBytes(page));
+    }
+
+    /** Size of the encoded page, set once per iteration and reported as-is. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long rawBytes;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void measure(ResponseEncodingBenchmark benchmark) throws IOException {
+            byte[] raw = benchmark.mapper.writeValueAsBytes(benchmark.page);
+            rawBytes = raw.length;
+            gzipBytes = gzip(raw).length;
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
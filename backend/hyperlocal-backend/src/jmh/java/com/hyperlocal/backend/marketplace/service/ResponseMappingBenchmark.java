@@ -0,0 +1,59 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.BenchmarkData;
+import com.hyperlocal.backend.common.dto.FieldSet;
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.marketplace.dto.ListingSummaryResponse;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Entity-to-DTO mapping of one page, with all lookups pre-loaded as the services do it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private List<Listing> listings;
+    private Map<Long, User> usersById;
+    private Map<Long, Community> communitiesById;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(50);
+        listings = BenchmarkData.listings(pageSize, users);
+        usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        communitiesById = listings.stream().map(Listing::getCommunityId).distinct()
+                .collect(Collectors.toMap(Function.identity(), BenchmarkData::community));
+    }
+
+    @Benchmark
+    public void buildListingSummaryResponse(Blackhole blackhole) {
+        for (Listing listing : listings) {
+            ListingSummaryResponse response = MarketplaceService.buildListingSummaryResponse(
+                    listing,
+                    usersById.get(listing.getOwnerId()),
+                    communitiesById.get(listing.getCommunityId()),
+                    4.2,
+                    12L,
+                    false,
+                    FieldSet.ALL);
+            blackhole.consume(response);
+        }
+    }
+}
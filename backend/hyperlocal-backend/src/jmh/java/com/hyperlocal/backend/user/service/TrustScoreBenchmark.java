@@ -0,0 +1,42 @@
+package com.hyperlocal.backend.user.service;
+
+import com.hyperlocal.backend.BenchmarkData;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring part of {@link TrustScoreService#recalculateAndPersist(Long)} for users with short and
+ * long borrowing histories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrustScoreBenchmark {
+
+    @Param({"10", "1000"})
+    private int completedRequests;
+
+    private List<BorrowRequest> completed;
+
+    @Setup
+    public void setUp() {
+        List<User> users = BenchmarkData.users(10);
+        completed = BenchmarkData.blockingRequests(BenchmarkData.listings(completedRequests, users), users, 1, 0)
+                .stream()
+                .filter(request -> request.getStatus() == BorrowRequestStatus.COMPLETED)
+                .toList();
+    }
+
+    @Benchmark
+    public TrustScoreService.TrustScores score() {
+        return TrustScoreService.score(completed.size(), completed.size() / 10, 2, completed, true, 40, 3);
+    }
+}
@@ -7,12 +7,14 @@ import com.hyperlocal.backend.admin.dto.CreateAdminResponseDto;
 import com.hyperlocal.backend.admin.service.AdminAuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/api/v1/admin/auth")
+@Lazy
 @RequiredArgsConstructor
 public class AdminAuthController {
 
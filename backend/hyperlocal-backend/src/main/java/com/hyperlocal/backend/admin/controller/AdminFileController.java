@@ -1,22 +1,20 @@
 package com.hyperlocal.backend.admin.controller;
 
+import com.hyperlocal.backend.common.storage.FileStorageService;
+import com.hyperlocal.backend.common.storage.StorageBackend;
+import com.hyperlocal.backend.common.storage.StoredObject;
+import com.hyperlocal.backend.common.web.FileRangeWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.net.URLConnection;
 
 /**
  * Controller for serving user document files to super admins
@@ -24,27 +22,33 @@ import java.nio.file.Paths;
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/admin/files")
+@Lazy
 @RequiredArgsConstructor
 @PreAuthorize("hasRole('ROLE_SUPERADMIN')")
 public class AdminFileController {
 
-    @Value("${app.upload.dir}")
-    private String uploadDir;
+    private final FileStorageService fileStorageService;
+    private final StorageBackend storageBackend;
+    private final FileRangeWriter fileRangeWriter;
 
     /**
      * Serve a user's file (profile photo, government ID, address proof)
      * GET /api/v1/admin/files/{userId}/{fileName}
      *
+     * Supports conditional GET (If-None-Match / If-Modified-Since) and single byte ranges,
+     * so PDF viewers can revalidate or fetch pages on demand instead of re-downloading.
+     *
      * @param userId User ID whose file is being accessed
      * @param fileName Name of the file to serve
      * @param authentication The authenticated user (must be SUPER_ADMIN)
-     * @return The requested file as a Resource
      */
     @GetMapping("/{userId}/{fileName}")
-    public ResponseEntity<Resource> serveFile(
+    public void serveFile(
             @PathVariable Long userId,
             @PathVariable String fileName,
-            Authentication authentication
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
         try {
             // 1. Security: Verify SUPER_ADMIN role (already handled by @PreAuthorize)
@@ -54,95 +58,59 @@ public class AdminFileController {
             // 2. Prevent path traversal attack
             if (fileName.contains("..") || fileName.contains("/") || fileName.contains("\\")) {
                 log.warn("Potential path traversal attempt detected. FileName: {}", fileName);
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return;
             }
 
             // 3. Validate userId
             if (userId == null || userId <= 0) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return;
             }
 
-            // 4. Build file path
-            // File structure: uploads/documents/{fileName} or uploads/profiles/{fileName}
-            Path filePath = resolveFilePath(userId, fileName);
+            // 4. Resolve storage key
+            // Key structure: {documents|profiles}/{shard1}/{shard2}/{userId}/{fileName}
+            StoredObject object = fileStorageService.resolveUserFile(userId, fileName)
+                    .flatMap(storageBackend::stat)
+                    .orElse(null);
 
-            if (filePath == null) {
+            // 5. Check if file exists
+            if (object == null) {
                 log.error("File not found: {} for user: {}", fileName, userId);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
             }
 
-            Resource resource = new UrlResource(filePath.toUri());
-
-            // 5. Check if file exists and is readable
-            if (!resource.exists() || !resource.isReadable()) {
-                log.error("File not found or not readable: {}", filePath);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-            }
-
-            // 6. Determine content type
-            String contentType = determineContentType(filePath);
-
-            // 7. Serve file with security headers
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .header("X-Content-Type-Options", "nosniff")
-                    .header("Content-Disposition", "inline; filename=\"" + resource.getFilename() + "\"")
-                    .body(resource);
+            // 6. Serve file with security headers, conditional GET and range support
+            fileRangeWriter.write(storageBackend, object, determineContentType(fileName),
+                    "admin.files.serve", request, response);
 
-        } catch (MalformedURLException e) {
-            log.error("Malformed URL exception for file: {}", fileName, e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             log.error("Error serving file: {} for user: {}", fileName, userId, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-        }
-    }
-
-    /**
-     * Resolve the file path by searching in both documents and profiles directories
-     */
-    private Path resolveFilePath(Long userId, String fileName) {
-        // Try documents directory first
-        Path documentsPath = Paths.get(uploadDir, "documents", fileName);
-        if (Files.exists(documentsPath)) {
-            return documentsPath;
-        }
-
-        // Try profiles directory
-        Path profilesPath = Paths.get(uploadDir, "profiles", fileName);
-        if (Files.exists(profilesPath)) {
-            return profilesPath;
+            if (!response.isCommitted()) {
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
         }
-
-        // File not found in either directory
-        return null;
     }
 
     /**
      * Determine content type of the file
      */
-    private String determineContentType(Path filePath) {
-        try {
-            String contentType = Files.probeContentType(filePath);
-            if (contentType == null) {
-                // Fallback based on file extension
-                String fileName = filePath.getFileName().toString().toLowerCase();
-                if (fileName.endsWith(".pdf")) {
-                    return "application/pdf";
-                } else if (fileName.endsWith(".jpg") || fileName.endsWith(".jpeg")) {
-                    return "image/jpeg";
-                } else if (fileName.endsWith(".png")) {
-                    return "image/png";
-                } else {
-                    return "application/octet-stream";
-                }
+    private String determineContentType(String fileName) {
+        String contentType = URLConnection.guessContentTypeFromName(fileName);
+        if (contentType == null) {
+            // Fallback based on file extension
+            String lowerName = fileName.toLowerCase();
+            if (lowerName.endsWith(".pdf")) {
+                return "application/pdf";
+            } else if (lowerName.endsWith(".jpg") || lowerName.endsWith(".jpeg")) {
+                return "image/jpeg";
+            } else if (lowerName.endsWith(".png")) {
+                return "image/png";
+            } else {
+                return "application/octet-stream";
             }
-            return contentType;
-        } catch (IOException e) {
-            log.warn("Could not determine content type for file: {}", filePath, e);
-            return "application/octet-stream";
         }
+        return contentType;
     }
 }
-
-
@@ -0,0 +1,48 @@
+package com.hyperlocal.backend.admin.controller;
+
+import com.hyperlocal.backend.marketplace.dto.PendingReviewBackfillResult;
+import com.hyperlocal.backend.marketplace.dto.ReviewBackfillResult;
+import com.hyperlocal.backend.marketplace.service.PendingReviewBackfill;
+import com.hyperlocal.backend.marketplace.service.ReviewDenormalizationBackfill;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * One-off review data migrations for super admins. Each is idempotent, so running it again
+ * (or on another instance) only fills what is still missing.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/reviews")
+@Lazy
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ROLE_SUPERADMIN')")
+public class AdminReviewController {
+
+    private final PendingReviewBackfill pendingReviewBackfill;
+    private final ReviewDenormalizationBackfill reviewDenormalizationBackfill;
+
+    /**
+     * Enqueue completed requests from before the pending-review queue existed
+     * POST /api/v1/admin/reviews/backfill-pending
+     *
+     * @return Pending reviews inserted
+     */
+    @PostMapping("/backfill-pending")
+    public ResponseEntity<PendingReviewBackfillResult> backfillPendingReviews() {
+        return ResponseEntity.ok(new PendingReviewBackfillResult(pendingReviewBackfill.backfill()));
+    }
+
+    /**
+     * Fill reviewer names and rating histograms of reviews written before those columns existed
+     * POST /api/v1/admin/reviews/backfill-denormalized
+     *
+     * @return Reviewer names filled and rating histograms created
+     */
+    @PostMapping("/backfill-denormalized")
+    public ResponseEntity<ReviewBackfillResult> backfillDenormalizedReviews() {
+        return ResponseEntity.ok(reviewDenormalizationBackfill.backfill());
+    }
+}
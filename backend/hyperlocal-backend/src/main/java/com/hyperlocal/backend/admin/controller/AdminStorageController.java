@@ -0,0 +1,38 @@
+package com.hyperlocal.backend.admin.controller;
+
+import com.hyperlocal.backend.common.storage.OrphanCollectionResult;
+import com.hyperlocal.backend.common.storage.OrphanedUploadCollector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Storage maintenance for super admins
+ */
+@RestController
+@RequestMapping("/api/v1/admin/storage")
+@Lazy
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ROLE_SUPERADMIN')")
+public class AdminStorageController {
+
+    private final OrphanedUploadCollector orphanedUploadCollector;
+
+    /**
+     * Run the orphaned upload collector now
+     * POST /api/v1/admin/storage/gc?dryRun=true
+     *
+     * @param dryRun Only report what would be deleted (default true)
+     * @return Files scanned, orphaned files and reclaimed bytes
+     *
+     * @throws CustomExceptions.StorageCollectionInProgressException if a collection is already running
+     */
+    @PostMapping("/gc")
+    public ResponseEntity<OrphanCollectionResult> collectOrphanedUploads(
+            @RequestParam(defaultValue = "true") boolean dryRun
+    ) {
+        return ResponseEntity.ok(orphanedUploadCollector.collect(dryRun));
+    }
+}
@@ -11,6 +11,7 @@ import com.hyperlocal.backend.user.enums.ProfileStep;
 import com.hyperlocal.backend.user.enums.Role;
 import com.hyperlocal.backend.user.enums.VerificationStatus;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +20,7 @@ import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/v1/admin")
+@Lazy
 @RequiredArgsConstructor
 @PreAuthorize("hasRole('ROLE_SUPERADMIN')")
 public class SuperAdminController {
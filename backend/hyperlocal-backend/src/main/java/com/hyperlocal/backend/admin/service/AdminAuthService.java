@@ -10,11 +10,13 @@ import com.hyperlocal.backend.admin.repository.AdminRepository;
 
 import com.hyperlocal.backend.security.JwtService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class AdminAuthService {
 
@@ -15,6 +15,7 @@ import com.hyperlocal.backend.community.repository.CommunityRepository;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,6 +28,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class AdminCommunityService {
 
@@ -45,6 +47,7 @@ public class AdminCommunityService {
      *               name and invite code
      * @return paginated list of lightweight {@link AdminCommunityListDto}
      */
+    @Transactional(readOnly = true)
     public PagedResponseDto<AdminCommunityListDto> getAllCommunities(
             int page, int size, CommunityStatus status, String search) {
 
@@ -93,6 +96,7 @@ public class AdminCommunityService {
      * @return {@link AdminCommunityDetailDto} containing community metadata and all members
      * @throws CustomExceptions.CommunityNotFoundException if no community matches the id
      */
+    @Transactional(readOnly = true)
     public AdminCommunityDetailDto getCommunityDetail(Long communityId) {
         Community community = communityRepository.findById(communityId)
                 .orElseThrow(CustomExceptions.CommunityNotFoundException::new);
@@ -196,6 +200,7 @@ public class AdminCommunityService {
      * @return paginated {@link CommunityMemberResponse} list
      * @throws CustomExceptions.CommunityNotFoundException if no community matches the id
      */
+    @Transactional(readOnly = true)
     public PagedResponseDto<CommunityMemberResponse> getCommunityMembers(
             Long communityId, int page, int size) {
 
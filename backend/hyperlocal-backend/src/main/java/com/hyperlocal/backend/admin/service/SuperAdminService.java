@@ -7,14 +7,17 @@ import com.hyperlocal.backend.admin.dto.VerificationRequestDto;
 import com.hyperlocal.backend.admin.dto.VerificationResponseDto;
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
 import com.hyperlocal.backend.common.storage.FileStorageService;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.enums.ProfileStep;
 import com.hyperlocal.backend.user.enums.VerificationStatus;
 import com.hyperlocal.backend.user.repository.UserRepository;
 import com.hyperlocal.backend.user.repository.UserSpecification;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -23,7 +26,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Lazy
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class SuperAdminService {
 
     private final UserRepository userRepository;
@@ -35,6 +40,7 @@ public class SuperAdminService {
     /**
      * Get all users with lightweight response (for list view)
      */
+    @Transactional(readOnly = true)
     public PagedResponseDto<UserListDto> getAllUsers(
             int page,
             int size,
@@ -62,6 +68,7 @@ public class SuperAdminService {
     /**
      * Get detailed user information by ID (including document URLs)
      */
+    @Transactional(readOnly = true)
     public UserDetailDto getUserById(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(CustomExceptions.UserNotFoundException::new);
@@ -138,7 +145,10 @@ public class SuperAdminService {
         user.setRejectionReason(rejectionReason);
 
         // Remove all prior verification files so user must submit fresh documents.
+        // Deleting by URL also covers files still sitting in the legacy flat layout.
         fileStorageService.deleteVerificationDocuments(user.getId());
+        fileStorageService.deleteByUrl(user.getGovernmentIdUrl());
+        fileStorageService.deleteByUrl(user.getAddressProofUrl());
 
         // Clear the uploaded document references so user can re-upload
         user.setGovernmentIdUrl(null);
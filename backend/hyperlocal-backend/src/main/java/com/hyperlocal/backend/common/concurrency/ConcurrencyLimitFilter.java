@@ -0,0 +1,178 @@
+package com.hyperlocal.backend.common.concurrency;
+
+import com.hyperlocal.backend.common.dto.ErrorResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sheds load before it reaches the thread and connection pools. Each pool of endpoints has its own
+ * {@link AdaptiveConcurrencyLimit}; a request that finds its pool at the limit gets 503 straight away
+ * instead of queueing behind slow requests. Runs ahead of the security chain, so shedding costs
+ * nothing but the path match; the 503 carries the CORS headers the chain would have added, so
+ * browsers can read it. CORS preflights are never limited.
+ *
+ * Pools are listed in app.concurrency.pools and matched in that order; paths matching no pool
+ * (uploads, actuator, docs) are not limited:
+ *   app.concurrency.pool.{name}.match=/api/v1/admin/**,/api/other/**
+ *   app.concurrency.pool.{name}.initial-limit=20
+ *   app.concurrency.pool.{name}.min-limit=2
+ *   app.concurrency.pool.{name}.max-limit=100
+ *
+ * Requests that throw or end with a 5xx count as failures and back the limit off. 4xx responses
+ * (rejected logins, 429s from the rate limiter) return early and are left out of the latency samples.
+ * Metrics: concurrency.limit{pool}, concurrency.in-flight{pool}, concurrency.rejected{pool}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    @Value("${app.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.concurrency.pools:}")
+    private List<String> poolNames;
+
+    private final List<Pool> pools = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        for (String name : poolNames) {
+            String prefix = "app.concurrency.pool." + name.trim() + ".";
+            List<PathPattern> patterns = Arrays.stream(environment.getRequiredProperty(prefix + "match").split(","))
+                    .map(String::trim)
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                    environment.getRequiredProperty(prefix + "initial-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "min-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "max-limit", Integer.class));
+
+            Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("pool", name.trim())
+                    .register(meterRegistry);
+            Gauge.builder("concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Requests currently holding a concurrency permit")
+                    .tag("pool", name.trim())
+                    .register(meterRegistry);
+            Counter rejected = Counter.builder("concurrency.rejected")
+                    .description("Requests shed because their pool was at its concurrency limit")
+                    .tag("pool", name.trim())
+                    .register(meterRegistry);
+
+            pools.add(new Pool(patterns, limit, rejected));
+        }
+        log.info("Concurrency limiting {} with pools {}", enabled ? "enabled" : "disabled", poolNames);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || pools.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Pool pool = match(request);
+        if (pool == null || CorsUtils.isPreFlightRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!pool.limit().tryAcquire()) {
+            pool.rejected().increment();
+            reject(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streams outlive the dispatch; their duration says nothing about capacity
+                pool.limit().release();
+            } else if (!failed && response.getStatus() >= 400) {
+                // Client errors are answered before the real work; their latency would inflate the limit
+                pool.limit().release();
+            } else {
+                pool.limit().release(System.nanoTime() - start, failed);
+            }
+        }
+    }
+
+    private Pool match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (Pool pool : pools) {
+            for (PathPattern pattern : pool.patterns()) {
+                if (pattern.matches(path)) {
+                    return pool;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CorsConfiguration corsConfiguration = corsConfigurationSource.getCorsConfiguration(request);
+        if (!corsProcessor.processRequest(corsConfiguration, request, response)) {
+            // Disallowed origin: the processor has already answered 403, as the security chain would
+            return;
+        }
+        ErrorResponseDto body = new ErrorResponseDto(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "Server is busy, please retry shortly",
+                request.getRequestURI());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private record Pool(List<PathPattern> patterns, AdaptiveConcurrencyLimit limit, Counter rejected) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.hyperlocal.backend.common.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Response encodings.
+ *
+ * - Clients sending "Accept: application/cbor" get CBOR instead of JSON. Meant for the mobile
+ *   client on list endpoints, where it saves the repeated keys' text and number formatting. The
+ *   mapper comes from Boot's CBOR builder, so it gets the same modules and spring.jackson.*
+ *   settings as JSON responses.
+ * - Blackbird replaces reflective getter calls with generated lambdas in every Jackson mapper
+ *   Spring Boot builds, which matters for pages of DTOs (see ResponseEncodingBenchmark).
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public JacksonCborHttpMessageConverter cborHttpMessageConverter(CBORMapper.Builder cborMapperBuilder) {
+        return new JacksonCborHttpMessageConverter(cborMapperBuilder.build());
+    }
+}
@@ -0,0 +1,43 @@
+package com.hyperlocal.backend.common.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+
+/**
+ * Marks third-party beans that no request path depends on at startup (springdoc by default) as
+ * lazy, so they are created on first use instead of during startup. Our own non-critical beans
+ * are annotated with {@code @Lazy} directly (see the admin package).
+ *
+ * Packages are configured with app.startup.lazy-packages. Beans another eager bean injects are
+ * still created early; the flag only defers the ones nothing asks for.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyPackagesPostProcessor(Environment environment) {
+        String[] packages = environment.getProperty("app.startup.lazy-packages", String[].class, new String[0]);
+        return beanFactory -> {
+            if (packages.length == 0) {
+                return;
+            }
+            for (String name : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(name);
+                if (definition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                String declaringClass = definition.getFactoryBeanName() != null
+                        ? beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName()
+                        : definition.getBeanClassName();
+                if (declaringClass != null && Arrays.stream(packages).anyMatch(declaringClass::startsWith)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
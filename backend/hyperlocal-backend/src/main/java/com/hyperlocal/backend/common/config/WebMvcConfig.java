@@ -1,26 +1,36 @@
 package com.hyperlocal.backend.common.config;
 
+import com.hyperlocal.backend.common.storage.StorageBackend;
+import com.hyperlocal.backend.common.web.PresignedDownloadInterceptor;
+import com.hyperlocal.backend.common.web.StorageBackendResourceResolver;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private final StorageBackend storageBackend;
+
+    @Value("${app.storage.presigned-url-validity:PT10M}")
+    private Duration presignedUrlValidity;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        String uploadLocation = uploadPath.toUri().toString();
-
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadLocation);
+                .resourceChain(false)
+                .addResolver(new StorageBackendResourceResolver(storageBackend));
     }
-}
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new PresignedDownloadInterceptor(storageBackend, presignedUrlValidity))
+                .addPathPatterns("/uploads/**");
+    }
+}
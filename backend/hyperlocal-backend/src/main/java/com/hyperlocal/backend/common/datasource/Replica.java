@@ -0,0 +1,42 @@
+package com.hyperlocal.backend.common.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * A read replica and its most recently measured replication lag.
+ * The lag is null until the first check succeeds and after a check fails, which makes the
+ * replica unusable until it answers again.
+ */
+public class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile Duration lag;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public void setLag(Duration lag) {
+        this.lag = lag;
+    }
+
+    public boolean isUsable(Duration maxLag) {
+        Duration current = lag;
+        return current != null && current.compareTo(maxLag) <= 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.hyperlocal.backend.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Connection pools for the read replicas listed in app.datasource.replicas.urls, plus the
+ * periodic replication lag check that decides whether {@link ReplicaRoutingDataSource} may use them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaPool {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received has been replayed
+     * (an idle primary produces no transactions, which must not read as lag).
+     */
+    private static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                     WHEN NOT pg_is_in_recovery() THEN 0
+                     WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                     ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.datasource.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${app.datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${app.datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${app.datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}")
+    private int maximumPoolSize;
+
+    /** Must return the lag in seconds; defaults to a PostgreSQL streaming replication query. */
+    @Value("${app.datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        if (lagQuery.isBlank()) {
+            lagQuery = POSTGRES_LAG_QUERY;
+        }
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            dataSource.setPoolName(name);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setReadOnly(true);
+
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            Gauge.builder("db.replica.lag", replica, r -> r.getLag() == null ? Double.NaN : r.getLag().toMillis() / 1000.0)
+                    .description("Replication lag of the read replica in seconds (NaN while unreachable)")
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        // Measure once up front so read-only transactions can use the replicas right after startup
+        checkLag();
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT5S}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                Double seconds = new JdbcTemplate(replica.getDataSource()).queryForObject(lagQuery, Double.class);
+                replica.setLag(Duration.ofMillis(Math.round((seconds == null ? 0 : seconds) * 1000)));
+            } catch (RuntimeException e) {
+                if (replica.getLag() != null) {
+                    log.warn("Lag check on {} failed, routing its reads to the primary", replica.getName(), e);
+                }
+                replica.setLag(null);
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return List.copyOf(replicas);
+    }
+
+    @PreDestroy
+    public void close() {
+        for (Replica replica : replicas) {
+            ((HikariDataSource) replica.getDataSource()).close();
+        }
+    }
+}
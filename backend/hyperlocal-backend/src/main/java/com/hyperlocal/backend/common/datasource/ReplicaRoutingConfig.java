@@ -0,0 +1,45 @@
+package com.hyperlocal.backend.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions (@Transactional(readOnly = true)) to the replicas.
+ *
+ * The primary DataSource is wrapped in a LazyConnectionDataSourceProxy whose read-only target is a
+ * {@link ReplicaRoutingDataSource}. The proxy fetches the physical connection on the first
+ * statement, after the transaction manager has marked the connection read-only, so the choice
+ * follows the transaction definition without any thread-local routing key.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(
+            ObjectProvider<ReplicaPool> replicaPool,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)) {
+                    return bean;
+                }
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+                proxy.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+                        primary, replicaPool.getObject().getReplicas(), maxLag, meterRegistry.getObject()));
+                return proxy;
+            }
+        };
+    }
+}
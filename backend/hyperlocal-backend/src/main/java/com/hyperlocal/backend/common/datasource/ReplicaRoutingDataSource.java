@@ -0,0 +1,76 @@
+package com.hyperlocal.backend.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: round-robin over the replicas whose lag is
+ * within the limit, falling back to the primary when none is. A replica that fails to hand out a
+ * connection is skipped for this call; the lag check takes it out of rotation until it recovers.
+ *
+ * Used as the read-only target of a LazyConnectionDataSourceProxy, which only decides between
+ * primary and replicas once the transaction has been marked read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    public static final String ROUTING_METRIC = "db.replica.routing";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.replicaReads = Counter.builder(ROUTING_METRIC)
+                .description("Read-only transactions by the data source they were routed to")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.fallbackReads = Counter.builder(ROUTING_METRIC)
+                .description("Read-only transactions by the data source they were routed to")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isUsable(maxLag)) {
+                continue;
+            }
+            try {
+                Connection connection = replica.getDataSource().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Replica {} did not hand out a connection, trying the next one", replica.getName(), e);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    /** Replicas only know the configured credentials, so explicit ones always go to the primary. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        fallbackReads.increment();
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,57 @@
+package com.hyperlocal.backend.common.dto;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sparse fieldset from a "fields=" request parameter: comma-separated top-level response fields.
+ * An absent or blank parameter selects every field. Services use {@link #includesAny} to skip the
+ * lookups behind unselected fields and {@link #pick} to leave them null, which the response DTOs
+ * (annotated with NON_NULL inclusion) then omit.
+ */
+public final class FieldSet {
+
+    public static final FieldSet ALL = new FieldSet(null);
+
+    /** Null means all fields. */
+    private final Set<String> fields;
+
+    private FieldSet(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * @param allowed the response's field names; anything else is rejected with a 400
+     */
+    public static FieldSet parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        for (String field : selected) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "'. Allowed fields: "
+                        + allowed.stream().sorted().collect(Collectors.joining(", ")));
+            }
+        }
+        return new FieldSet(selected);
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    public boolean includesAny(String... candidates) {
+        return Arrays.stream(candidates).anyMatch(this::includes);
+    }
+
+    /** The value if the field is selected, otherwise null without evaluating it. */
+    public <T> T pick(String field, Supplier<T> value) {
+        return includes(field) ? value.get() : null;
+    }
+}
@@ -224,4 +224,10 @@ public class CustomExceptions {
             super(message);
         }
     }
+
+    public static class StorageCollectionInProgressException extends RuntimeException {
+        public StorageCollectionInProgressException() {
+            super("An orphaned upload collection is already running.");
+        }
+    }
 }
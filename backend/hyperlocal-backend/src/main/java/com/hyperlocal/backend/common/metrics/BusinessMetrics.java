@@ -0,0 +1,61 @@
+package com.hyperlocal.backend.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Domain counters. Increments are deferred until the surrounding transaction commits, so a
+ * rolled-back approval or review is never counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class BusinessMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void listingCreated(String category) {
+        increment(Counter.builder("business.listings.created")
+                .description("Listings created")
+                .tag("category", category)
+                .tag(MetricsEndpoint.TAG, MetricsEndpoint.current()));
+    }
+
+    /**
+     * @param decision approved, rejected or auto_rejected (overlap with an approved request)
+     */
+    public void borrowRequestDecided(String decision, int count) {
+        Counter.Builder builder = Counter.builder("business.borrow.requests.decided")
+                .description("Borrow requests approved or rejected")
+                .tag("decision", decision)
+                .tag(MetricsEndpoint.TAG, MetricsEndpoint.current());
+        afterCommit(() -> builder.register(meterRegistry).increment(count));
+    }
+
+    public void reviewPosted(int rating) {
+        increment(Counter.builder("business.reviews.posted")
+                .description("Reviews posted")
+                .tag("rating", String.valueOf(rating))
+                .tag(MetricsEndpoint.TAG, MetricsEndpoint.current()));
+    }
+
+    private void increment(Counter.Builder builder) {
+        afterCommit(() -> builder.register(meterRegistry).increment());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.hyperlocal.backend.common.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /** Observation name used by the @Observed service classes. */
+    public static final String SERVICE_OBSERVATION = "service.invocations";
+
+    @Bean
+    public static RepositoryMetricsPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryMetricsPostProcessor(meterRegistry);
+    }
+
+    /**
+     * Adds the endpoint tag to service observations; HTTP observations already carry the route as "uri".
+     */
+    @Bean
+    public ObservationFilter endpointObservationFilter() {
+        return context -> {
+            if (SERVICE_OBSERVATION.equals(context.getName())) {
+                context.addLowCardinalityKeyValue(KeyValue.of(MetricsEndpoint.TAG, MetricsEndpoint.current()));
+            }
+            return context;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.hyperlocal.backend.common.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Resolves the "endpoint" tag shared by service and repository metrics: the HTTP method plus the
+ * matched route pattern of the current request (e.g. "GET /api/v1/listings/{id}"), so cardinality
+ * stays bounded by the number of routes. Outside a request (scheduled jobs, startup) it is "none".
+ */
+public final class MetricsEndpoint {
+
+    public static final String TAG = "endpoint";
+    public static final String NONE = "none";
+
+    private MetricsEndpoint() {
+    }
+
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NONE;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // Before handler mapping (filters) the raw URI would explode cardinality.
+            return NONE;
+        }
+        return request.getMethod() + " " + pattern;
+    }
+}
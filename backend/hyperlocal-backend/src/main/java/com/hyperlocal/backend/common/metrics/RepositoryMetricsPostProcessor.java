@@ -0,0 +1,45 @@
+package com.hyperlocal.backend.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every Spring Data repository call as "repository.invocations", tagged with the repository,
+ * the method, the outcome and the {@link MetricsEndpoint endpoint} that triggered it. This makes
+ * it possible to see which HTTP route a slow or chatty repository method is called from.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    public static final String METRIC_NAME = "repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener()));
+        }
+        return bean;
+    }
+
+    private RepositoryMethodInvocationListener listener() {
+        return invocation -> Timer.builder(METRIC_NAME)
+                .description("Duration of Spring Data repository method invocations")
+                .tag("repository", invocation.getRepositoryInterface().getSimpleName())
+                .tag("method", invocation.getMethod().getName())
+                .tag("state", invocation.getResult().getState().name())
+                .tag(MetricsEndpoint.TAG, MetricsEndpoint.current())
+                .register(meterRegistry.getObject())
+                .record(invocation.getDuration(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.common.outbox;
+
+/**
+ * A state change published through the outbox. Implementations are records listed in
+ * {@link DomainEventType}; they are stored as JSON, so they should only carry ids and
+ * small values, never entities.
+ */
+public interface DomainEvent {
+
+    /** Id of the entity the event is about (listing, borrow request, review, membership). */
+    Long aggregateId();
+}
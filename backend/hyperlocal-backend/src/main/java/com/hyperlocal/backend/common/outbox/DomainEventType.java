@@ -0,0 +1,44 @@
+package com.hyperlocal.backend.common.outbox;
+
+import com.hyperlocal.backend.community.event.MemberJoined;
+import com.hyperlocal.backend.marketplace.event.BorrowApproved;
+import com.hyperlocal.backend.marketplace.event.BorrowCancelled;
+import com.hyperlocal.backend.marketplace.event.BorrowCompleted;
+import com.hyperlocal.backend.marketplace.event.BorrowRejected;
+import com.hyperlocal.backend.marketplace.event.BorrowRequested;
+import com.hyperlocal.backend.marketplace.event.ListingCreated;
+import com.hyperlocal.backend.marketplace.event.ReviewPosted;
+
+import java.util.Arrays;
+
+/**
+ * Stored in outbox_events.event_type; maps each row back to the record its payload is read into.
+ * Rename constants only together with a migration of existing rows.
+ */
+public enum DomainEventType {
+    LISTING_CREATED(ListingCreated.class),
+    BORROW_REQUESTED(BorrowRequested.class),
+    BORROW_APPROVED(BorrowApproved.class),
+    BORROW_REJECTED(BorrowRejected.class),
+    BORROW_CANCELLED(BorrowCancelled.class),
+    BORROW_COMPLETED(BorrowCompleted.class),
+    REVIEW_POSTED(ReviewPosted.class),
+    MEMBER_JOINED(MemberJoined.class);
+
+    private final Class<? extends DomainEvent> eventClass;
+
+    DomainEventType(Class<? extends DomainEvent> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    public Class<? extends DomainEvent> getEventClass() {
+        return eventClass;
+    }
+
+    public static DomainEventType of(DomainEvent event) {
+        return Arrays.stream(values())
+                .filter(type -> type.eventClass == event.getClass())
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unregistered domain event " + event.getClass()));
+    }
+}
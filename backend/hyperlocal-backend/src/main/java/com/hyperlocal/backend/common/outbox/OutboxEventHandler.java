@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.common.outbox;
+
+/**
+ * Consumer of outbox events. Every handler bean sees every event and ignores the types it does not
+ * care about. Handlers run inside the relay's transaction for the event, together with the delete
+ * of the outbox row; delivery is at-least-once, so handlers with effects outside the database
+ * must tolerate duplicates.
+ */
+public interface OutboxEventHandler {
+
+    void handle(DomainEvent event);
+}
@@ -0,0 +1,44 @@
+package com.hyperlocal.backend.common.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest claimable rows. Rows locked by another relay instance are skipped rather
+     * than waited for, so several instances drain the table in parallel without blocking.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+            WHERE available_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockAvailable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = :id")
+    void deleteDelivered(@Param("id") Long id);
+
+    @Modifying
+    @Query("""
+            UPDATE OutboxEvent e
+            SET e.attempts = e.attempts + 1, e.availableAt = :retryAt, e.lastError = :error
+            WHERE e.id = :id
+            """)
+    void markFailed(@Param("id") Long id, @Param("retryAt") LocalDateTime retryAt, @Param("error") String error);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e WHERE e.availableAt IS NOT NULL")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    long countByAvailableAtIsNotNull();
+
+    long countByAvailableAtIsNull();
+}
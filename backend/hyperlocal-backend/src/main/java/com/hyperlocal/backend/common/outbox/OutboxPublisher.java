@@ -0,0 +1,33 @@
+package com.hyperlocal.backend.common.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records domain events in the outbox. Must be called inside the transaction that makes the state
+ * change, so the event is stored if and only if the change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final JsonMapper jsonMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(DomainEventType.of(event))
+                .aggregateId(event.aggregateId())
+                .payload(jsonMapper.writeValueAsString(event))
+                .createdAt(now)
+                .availableAt(now)
+                .build());
+    }
+}
@@ -0,0 +1,158 @@
+package com.hyperlocal.backend.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches and hands each event to every {@link OutboxEventHandler}.
+ *
+ * A batch is claimed with FOR UPDATE SKIP LOCKED and leased by moving availableAt past the lease,
+ * then each event is delivered in its own transaction that also deletes the row. A failed event is
+ * retried with exponential backoff and parked after max-attempts; a crashed relay's lease simply
+ * expires and the batch is claimed again.
+ *
+ * Metrics: outbox.lag (age of the oldest pending event), outbox.pending, outbox.parked,
+ * outbox.delivery.lag (creation to delivery per event) and outbox.events{type,outcome}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer deliveryLag;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+
+    @Value("${app.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lease:PT1M}")
+    private Duration lease;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.relay.initial-backoff:PT5S}")
+    private Duration initialBackoff;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       List<OutboxEventHandler> handlers,
+                       TransactionTemplate transactionTemplate,
+                       JsonMapper jsonMapper,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = transactionTemplate;
+        this.jsonMapper = jsonMapper;
+        this.meterRegistry = meterRegistry;
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from writing an outbox event to delivering it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest undelivered outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events waiting for delivery or retry")
+                .register(meterRegistry);
+        Gauge.builder("outbox.parked", parked, AtomicLong::get)
+                .description("Outbox events that exhausted their delivery attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.poll-interval:PT1S}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claim();
+            batch.forEach(this::deliver);
+        } while (batch.size() == batchSize);
+        refreshBacklog();
+    }
+
+    private List<OutboxEvent> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> batch = outboxEventRepository.lockAvailable(now, batchSize);
+            batch.forEach(event -> event.setAvailableAt(now.plus(lease)));
+            return batch;
+        });
+    }
+
+    private void deliver(OutboxEvent event) {
+        try {
+            DomainEvent payload = jsonMapper.readValue(event.getPayload(), event.getEventType().getEventClass());
+            transactionTemplate.executeWithoutResult(status -> {
+                for (OutboxEventHandler handler : handlers) {
+                    handler.handle(payload);
+                }
+                outboxEventRepository.deleteDelivered(event.getId());
+            });
+            deliveryLag.record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
+            count(event, "delivered");
+        } catch (RuntimeException e) {
+            fail(event, e);
+        }
+    }
+
+    private void fail(OutboxEvent event, RuntimeException error) {
+        int attempt = event.getAttempts() + 1;
+        LocalDateTime retryAt = null;
+        if (attempt < maxAttempts) {
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+            retryAt = LocalDateTime.now().plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff);
+            log.warn("Outbox event {} ({}) failed on attempt {}, retrying at {}",
+                    event.getId(), event.getEventType(), attempt, retryAt, error);
+            count(event, "retried");
+        } else {
+            log.error("Outbox event {} ({}) failed {} times, parking it",
+                    event.getId(), event.getEventType(), attempt, error);
+            count(event, "parked");
+        }
+
+        String message = String.valueOf(error.getMessage());
+        String lastError = message.length() > 1000 ? message.substring(0, 1000) : message;
+        LocalDateTime nextAttempt = retryAt;
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.markFailed(event.getId(), nextAttempt, lastError));
+    }
+
+    private void count(OutboxEvent event, String outcome) {
+        Counter.builder("outbox.events")
+                .description("Outbox events processed by the relay")
+                .tag("type", event.getEventType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void refreshBacklog() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+        pending.set(outboxEventRepository.countByAvailableAtIsNotNull());
+        parked.set(outboxEventRepository.countByAvailableAtIsNull());
+    }
+}
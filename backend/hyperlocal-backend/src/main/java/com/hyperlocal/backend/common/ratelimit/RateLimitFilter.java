@@ -0,0 +1,168 @@
+package com.hyperlocal.backend.common.ratelimit;
+
+import com.hyperlocal.backend.common.dto.ErrorResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-caller token-bucket rate limiting, registered in the security chain right after
+ * {@link com.hyperlocal.backend.security.JwtAuthenticationFilter} so callers are identified by
+ * their authenticated email; anonymous requests are keyed by remote address.
+ *
+ * Routes are listed in app.rate-limit.routes and matched in that order, the first match wins.
+ * Each route is configured as:
+ *   app.rate-limit.route.{name}.match=GET /api/marketplace/listings
+ *   app.rate-limit.route.{name}.capacity=30
+ *   app.rate-limit.route.{name}.refill-period=PT30S
+ *
+ * Rejected requests get 429 with Retry-After (whole seconds). Metrics: ratelimit.requests{route,outcome}
+ * and the ratelimit.buckets gauge.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rate-limit.routes:}")
+    private List<String> routeNames;
+
+    @Value("${app.rate-limit.stripes:64}")
+    private int stripes;
+
+    private final List<RateLimitRoute> routes = new ArrayList<>();
+    private final Map<String, Counter> allowed = new HashMap<>();
+    private final Map<String, Counter> rejected = new HashMap<>();
+    private TokenBucketRateLimiter limiter;
+
+    @PostConstruct
+    public void init() {
+        for (String name : routeNames) {
+            String prefix = "app.rate-limit.route." + name.trim() + ".";
+            RateLimitRoute route = RateLimitRoute.of(name.trim(),
+                    environment.getRequiredProperty(prefix + "match"),
+                    environment.getRequiredProperty(prefix + "capacity", Integer.class),
+                    environment.getRequiredProperty(prefix + "refill-period", Duration.class));
+            routes.add(route);
+            allowed.put(route.name(), counter(route, "allowed"));
+            rejected.put(route.name(), counter(route, "rejected"));
+        }
+        limiter = new TokenBucketRateLimiter(stripes, System::nanoTime);
+
+        Gauge.builder("ratelimit.buckets", limiter, TokenBucketRateLimiter::size)
+                .description("Live rate limit token buckets")
+                .register(meterRegistry);
+        log.info("Rate limiting {} with routes {}", enabled ? "enabled" : "disabled", routeNames);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimitRoute route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = limiter.tryAcquire(route, subject(request));
+        if (waitNanos == 0) {
+            allowed.get(route.name()).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected.get(route.name()).increment();
+        reject(request, response, waitNanos);
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        if (limiter != null) {
+            limiter.sweep();
+        }
+    }
+
+    private RateLimitRoute match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        String method = request.getMethod();
+        for (RateLimitRoute route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.ceilDiv(waitNanos, TimeUnit.SECONDS.toNanos(1));
+        ErrorResponseDto body = new ErrorResponseDto(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Too many requests, retry in " + retryAfterSeconds + "s",
+                request.getRequestURI());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private Counter counter(RateLimitRoute route, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .description("Requests checked by the rate limiter")
+                .tag("route", route.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package com.hyperlocal.backend.common.ratelimit;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+
+/**
+ * A class of endpoints sharing one token bucket per caller, e.g. "GET /api/marketplace/listings".
+ * A bucket holds up to {@code capacity} tokens and refills completely over {@code refillPeriod}.
+ *
+ * @param method HTTP method to match, or null for any method
+ */
+public record RateLimitRoute(String name, String method, PathPattern pattern, int capacity, Duration refillPeriod) {
+
+    public RateLimitRoute {
+        if (capacity <= 0 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Rate limit route " + name + " needs a positive capacity and refill period");
+        }
+    }
+
+    /**
+     * Parses a match expression: a path pattern optionally preceded by an HTTP method,
+     * e.g. "POST /api/marketplace/requests" or "/api/**".
+     */
+    public static RateLimitRoute of(String name, String match, int capacity, Duration refillPeriod) {
+        String[] parts = match.trim().split("\\s+", 2);
+        String method = parts.length == 2 ? parts[0].toUpperCase() : null;
+        String path = parts.length == 2 ? parts[1] : parts[0];
+        return new RateLimitRoute(name, method, PathPatternParser.defaultInstance.parse(path), capacity, refillPeriod);
+    }
+
+    public boolean matches(String requestMethod, PathContainer path) {
+        return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+    }
+
+    public long nanosPerToken() {
+        return Math.max(1, refillPeriod.toNanos() / capacity);
+    }
+}
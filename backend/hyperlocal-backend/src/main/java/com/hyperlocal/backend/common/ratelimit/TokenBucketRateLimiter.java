@@ -0,0 +1,136 @@
+package com.hyperlocal.backend.common.ratelimit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory token buckets keyed by route and caller.
+ *
+ * Buckets are spread over a fixed number of stripes, each a plain HashMap guarded by its own lock,
+ * so concurrent callers only contend when their keys hash to the same stripe. ReentrantLock rather
+ * than synchronized keeps virtual threads from pinning their carrier while they wait.
+ * Tokens are refilled lazily on access; {@link #sweep()} drops buckets that have refilled completely
+ * and are therefore indistinguishable from a new one.
+ */
+public class TokenBucketRateLimiter {
+
+    private final Stripe[] stripes;
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(int stripeCount, LongSupplier nanoClock) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the caller's bucket for the route.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(RateLimitRoute route, String subject) {
+        BucketKey key = new BucketKey(route.name(), subject);
+        Stripe stripe = stripeFor(key);
+        long now = nanoClock.getAsLong();
+
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(route, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes buckets that are full again. Each stripe is locked separately, so a sweep never
+     * blocks more than one stripe at a time.
+     *
+     * @return the number of buckets removed
+     */
+    public int sweep() {
+        int removed = 0;
+        long now = nanoClock.getAsLong();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                Iterator<Bucket> buckets = stripe.buckets.values().iterator();
+                while (buckets.hasNext()) {
+                    if (buckets.next().isFull(now)) {
+                        buckets.remove();
+                        removed++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return removed;
+    }
+
+    /** Approximate number of live buckets; stripes are read without locking. */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.buckets.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(BucketKey key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private record BucketKey(String route, String subject) {
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    }
+
+    /** Token counts are kept in nanoseconds of refill time to avoid floating point drift. */
+    private static final class Bucket {
+
+        private final long nanosPerToken;
+        private final long capacityNanos;
+        private long availableNanos;
+        private long refilledAt;
+
+        private Bucket(RateLimitRoute route, long now) {
+            this.nanosPerToken = route.nanosPerToken();
+            this.capacityNanos = nanosPerToken * route.capacity();
+            this.availableNanos = capacityNanos;
+            this.refilledAt = now;
+        }
+
+        private long tryConsume(long now) {
+            refill(now);
+            if (availableNanos >= nanosPerToken) {
+                availableNanos -= nanosPerToken;
+                return 0;
+            }
+            return nanosPerToken - availableNanos;
+        }
+
+        private boolean isFull(long now) {
+            return availableNanos + (now - refilledAt) >= capacityNanos;
+        }
+
+        private void refill(long now) {
+            availableNanos = Math.min(capacityNanos, availableNanos + (now - refilledAt));
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.hyperlocal.backend.common.seed;
+
+import com.hyperlocal.backend.community.enums.CommunityCategory;
+import com.hyperlocal.backend.community.enums.CommunityRole;
+import com.hyperlocal.backend.community.enums.CommunityStatus;
+import com.hyperlocal.backend.community.enums.JoinPolicy;
+import com.hyperlocal.backend.community.enums.MemberStatus;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.marketplace.enums.ListingCondition;
+import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import com.hyperlocal.backend.marketplace.service.PendingReviewBackfill;
+import com.hyperlocal.backend.marketplace.service.ReviewDenormalizationBackfill;
+import com.hyperlocal.backend.user.enums.ProfileStep;
+import com.hyperlocal.backend.user.enums.Role;
+import com.hyperlocal.backend.user.enums.VerificationStatus;
+import com.hyperlocal.backend.user.service.UserStatsRebuildJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic dataset with production-like shape, using batched JDBC inserts.
+ *
+ * - Community sizes follow a Zipf distribution (a few large societies, a long tail of small groups).
+ * - Listings per community are proportional to its member count.
+ * - Each listing gets a history of approved/completed borrow periods laid end to end, plus
+ *   pending, rejected and cancelled requests whose dates overlap them freely.
+ * - A share of completed requests has a review.
+ *
+ * Enabled with the "seed" profile and tuned with app.seed.*. IDs continue after the current
+ * maximum of each table, so seeding an existing database only adds rows. All seeded users
+ * share the password app.seed.password.
+ */
+@Slf4j
+@Component
+@Profile("seed")
+@RequiredArgsConstructor
+public class DatasetGenerator implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserStatsRebuildJob userStatsRebuildJob;
+    private final PendingReviewBackfill pendingReviewBackfill;
+    private final ReviewDenormalizationBackfill reviewDenormalizationBackfill;
+
+    @Value("${app.seed.users:10000}")
+    private int userCount;
+
+    @Value("${app.seed.communities:200}")
+    private int communityCount;
+
+    /** Zipf exponent for community popularity; higher is more skewed. */
+    @Value("${app.seed.community-skew:1.1}")
+    private double communitySkew;
+
+    @Value("${app.seed.communities-per-user:2}")
+    private int communitiesPerUser;
+
+    @Value("${app.seed.listings-per-member:0.3}")
+    private double listingsPerMember;
+
+    @Value("${app.seed.requests-per-listing:6}")
+    private int requestsPerListing;
+
+    @Value("${app.seed.review-ratio:0.7}")
+    private double reviewRatio;
+
+    @Value("${app.seed.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${app.seed.password:password123}")
+    private String password;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Random random = new Random(randomSeed);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        long firstUserId = nextId("users");
+        long firstCommunityId = nextId("communities");
+        long memberId = nextId("community_members");
+        long listingId = nextId("listings");
+        long requestId = nextId("borrow_requests");
+        long reviewId = nextId("reviews");
+
+        // Users
+        String passwordHash = passwordEncoder.encode(password);
+        try (Batch users = batch("""
+                INSERT INTO users (id, name, email, password, role, verification_status, phone, address,
+                                   profile_completion_percentage, current_profile_step, trust_index, trust_xp, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """)) {
+            for (int i = 0; i < userCount; i++) {
+                long id = firstUserId + i;
+                boolean verified = random.nextDouble() < 0.6;
+                users.add(id, "Seed User " + id, "user" + id + "@seed.local", passwordHash, Role.ROLE_USER.name(),
+                        (verified ? VerificationStatus.VERIFIED : VerificationStatus.NOT_VERIFIED).name(),
+                        "9" + String.format("%09d", id % 1_000_000_000L), id + " Seed Street",
+                        verified ? 100 : 50, (verified ? ProfileStep.COMPLETE : ProfileStep.DOCUMENT_VERIFICATION).name(),
+                        40 + random.nextInt(60), random.nextInt(3000), Timestamp.valueOf(now.minusDays(random.nextInt(365))));
+            }
+        }
+
+        // Communities and skewed memberships
+        List<List<Long>> members = new ArrayList<>(communityCount);
+        double[] popularity = zipfCdf(communityCount, communitySkew);
+        CommunityCategory[] communityCategories = CommunityCategory.values();
+
+        try (Batch communities = batch("""
+                     INSERT INTO communities (id, name, code, description, category, join_policy, created_by_user_id,
+                                              status, created_at)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """);
+             Batch created = batch("INSERT INTO user_created_communities (user_id, community_id) VALUES (?, ?)")) {
+            for (int c = 0; c < communityCount; c++) {
+                long id = firstCommunityId + c;
+                long creator = firstUserId + random.nextInt(userCount);
+                List<Long> communityMembers = new ArrayList<>();
+                communityMembers.add(creator);
+                members.add(communityMembers);
+                communities.add(id, "Seed Community " + id, "SED-" + id, "Synthetic community " + id,
+                        communityCategories[random.nextInt(communityCategories.length)].name(),
+                        (random.nextInt(4) == 0 ? JoinPolicy.APPROVAL_REQUIRED : JoinPolicy.OPEN).name(),
+                        creator, CommunityStatus.ACTIVE.name(), Timestamp.valueOf(now.minusDays(400)));
+                created.add(creator, id);
+            }
+        }
+
+        for (int u = 0; u < userCount; u++) {
+            long userId = firstUserId + u;
+            int wanted = 1 + random.nextInt(Math.max(1, communitiesPerUser * 2 - 1));
+            for (int k = 0; k < wanted; k++) {
+                List<Long> communityMembers = members.get(sample(popularity, random));
+                if (!communityMembers.contains(userId)) {
+                    communityMembers.add(userId);
+                }
+            }
+        }
+
+        long memberships = 0;
+        try (Batch memberRows = batch("""
+                     INSERT INTO community_members (id, community_id, user_id, role, status, joined_at)
+                     VALUES (?, ?, ?, ?, ?, ?)
+                     """);
+             Batch joined = batch("INSERT INTO user_joined_communities (user_id, community_id) VALUES (?, ?)")) {
+            for (int c = 0; c < communityCount; c++) {
+                long communityId = firstCommunityId + c;
+                List<Long> communityMembers = members.get(c);
+                for (int m = 0; m < communityMembers.size(); m++) {
+                    long userId = communityMembers.get(m);
+                    memberRows.add(memberId++, communityId, userId,
+                            (m == 0 ? CommunityRole.ADMIN : CommunityRole.MEMBER).name(), MemberStatus.APPROVED.name(),
+                            Timestamp.valueOf(now.minusDays(random.nextInt(365))));
+                    joined.add(userId, communityId);
+                    memberships++;
+                }
+            }
+        }
+
+        // Listings, borrow history and reviews
+        ListingCategory[] listingCategories = ListingCategory.values();
+        ListingCondition[] conditions = ListingCondition.values();
+        long listings = 0;
+        long requests = 0;
+        long reviews = 0;
+
+        // Closed in reverse order: listings are flushed before the rows that reference them.
+        try (Batch reviewRows = batch("""
+                     INSERT INTO reviews (id, transaction_id, listing_id, reviewer_user_id, reviewer_name,
+                                          reviewee_user_id, rating, comment, recommend, created_at)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """);
+             Batch requestRows = batch("""
+                     INSERT INTO borrow_requests (id, listing_id, requester_id, owner_id, start_date, end_date, message,
+                                                  status, requested_at, approved_at, returned_at, rejected_at,
+                                                  cancelled_at, rejection_reason)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """);
+             Batch images = batch("INSERT INTO listing_images (listing_id, image_url) VALUES (?, ?)");
+             Batch listingRows = batch("""
+                     INSERT INTO listings (id, owner_id, community_id, title, description, category, price, condition,
+                                           status, available_from, available_to, created_at)
+                     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                     """)) {
+            for (int c = 0; c < communityCount; c++) {
+                long communityId = firstCommunityId + c;
+                List<Long> communityMembers = members.get(c);
+                int listingTotal = (int) Math.max(1, Math.round(communityMembers.size() * listingsPerMember));
+
+                for (int l = 0; l < listingTotal; l++) {
+                    long id = listingId++;
+                    long owner = communityMembers.get(random.nextInt(communityMembers.size()));
+                    LocalDate availableFrom = today.minusDays(random.nextInt(60));
+                    LocalDate availableTo = availableFrom.plusDays(60 + random.nextInt(120));
+                    listingRows.add(id, owner, communityId, "Seed item " + id, "A well kept item available to borrow (" + id + ")",
+                            listingCategories[random.nextInt(listingCategories.length)].name(),
+                            BigDecimal.valueOf(5 + random.nextInt(95)), conditions[random.nextInt(conditions.length)].name(),
+                            ListingStatus.AVAILABLE.name(), Date.valueOf(availableFrom), Date.valueOf(availableTo),
+                            Timestamp.valueOf(availableFrom.atStartOfDay()));
+                    images.add(id, "/uploads/listings/seed/listing_" + owner + "_" + id + "_0.jpg");
+                    listings++;
+
+                    if (communityMembers.size() < 2) {
+                        continue;
+                    }
+
+                    // Blocking history: approved/completed periods laid end to end
+                    LocalDate cursor = availableFrom;
+                    int history = random.nextInt(requestsPerListing + 1);
+                    for (int r = 0; r < history && cursor.isBefore(availableTo); r++) {
+                        long requester = otherMember(communityMembers, owner, random);
+                        LocalDate startDate = cursor.plusDays(random.nextInt(4));
+                        LocalDate endDate = startDate.plusDays(1 + random.nextInt(7));
+                        if (endDate.isAfter(availableTo)) {
+                            break;
+                        }
+                        cursor = endDate.plusDays(1);
+
+                        boolean completed = endDate.isBefore(today);
+                        LocalDateTime requestedAt = startDate.atStartOfDay().minusDays(3);
+                        long reqId = requestId++;
+                        requestRows.add(reqId, id, requester, owner, Date.valueOf(startDate), Date.valueOf(endDate),
+                                "Could I borrow this?",
+                                (completed ? BorrowRequestStatus.COMPLETED : BorrowRequestStatus.APPROVED).name(),
+                                Timestamp.valueOf(requestedAt), Timestamp.valueOf(requestedAt.plusHours(6)),
+                                completed ? Timestamp.valueOf(endDate.atTime(18, 0).plusDays(random.nextInt(10) == 0 ? 2 : 0)) : null,
+                                null, null, null);
+                        requests++;
+
+                        if (completed && random.nextDouble() < reviewRatio) {
+                            int rating = rating(random);
+                            reviewRows.add(reviewId++, reqId, id, requester, "Seed User " + requester, owner, rating,
+                                    rating >= 4 ? "Great experience" : "Could be better", rating >= 3,
+                                    Timestamp.valueOf(endDate.atTime(20, 0)));
+                            reviews++;
+                        }
+                    }
+
+                    // Open and closed requests overlapping anywhere in the window
+                    int others = random.nextInt(requestsPerListing + 1);
+                    for (int r = 0; r < others; r++) {
+                        long requester = otherMember(communityMembers, owner, random);
+                        long windowDays = availableTo.toEpochDay() - availableFrom.toEpochDay();
+                        LocalDate startDate = availableFrom.plusDays(random.nextInt((int) Math.max(1, windowDays - 7)));
+                        LocalDate endDate = startDate.plusDays(random.nextInt(7));
+                        BorrowRequestStatus status = switch (random.nextInt(3)) {
+                            case 0 -> BorrowRequestStatus.PENDING;
+                            case 1 -> BorrowRequestStatus.REJECTED;
+                            default -> BorrowRequestStatus.CANCELLED;
+                        };
+                        LocalDateTime requestedAt = startDate.atStartOfDay().minusDays(5);
+                        requestRows.add(requestId++, id, requester, owner, Date.valueOf(startDate), Date.valueOf(endDate),
+                                "Is this free on these dates?", status.name(), Timestamp.valueOf(requestedAt), null, null,
+                                status == BorrowRequestStatus.REJECTED ? Timestamp.valueOf(requestedAt.plusDays(1)) : null,
+                                status == BorrowRequestStatus.CANCELLED ? Timestamp.valueOf(requestedAt.plusDays(1)) : null,
+                                status == BorrowRequestStatus.REJECTED ? "Not available" : null);
+                        requests++;
+                    }
+                }
+            }
+        }
+
+        for (String table : List.of("users", "communities", "community_members", "listings", "borrow_requests", "reviews")) {
+            restartIdentity(table);
+        }
+        // The rows above bypass the services that maintain the profile counters and review queue
+        userStatsRebuildJob.rebuildAll();
+        pendingReviewBackfill.backfill();
+        reviewDenormalizationBackfill.backfill();
+
+        log.info("Seeded {} users, {} communities, {} memberships, {} listings, {} borrow requests, {} reviews in {} ms",
+                userCount, communityCount, memberships, listings, requests, reviews,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /** Moves the identity past the explicitly inserted IDs so the application can keep inserting. */
+    private void restartIdentity(String table) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        long next = nextId(table);
+        if ("PostgreSQL".equalsIgnoreCase(database)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)", Long.class, table, next);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+        }
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, Random random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private static long otherMember(List<Long> members, long excluded, Random random) {
+        long candidate;
+        do {
+            candidate = members.get(random.nextInt(members.size()));
+        } while (candidate == excluded);
+        return candidate;
+    }
+
+    /** Ratings skew positive, as on most review platforms. */
+    private static int rating(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 55) return 5;
+        if (roll < 80) return 4;
+        if (roll < 90) return 3;
+        if (roll < 95) return 2;
+        return 1;
+    }
+
+    private Batch batch(String sql) {
+        return new Batch(sql);
+    }
+
+    /** Buffers rows and sends them with JdbcTemplate.batchUpdate every batchSize rows. */
+    private final class Batch implements AutoCloseable {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+
+        @Override
+        public void close() {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.hyperlocal.backend.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of the connection pool.
+ * Enabled by the virtual-threads profile; the limit defaults to the Hikari pool size.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.limiter.enabled", havingValue = "true")
+public class ConnectionLimiterConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimiterPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.datasource.limiter.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${app.datasource.limiter.acquire-timeout:PT30S}") Duration acquireTimeout) {
+        return new LimiterPostProcessor(meterRegistry, maxConcurrency, acquireTimeout);
+    }
+
+    /**
+     * Wraps only the primary {@code dataSource} bean, the one the limit and its untagged
+     * jdbc.connections.queue meters describe. Runs before any other DataSource wrapping so the
+     * limiter sits directly on the primary pool; with replica routing enabled, reads served by a
+     * replica are then not counted against it.
+     */
+    private record LimiterPostProcessor(ObjectProvider<MeterRegistry> meterRegistry, int maxConcurrency,
+                                        Duration acquireTimeout) implements BeanPostProcessor, PriorityOrdered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                    && !(bean instanceof ConnectionLimitingDataSource)) {
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrency, acquireTimeout,
+                        meterRegistry.getObject());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
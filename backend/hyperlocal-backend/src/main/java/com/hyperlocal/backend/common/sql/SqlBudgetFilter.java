@@ -0,0 +1,83 @@
+package com.hyperlocal.backend.common.sql;
+
+import com.hyperlocal.backend.common.metrics.MetricsEndpoint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the SQL statements each HTTP request issues.
+ *
+ * - Records the count per route as the "http.server.requests.sql" summary.
+ * - Logs a warning when a request exceeds app.sql.budget.max-statements.
+ * - Logs statements repeated at least app.sql.budget.n-plus-one-threshold times as a likely N+1.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql.budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql.budget.max-statements:15}")
+    private int maxStatements;
+
+    @Value("${app.sql.budget.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            report(request, SqlStatementCounter.stop());
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementCounter.Snapshot snapshot) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? request.getMethod() + " " + pattern : MetricsEndpoint.NONE;
+        int total = snapshot.total();
+
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("SQL statements issued per HTTP request")
+                .tag(MetricsEndpoint.TAG, endpoint)
+                .register(meterRegistry)
+                .record(total);
+
+        if (total > maxStatements) {
+            log.warn("SQL budget exceeded: {} issued {} statements (budget {})", endpoint, total, maxStatements);
+        }
+
+        List<Map.Entry<String, Integer>> repeated = snapshot.repeated(nPlusOneThreshold);
+        for (Map.Entry<String, Integer> entry : repeated) {
+            log.warn("Possible N+1 in {}: statement executed {} times: {}", endpoint, entry.getValue(), entry.getKey());
+        }
+    }
+}
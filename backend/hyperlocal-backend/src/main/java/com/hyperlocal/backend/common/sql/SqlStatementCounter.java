@@ -0,0 +1,72 @@
+package com.hyperlocal.backend.common.sql;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Thread-bound count of the SQL statements Hibernate prepares, fed by {@link CountingStatementInspector}.
+ *
+ * Usage (also from tests):
+ * <pre>
+ *   SqlStatementCounter.start();
+ *   try { ... } finally { SqlStatementCounter.Snapshot sql = SqlStatementCounter.stop(); }
+ * </pre>
+ * Counts nest: a statement is recorded in every count active on the thread, so a test can
+ * wrap a MockMvc call that is itself counted by {@link SqlBudgetFilter}. Statements issued while
+ * no count is active are ignored.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Deque<Map<String, Integer>>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private SqlStatementCounter() {
+    }
+
+    public static void start() {
+        ACTIVE.get().push(new HashMap<>());
+    }
+
+    /** Ends the innermost count started on this thread. */
+    public static Snapshot stop() {
+        Deque<Map<String, Integer>> active = ACTIVE.get();
+        Map<String, Integer> statements = active.poll();
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+        }
+        return new Snapshot(statements == null ? Map.of() : statements);
+    }
+
+    static void record(String sql) {
+        Deque<Map<String, Integer>> active = ACTIVE.get();
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+            return;
+        }
+        for (Map<String, Integer> statements : active) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Statements seen between start and stop, keyed by SQL text (Hibernate binds parameters,
+     * so the same query with different arguments has the same text).
+     */
+    public record Snapshot(Map<String, Integer> statements) {
+
+        public int total() {
+            return statements.values().stream().mapToInt(Integer::intValue).sum();
+        }
+
+        /** Statements executed at least {@code threshold} times — the usual signature of an N+1 loop. */
+        public List<Map.Entry<String, Integer>> repeated(int threshold) {
+            return statements.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= threshold)
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hyperlocal.backend.common.sse;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event for a user's open streams, whichever instance holds them. Written by
+ * {@link SseBroadcaster#publish} and read by every instance's tail; rows are deleted after
+ * app.sse.fan-out.retention.
+ */
+@Entity
+@Table(name = "sse_broadcasts",
+        indexes = @Index(name = "idx_sse_broadcasts_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SseBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 40)
+    private String name;
+
+    /** The event data as JSON. */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.hyperlocal.backend.common.sse;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SseBroadcastRepository extends JpaRepository<SseBroadcast, Long> {
+
+    List<SseBroadcast> findByCreatedAtAfterOrderByIdAsc(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM SseBroadcast b WHERE b.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,71 @@
+package com.hyperlocal.backend.common.sse;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fans server-sent events out to every instance. {@link #publish} stores the event in the caller's
+ * transaction; every instance tails sse_broadcasts and hands new rows to its own
+ * {@link SseSubscriberRegistry}, so an event reaches the user's streams on whichever instance they
+ * were opened.
+ *
+ * Ids are assigned before commit, so a row can become visible after one with a higher id. The tail
+ * therefore re-reads the last app.sse.fan-out.overlap (which also has to cover clock skew between
+ * instances and replica lag) and skips the rows it has already delivered.
+ */
+@Component
+@RequiredArgsConstructor
+public class SseBroadcaster {
+
+    private final SseBroadcastRepository sseBroadcastRepository;
+    private final SseSubscriberRegistry sseSubscriberRegistry;
+    private final JsonMapper jsonMapper;
+
+    /** Rows this instance delivered within the overlap window, with their creation times. */
+    private final Map<Long, LocalDateTime> delivered = new HashMap<>();
+
+    @Value("${app.sse.fan-out.overlap:PT10S}")
+    private Duration overlap;
+
+    @Value("${app.sse.fan-out.retention:PT1M}")
+    private Duration retention;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Long userId, String name, Object data) {
+        sseBroadcastRepository.save(SseBroadcast.builder()
+                .userId(userId)
+                .name(name)
+                .payload(jsonMapper.writeValueAsString(data))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.sse.fan-out.poll-interval:PT0.5S}")
+    public synchronized void poll() {
+        LocalDateTime since = LocalDateTime.now().minus(overlap);
+        delivered.values().removeIf(createdAt -> !createdAt.isAfter(since));
+        for (SseBroadcast broadcast : sseBroadcastRepository.findByCreatedAtAfterOrderByIdAsc(since)) {
+            if (delivered.putIfAbsent(broadcast.getId(), broadcast.getCreatedAt()) == null) {
+                sseSubscriberRegistry.send(broadcast.getUserId(), broadcast.getName(),
+                        jsonMapper.readTree(broadcast.getPayload()));
+            }
+        }
+    }
+
+    /** Deletes rows every tail has read; several instances pruning at once is harmless. */
+    @Scheduled(fixedDelayString = "${app.sse.fan-out.prune-interval:PT1M}")
+    @Transactional
+    public void prune() {
+        sseBroadcastRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+}
@@ -0,0 +1,318 @@
+package com.hyperlocal.backend.common.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open server-sent event streams per user on this instance, with a heartbeat and a short replay
+ * buffer. {@link SseBroadcaster} feeds it the events published on any instance.
+ *
+ * Event ids are "{epoch}-{sequence}", where the epoch identifies this process. A client that
+ * reconnects with Last-Event-ID gets the buffered events it missed; if the id is from another
+ * process or older than the buffer it gets a single "resync" event and should reload over REST.
+ * Channels of users without open streams are dropped after the replay window.
+ *
+ * Callers never write to a connection. Each stream has a bounded queue drained by its own task on
+ * a virtual thread (at most one at a time, so a stalled client only stalls itself); a stream whose
+ * queue is full is closed and its client reconnects with Last-Event-ID. Heartbeats are queued from
+ * a scheduler of their own.
+ */
+@Slf4j
+@Component
+public class SseSubscriberRegistry {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final Counter overflows;
+
+    private Executor sendExecutor;
+    private ThreadPoolTaskScheduler heartbeatScheduler;
+
+    @Value("${app.sse.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${app.sse.heartbeat-interval:PT15S}")
+    private Duration heartbeatInterval;
+
+    @Value("${app.sse.replay-buffer-size:50}")
+    private int replayBufferSize;
+
+    @Value("${app.sse.replay-window:PT5M}")
+    private Duration replayWindow;
+
+    @Value("${app.sse.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    @Value("${app.sse.max-queued-events:100}")
+    private int maxQueuedEvents;
+
+    public SseSubscriberRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("sse.streams", channels, map -> map.values().stream().mapToInt(c -> c.subscribers.size()).sum())
+                .description("Open server-sent event streams")
+                .register(meterRegistry);
+        overflows = Counter.builder("sse.streams.overflowed")
+                .description("Streams closed because the client fell too far behind")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-send-");
+        executor.setVirtualThreads(true);
+        sendExecutor = executor;
+
+        heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setThreadNamePrefix("sse-heartbeat-");
+        heartbeatScheduler.initialize();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatInterval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeatScheduler.shutdown();
+    }
+
+    /**
+     * Opens a stream for the user, replaying what was missed since lastEventId (may be null).
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = createEmitter();
+        while (true) {
+            Channel channel = channels.computeIfAbsent(userId, id -> new Channel(sequence.get()));
+            synchronized (channel) {
+                // The heartbeat may have dropped this channel between lookup and lock
+                if (channels.get(userId) == channel) {
+                    open(channel, emitter, lastEventId);
+                    return emitter;
+                }
+            }
+        }
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    private void open(Channel channel, SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber = new Subscriber(channel, emitter);
+        emitter.onCompletion(subscriber::closed);
+        emitter.onTimeout(subscriber::closed);
+        emitter.onError(error -> subscriber.closed());
+
+        channel.subscribers.add(subscriber);
+        while (channel.subscribers.size() > maxStreamsPerUser) {
+            channel.subscribers.removeFirst().close();
+        }
+        channel.touch();
+        // Queued under the channel lock, so the replay goes out before any event sent after it
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            replay(channel, subscriber, lastEventId);
+        }
+    }
+
+    /** Sends an event to every open stream of the user on this instance; dropped if the user has none. */
+    public void send(Long userId, String name, Object data) {
+        Channel channel = channels.get(userId);
+        if (channel == null) {
+            return;
+        }
+        synchronized (channel) {
+            BufferedEvent event = new BufferedEvent(sequence.incrementAndGet(), name, data);
+            channel.recent.addLast(event);
+            while (channel.recent.size() > replayBufferSize) {
+                channel.evictedUpTo = channel.recent.removeFirst().sequence();
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(toSseEvent(event));
+            }
+        }
+    }
+
+    /** Keeps idle connections (and proxies in between) open and notices dead clients. */
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        channels.forEach((userId, channel) -> {
+            synchronized (channel) {
+                for (Subscriber subscriber : channel.subscribers) {
+                    subscriber.offer(SseEmitter.event().comment("heartbeat"));
+                }
+                if (!channel.subscribers.isEmpty()) {
+                    channel.touch();
+                } else if (now - channel.lastActive > replayWindow.toMillis()) {
+                    channels.remove(userId, channel);
+                }
+            }
+        });
+    }
+
+    private void replay(Channel channel, Subscriber subscriber, String lastEventId) {
+        // Sequences are shared by all users, so gaps between a user's events are normal; what matters
+        // is whether anything after lastSequence was dropped before or evicted from this buffer. The
+        // channel never issued startSequence itself, so an id at or before it came from an earlier
+        // channel and events sent in between, while the user had none, were dropped.
+        long lastSequence = parseSequence(lastEventId);
+        if (lastSequence < 0 || lastSequence <= channel.startSequence || lastSequence < channel.evictedUpTo) {
+            subscriber.offer(SseEmitter.event().name(RESYNC_EVENT).data(""));
+            return;
+        }
+        for (BufferedEvent event : channel.recent) {
+            if (event.sequence() > lastSequence) {
+                subscriber.offer(toSseEvent(event));
+            }
+        }
+    }
+
+    /** Sequence number of an id issued by this process, or -1 if it was issued elsewhere or is malformed. */
+    private long parseSequence(String eventId) {
+        int dash = eventId.lastIndexOf('-');
+        if (dash < 0 || !eventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(BufferedEvent event) {
+        return SseEmitter.event()
+                .id(epoch + "-" + event.sequence())
+                .name(event.name())
+                .data(event.data());
+    }
+
+    private record BufferedEvent(long sequence, String name, Object data) {
+    }
+
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Deque<BufferedEvent> recent = new ArrayDeque<>();
+        /** Events up to this sequence were never buffered for the user. */
+        private final long startSequence;
+        private long evictedUpTo;
+        private volatile long lastActive = System.currentTimeMillis();
+
+        Channel(long startSequence) {
+            this.startSequence = startSequence;
+        }
+
+        void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            touch();
+        }
+
+        void touch() {
+            lastActive = System.currentTimeMillis();
+        }
+    }
+
+    /** One open stream: its pending events and the task writing them to the connection. */
+    private final class Subscriber implements Runnable {
+        private final Channel channel;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(Channel channel, SseEmitter emitter) {
+            this.channel = channel;
+            this.emitter = emitter;
+        }
+
+        /** Queues an event without blocking; closes the stream instead if its queue is full. */
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (queued.incrementAndGet() > maxQueuedEvents) {
+                queued.decrementAndGet();
+                overflows.increment();
+                log.debug("Closing event stream that fell {} events behind", maxQueuedEvents);
+                close();
+                return;
+            }
+            queue.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                    closed();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping closed event stream", e);
+                closed();
+            } finally {
+                draining.set(false);
+            }
+            // An event queued after the last poll but before draining was cleared has no task yet
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        /** Ends the stream from the server side; the client reconnects with Last-Event-ID. */
+        void close() {
+            closed();
+            // complete() waits for a write in progress, which may be stuck on this very client
+            try {
+                sendExecutor.execute(emitter::complete);
+            } catch (RejectedExecutionException e) {
+                emitter.complete();
+            }
+        }
+
+        /** Forgets the stream once it has ended for any reason. */
+        void closed() {
+            closed = true;
+            queue.clear();
+            channel.remove(this);
+        }
+    }
+}
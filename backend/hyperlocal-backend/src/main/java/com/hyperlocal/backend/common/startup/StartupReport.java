@@ -0,0 +1,77 @@
+package com.hyperlocal.backend.common.startup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Logs time-to-ready once the application is ready, together with whether AOT-generated code and a
+ * CDS archive were in use. With app.startup.report-file set, the measurement is also appended there
+ * as one JSON line; the startup Maven profile uses that to compare a plain and an AOT + CDS start.
+ * app.startup.exit-when-ready=true stops the application right after the measurement.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupReport {
+
+    private final JsonMapper jsonMapper;
+
+    @Value("${app.startup.report-file:}")
+    private String reportFile;
+
+    @Value("${app.startup.report-label:}")
+    private String reportLabel;
+
+    @Value("${app.startup.exit-when-ready:false}")
+    private boolean exitWhenReady;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long jvmToReadyMillis = System.currentTimeMillis() - runtime.getStartTime();
+        long runToReadyMillis = event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1;
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        boolean cds = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+
+        log.info("Ready {} ms after JVM start ({} ms in SpringApplication.run), aot={}, cds={}",
+                jvmToReadyMillis, runToReadyMillis, aot, cds);
+
+        if (!reportFile.isBlank()) {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("label", reportLabel);
+            line.put("timestamp", Instant.now().toString());
+            line.put("jvmToReadyMillis", jvmToReadyMillis);
+            line.put("runToReadyMillis", runToReadyMillis);
+            line.put("aot", aot);
+            line.put("cds", cds);
+            line.put("beanDefinitions", event.getApplicationContext().getBeanDefinitionCount());
+            try {
+                Files.writeString(Path.of(reportFile), jsonMapper.writeValueAsString(line) + System.lineSeparator(),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                log.warn("Could not write startup report to {}", reportFile, e);
+            }
+        }
+
+        if (exitWhenReady) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
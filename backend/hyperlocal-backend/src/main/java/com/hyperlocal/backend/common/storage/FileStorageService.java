@@ -1,24 +1,50 @@
 package com.hyperlocal.backend.common.storage;
 
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.Arrays;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+
+/**
+ * Stores uploads using the sharded per-user layout described in {@link UploadLayout}
+ * on whichever {@link StorageBackend} is configured.
+ * Files written before the sharded layout existed are still resolved from the flat
+ * {category}/{fileName} location until {@link UploadLayoutMigrator} has moved them.
+ */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class FileStorageService {
 
-    @Value("${app.upload.dir:uploads}")
-    private String uploadDir;
+    private final StorageBackend storageBackend;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    /**
+     * When true, the request thread only spools the upload to a local temp file and the
+     * backend write (e.g. to S3) happens on the task executor, overlapping with the rest of the
+     * request and with the request's other uploads. The surrounding transaction waits for the
+     * write before it commits and rolls back if it failed, so a URL is never saved for an object
+     * that was not stored.
+     */
+    @Value("${app.storage.async-writes:false}")
+    private boolean asyncWrites;
 
     private static final List<String> ALLOWED_IMAGE_EXTENSIONS = Arrays.asList(".jpg", ".jpeg", ".png", ".gif");
     private static final List<String> ALLOWED_DOCUMENT_EXTENSIONS = Arrays.asList(".pdf", ".jpg", ".jpeg", ".png");
@@ -27,66 +53,70 @@ public class FileStorageService {
     public String storeProfilePhoto(MultipartFile file, Long userId) throws IOException {
         validateFile(file, ALLOWED_IMAGE_EXTENSIONS, "Profile photo");
 
-        Path uploadPath = Paths.get(uploadDir, "profiles");
-        Files.createDirectories(uploadPath);
-
         String extension = getExtension(file.getOriginalFilename());
-        String fileName = "profile_" + userId + "_" + System.currentTimeMillis() + extension;
-        Path filePath = uploadPath.resolve(fileName);
+        String fileName = UploadLayout.PROFILE_PREFIX + "_" + userId + "_" + System.currentTimeMillis() + extension;
 
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        return "/uploads/profiles/" + fileName;
+        return store(file, UploadLayout.userFileKey(UploadLayout.PROFILES, userId, fileName));
     }
 
     public String storeListingImage(MultipartFile file, Long userId, int index) throws IOException {
         validateFile(file, ALLOWED_IMAGE_EXTENSIONS, "Listing image");
 
-        Path uploadPath = Paths.get(uploadDir, "listings");
-        Files.createDirectories(uploadPath);
-
         String extension = getExtension(file.getOriginalFilename());
-        String fileName = "listing_" + userId + "_" + System.currentTimeMillis() + "_" + index + extension;
-        Path filePath = uploadPath.resolve(fileName);
+        String fileName = UploadLayout.LISTING_PREFIX + "_" + userId + "_" + System.currentTimeMillis()
+                + "_" + index + extension;
 
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        return "/uploads/listings/" + fileName;
+        return store(file, UploadLayout.userFileKey(UploadLayout.LISTINGS, userId, fileName));
     }
 
     public String storeDocument(MultipartFile file, Long userId, String documentType) throws IOException {
         validateFile(file, ALLOWED_DOCUMENT_EXTENSIONS, documentType);
 
-        Path uploadPath = Paths.get(uploadDir, "documents");
-        Files.createDirectories(uploadPath);
-
         String extension = getExtension(file.getOriginalFilename());
         String fileName = documentType + "_" + userId + "_" + System.currentTimeMillis() + extension;
-        Path filePath = uploadPath.resolve(fileName);
 
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-        return "/uploads/documents/" + fileName;
+        return store(file, UploadLayout.userFileKey(UploadLayout.DOCUMENTS, userId, fileName));
     }
 
-    public void deleteVerificationDocuments(Long userId) {
-        Path documentsDir = Paths.get(uploadDir, "documents");
-        if (!Files.exists(documentsDir)) {
-            return;
+    /**
+     * Resolves the storage key of a user's document or profile photo by file name.
+     * The category is derived from the file name prefix, so the common case is a single
+     * lookup in the user's sharded directory; the legacy flat location is only probed as a fallback.
+     */
+    public Optional<String> resolveUserFile(Long userId, String fileName) {
+        List<String> categories = UploadLayout.categoryOf(fileName)
+                .map(List::of)
+                .orElse(List.of(UploadLayout.DOCUMENTS, UploadLayout.PROFILES));
+
+        for (String category : categories) {
+            String sharded = UploadLayout.userFileKey(category, userId, fileName);
+            if (storageBackend.exists(sharded)) {
+                return Optional.of(sharded);
+            }
+            String legacy = UploadLayout.legacyFileKey(category, fileName);
+            if (storageBackend.exists(legacy)) {
+                return Optional.of(legacy);
+            }
         }
+        return Optional.empty();
+    }
 
-        String govIdPrefix = "gov_id_" + userId + "_";
-        String addressPrefix = "address_proof_" + userId + "_";
+    /**
+     * Deletes all verification documents of a user.
+     * Only the user's own sharded directory is listed, so the cost is independent of how many
+     * documents other users have uploaded.
+     */
+    public void deleteVerificationDocuments(Long userId) {
+        String userDir = UploadLayout.userDirectory(UploadLayout.DOCUMENTS, userId) + "/";
 
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(documentsDir)) {
-            for (Path filePath : stream) {
-                if (!Files.isRegularFile(filePath)) {
-                    continue;
-                }
+        String govIdPrefix = UploadLayout.GOV_ID_PREFIX + "_" + userId + "_";
+        String addressPrefix = UploadLayout.ADDRESS_PROOF_PREFIX + "_" + userId + "_";
 
-                String fileName = filePath.getFileName().toString();
+        try (Stream<StoredObject> objects = storageBackend.list(userDir)) {
+            for (StoredObject object : (Iterable<StoredObject>) objects::iterator) {
+                String fileName = object.fileName();
                 if (fileName.startsWith(govIdPrefix) || fileName.startsWith(addressPrefix)) {
-                    Files.deleteIfExists(filePath);
+                    storageBackend.delete(object.key());
                 }
             }
         } catch (IOException e) {
@@ -95,6 +125,74 @@ public class FileStorageService {
         }
     }
 
+    /**
+     * Deletes the file behind a stored upload URL (as returned by the store methods).
+     * Works for both sharded and legacy flat URLs; unknown URLs are ignored.
+     */
+    public void deleteByUrl(String url) {
+        Optional<String> key = UploadLayout.keyFromUrl(url);
+        if (key.isEmpty()) {
+            return;
+        }
+        try {
+            storageBackend.delete(key.get());
+        } catch (IOException e) {
+            throw new CustomExceptions.DocumentCleanupException("Failed to delete file " + url, e);
+        }
+    }
+
+    private String store(MultipartFile file, String key) throws IOException {
+        if (!asyncWrites) {
+            try (InputStream content = file.getInputStream()) {
+                storageBackend.put(key, content, file.getSize(), file.getContentType());
+            }
+            return UploadLayout.toUrl(key);
+        }
+
+        // The multipart temp file is deleted when the request ends, so spool it first.
+        Path spooled = Files.createTempFile("upload-", ".part");
+        file.transferTo(spooled);
+        long size = file.getSize();
+        String contentType = file.getContentType();
+
+        CompletableFuture<Void> write = CompletableFuture.runAsync(() -> {
+            try (InputStream content = Files.newInputStream(spooled)) {
+                storageBackend.put(key, content, size, contentType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                try {
+                    Files.deleteIfExists(spooled);
+                } catch (IOException e) {
+                    log.warn("Could not delete spooled upload {}", spooled, e);
+                }
+            }
+        }, applicationTaskExecutor);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    awaitWrite(write, key);
+                }
+            });
+        } else {
+            awaitWrite(write, key);
+        }
+
+        return UploadLayout.toUrl(key);
+    }
+
+    /** Throwing here rolls back the transaction that would have saved the URL. */
+    private static void awaitWrite(CompletableFuture<Void> write, String key) {
+        try {
+            write.join();
+        } catch (CompletionException e) {
+            log.error("Asynchronous upload of {} failed", key, e.getCause());
+            throw new CustomExceptions.FileUploadException(e.getCause());
+        }
+    }
+
     private void validateFile(MultipartFile file, List<String> allowedExtensions, String fileType) {
         if (file == null || file.isEmpty()) {
             throw new CustomExceptions.EmptyFileException();
@@ -0,0 +1,16 @@
+package com.hyperlocal.backend.common.storage;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one {@link OrphanedUploadCollector} pass. In a dry run the orphaned files and
+ * bytes are what would have been deleted.
+ */
+public record OrphanCollectionResult(
+        boolean dryRun,
+        long scannedFiles,
+        long orphanedFiles,
+        long reclaimedBytes,
+        Duration duration
+) {
+}
@@ -0,0 +1,180 @@
+package com.hyperlocal.backend.common.storage;
+
+import com.hyperlocal.backend.common.exception.CustomExceptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Deletes uploads that no database row references any more (images of deleted or re-imaged
+ * listings, replaced profile photos, ...).
+ *
+ * The storage tree is streamed in chunks. Every stored file name carries its owner's ID, so for
+ * each chunk only the referenced URLs of the owners in that chunk are loaded — neither the full
+ * file list nor the full URL set is ever held in memory. Files younger than the grace period are
+ * kept, which covers uploads whose database row has not been committed yet (or async writes).
+ *
+ * Runs on app.storage.gc.cron unless app.storage.gc.enabled=false, and can be triggered by a
+ * super admin. app.storage.gc.dry-run only reports what would be deleted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanedUploadCollector {
+
+    private static final String REFERENCED_USER_URLS = """
+            SELECT profile_photo_url FROM users WHERE id IN (:userIds) AND profile_photo_url IS NOT NULL
+            UNION ALL
+            SELECT government_id_url FROM users WHERE id IN (:userIds) AND government_id_url IS NOT NULL
+            UNION ALL
+            SELECT address_proof_url FROM users WHERE id IN (:userIds) AND address_proof_url IS NOT NULL
+            """;
+
+    private static final String REFERENCED_LISTING_URLS = """
+            SELECT li.image_url FROM listing_images li
+            JOIN listings l ON l.id = li.listing_id
+            WHERE l.owner_id IN (:userIds)
+            """;
+
+    private final StorageBackend storageBackend;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.storage.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.storage.gc.dry-run:false}")
+    private boolean dryRun;
+
+    @Value("${app.storage.gc.grace-period:PT24H}")
+    private Duration gracePeriod;
+
+    @Value("${app.storage.gc.chunk-size:1000}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.storage.gc.cron:0 30 3 * * *}")
+    public void collectScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            collect(dryRun);
+        } catch (CustomExceptions.StorageCollectionInProgressException e) {
+            log.info("Orphaned upload collection already running, skipping scheduled run");
+        }
+    }
+
+    /**
+     * Runs one collection pass.
+     *
+     * @throws CustomExceptions.StorageCollectionInProgressException if a pass is already running
+     */
+    public OrphanCollectionResult collect(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new CustomExceptions.StorageCollectionInProgressException();
+        }
+
+        long startNanos = System.nanoTime();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Stats stats = new Stats();
+
+        try (Stream<StoredObject> objects = storageBackend.list("")) {
+            List<StoredObject> chunk = new ArrayList<>(chunkSize);
+            for (StoredObject object : (Iterable<StoredObject>) objects::iterator) {
+                stats.scanned++;
+                if (object.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                chunk.add(object);
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, dryRun, stats);
+                }
+            }
+            processChunk(chunk, dryRun, stats);
+        } catch (IOException e) {
+            log.error("Orphaned upload collection aborted after {} files", stats.scanned, e);
+        } finally {
+            running.set(false);
+        }
+
+        OrphanCollectionResult result = new OrphanCollectionResult(
+                dryRun, stats.scanned, stats.orphaned, stats.reclaimedBytes,
+                Duration.ofNanos(System.nanoTime() - startNanos));
+        log.info("Orphaned upload collection {}: scanned {}, orphaned {}, {} bytes {} in {}",
+                dryRun ? "(dry run)" : "finished", result.scannedFiles(), result.orphanedFiles(),
+                result.reclaimedBytes(), dryRun ? "reclaimable" : "reclaimed", result.duration());
+        return result;
+    }
+
+    private void processChunk(List<StoredObject> chunk, boolean dryRun, Stats stats) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ownerIds = new HashSet<>();
+        for (StoredObject object : chunk) {
+            UploadLayout.userIdOf(object.fileName()).ifPresent(ownerIds::add);
+        }
+        Set<String> referenced = ownerIds.isEmpty() ? Set.of() : referencedUrls(ownerIds);
+
+        for (StoredObject object : chunk) {
+            // Files that do not follow the naming scheme cannot be attributed to an owner; leave them alone.
+            if (UploadLayout.userIdOf(object.fileName()).isEmpty()
+                    || referenced.contains(UploadLayout.toUrl(object.key()))) {
+                continue;
+            }
+
+            if (!dryRun) {
+                try {
+                    storageBackend.delete(object.key());
+                } catch (IOException e) {
+                    log.warn("Could not delete orphaned upload {}", object.key(), e);
+                    continue;
+                }
+            }
+            stats.orphaned++;
+            stats.reclaimedBytes += object.size();
+            Counter.builder("storage.gc.reclaimed.bytes")
+                    .baseUnit("bytes")
+                    .tag("dry_run", String.valueOf(dryRun))
+                    .register(meterRegistry)
+                    .increment(object.size());
+            Counter.builder("storage.gc.deleted.files")
+                    .tag("dry_run", String.valueOf(dryRun))
+                    .register(meterRegistry)
+                    .increment();
+        }
+        chunk.clear();
+    }
+
+    private Set<String> referencedUrls(Set<Long> ownerIds) {
+        Map<String, Object> params = Map.of("userIds", ownerIds);
+        Set<String> referenced = new HashSet<>(jdbcTemplate.queryForList(REFERENCED_USER_URLS, params, String.class));
+        referenced.addAll(jdbcTemplate.queryForList(REFERENCED_LISTING_URLS, params, String.class));
+        return referenced;
+    }
+
+    private static class Stats {
+        long scanned;
+        long orphaned;
+        long reclaimedBytes;
+    }
+}
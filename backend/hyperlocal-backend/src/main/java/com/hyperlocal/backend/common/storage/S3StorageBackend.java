@@ -0,0 +1,159 @@
+package com.hyperlocal.backend.common.storage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * S3-compatible backend (AWS S3, MinIO, ...), enabled with app.storage.backend=s3.
+ *
+ * Uploads are streamed from the request body in a single PUT, so the file is never buffered
+ * whole. (Uploads are capped at 5MB, S3's minimum multipart part size, so a multipart upload
+ * would only add round trips.) With app.storage.s3.presigned-downloads=true, /uploads/** requests are
+ * redirected to short-lived pre-signed URLs and image bytes bypass the application servers.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    @Value("${app.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${app.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${app.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${app.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${app.storage.s3.path-style-access:true}")
+    private boolean pathStyleAccess;
+
+    @Value("${app.storage.s3.presigned-downloads:false}")
+    private boolean presignedDownloads;
+
+    private S3Client s3Client;
+    private S3Presigner presigner;
+
+    @PostConstruct
+    public void init() {
+        AwsCredentialsProvider credentials = accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        S3Configuration serviceConfiguration = S3Configuration.builder()
+                .pathStyleAccessEnabled(pathStyleAccess)
+                .build();
+
+        var clientBuilder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration);
+        var presignerBuilder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .serviceConfiguration(serviceConfiguration);
+
+        if (!endpoint.isBlank()) {
+            clientBuilder.endpointOverride(URI.create(endpoint));
+            presignerBuilder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.s3Client = clientBuilder.build();
+        this.presigner = presignerBuilder.build();
+    }
+
+    @PreDestroy
+    public void close() {
+        s3Client.close();
+        presigner.close();
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) {
+        s3Client.putObject(
+                request -> request.bucket(bucket).key(key).contentType(contentType).contentLength(contentLength),
+                RequestBody.fromInputStream(content, contentLength));
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        try {
+            HeadObjectResponse head = s3Client.headObject(request -> request.bucket(bucket).key(key));
+            return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream openRange(String key, long start, long count) {
+        if (count <= 0) {
+            return InputStream.nullInputStream();
+        }
+        String range = "bytes=" + start + "-" + (start + count - 1);
+        return s3Client.getObject(request -> request.bucket(bucket).key(key).range(range));
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Client.deleteObject(request -> request.bucket(bucket).key(key));
+    }
+
+    @Override
+    public Stream<StoredObject> list(String prefix) {
+        return s3Client.listObjectsV2Paginator(request -> request.bucket(bucket).prefix(prefix))
+                .contents()
+                .stream()
+                .map(object -> new StoredObject(object.key(), object.size(), object.lastModified()));
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, Duration validity) {
+        if (!presignedDownloads) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(presigner.presignGetObject(presign -> presign
+                            .signatureDuration(validity)
+                            .getObjectRequest(request -> request.bucket(bucket).key(key)))
+                    .url()
+                    .toURI());
+        } catch (URISyntaxException e) {
+            log.warn("Could not build pre-signed URL for {}", key, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hyperlocal.backend.common.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Where uploaded bytes live. Keys are "/"-separated paths below the upload root as produced by
+ * {@link UploadLayout}; the public URL of a key is always "/uploads/{key}", independent of the backend.
+ *
+ * Selected with app.storage.backend = local (default) | s3.
+ */
+public interface StorageBackend {
+
+    /** Stores the stream under the key, replacing any existing object. */
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    Optional<StoredObject> stat(String key);
+
+    default boolean exists(String key) {
+        return stat(key).isPresent();
+    }
+
+    /** Opens {@code count} bytes starting at {@code start}. The caller closes the stream. */
+    InputStream openRange(String key, long start, long count) throws IOException;
+
+    /** Deletes the object; missing keys are ignored. */
+    void delete(String key) throws IOException;
+
+    /**
+     * Lists all objects below a directory-style prefix ("" for everything, otherwise ending in "/").
+     * The stream is lazy and must be closed by the caller.
+     */
+    Stream<StoredObject> list(String prefix) throws IOException;
+
+    /** Local file behind the key, when the backend keeps objects on this machine's filesystem. */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /** Time-limited URL clients can download the object from directly, if the backend supports it. */
+    default Optional<URI> presignedDownloadUrl(String key, Duration validity) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,18 @@
+package com.hyperlocal.backend.common.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadata of an object held by a {@link StorageBackend}.
+ *
+ * @param key          path below the upload root, e.g. "listings/3f/a2/42/listing_42_1718000000000_0.jpg"
+ * @param size         size in bytes
+ * @param lastModified last modification time
+ */
+public record StoredObject(String key, long size, Instant lastModified) {
+
+    public String fileName() {
+        int slash = key.lastIndexOf('/');
+        return slash >= 0 ? key.substring(slash + 1) : key;
+    }
+}
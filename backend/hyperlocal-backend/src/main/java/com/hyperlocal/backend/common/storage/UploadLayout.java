@@ -0,0 +1,126 @@
+package com.hyperlocal.backend.common.storage;
+
+import java.util.Optional;
+
+/**
+ * Sharded on-disk layout for uploaded files.
+ *
+ * Every user gets a private directory two hashed levels below the category root:
+ *   {category}/{shard1}/{shard2}/{userId}/{fileName}
+ * e.g. documents/3f/a2/42/gov_id_42_1718000000000.pdf
+ *
+ * Shards are derived from a mixed hash of the user ID so that sequential IDs spread evenly
+ * over 65,536 leaf directories. Looking up or deleting a user's files only ever touches that
+ * user's directory — never a scan of the whole category.
+ */
+public final class UploadLayout {
+
+    public static final String PROFILES = "profiles";
+    public static final String LISTINGS = "listings";
+    public static final String DOCUMENTS = "documents";
+
+    /** Public URL prefix under which the upload root is served (see WebMvcConfig). */
+    public static final String URL_PREFIX = "/uploads/";
+
+    public static final String GOV_ID_PREFIX = "gov_id";
+    public static final String ADDRESS_PROOF_PREFIX = "address_proof";
+    public static final String PROFILE_PREFIX = "profile";
+    public static final String LISTING_PREFIX = "listing";
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private UploadLayout() {
+    }
+
+    /** Relative directory holding all files of one user in one category. */
+    public static String userDirectory(String category, Long userId) {
+        long h = mix(userId);
+        return category + "/"
+                + hex((int) (h >>> 56) & 0xff) + "/"
+                + hex((int) (h >>> 48) & 0xff) + "/"
+                + userId;
+    }
+
+    /** Relative key (path below the upload root) of a user's file. */
+    public static String userFileKey(String category, Long userId, String fileName) {
+        return userDirectory(category, userId) + "/" + fileName;
+    }
+
+    /** Relative key of a file in the legacy flat layout ({category}/{fileName}). */
+    public static String legacyFileKey(String category, String fileName) {
+        return category + "/" + fileName;
+    }
+
+    public static String toUrl(String key) {
+        return URL_PREFIX + key;
+    }
+
+    /** Strips the public URL prefix; returns empty for URLs that do not point into the upload root. */
+    public static Optional<String> keyFromUrl(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return Optional.empty();
+        }
+        String key = url.substring(URL_PREFIX.length());
+        if (key.isEmpty() || key.contains("..") || key.contains("\\")) {
+            return Optional.empty();
+        }
+        return Optional.of(key);
+    }
+
+    /**
+     * Category a file name belongs to, based on the prefix written by FileStorageService.
+     * Returns empty for names that do not follow the naming scheme.
+     */
+    public static Optional<String> categoryOf(String fileName) {
+        if (fileName.startsWith(GOV_ID_PREFIX + "_") || fileName.startsWith(ADDRESS_PROOF_PREFIX + "_")) {
+            return Optional.of(DOCUMENTS);
+        }
+        if (fileName.startsWith(PROFILE_PREFIX + "_")) {
+            return Optional.of(PROFILES);
+        }
+        if (fileName.startsWith(LISTING_PREFIX + "_")) {
+            return Optional.of(LISTINGS);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Extracts the owning user ID from a generated file name
+     * ("{prefix}_{userId}_{timestamp}[...].ext"). Returns empty if the name does not match.
+     */
+    public static Optional<Long> userIdOf(String fileName) {
+        String rest;
+        if (fileName.startsWith(GOV_ID_PREFIX + "_")) {
+            rest = fileName.substring(GOV_ID_PREFIX.length() + 1);
+        } else if (fileName.startsWith(ADDRESS_PROOF_PREFIX + "_")) {
+            rest = fileName.substring(ADDRESS_PROOF_PREFIX.length() + 1);
+        } else if (fileName.startsWith(PROFILE_PREFIX + "_")) {
+            rest = fileName.substring(PROFILE_PREFIX.length() + 1);
+        } else if (fileName.startsWith(LISTING_PREFIX + "_")) {
+            rest = fileName.substring(LISTING_PREFIX.length() + 1);
+        } else {
+            return Optional.empty();
+        }
+
+        int end = rest.indexOf('_');
+        if (end <= 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(rest.substring(0, end)));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long mix(long value) {
+        long z = value * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String hex(int value) {
+        return value < 16 ? "0" + Integer.toHexString(value) : Integer.toHexString(value);
+    }
+}
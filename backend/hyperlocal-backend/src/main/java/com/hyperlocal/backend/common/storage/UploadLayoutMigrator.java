@@ -0,0 +1,159 @@
+package com.hyperlocal.backend.common.storage;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-off migration from the flat {category}/{fileName} layout to the sharded layout.
+ *
+ * Enabled with app.upload.migrate-layout=true. Moves every file found directly under a
+ * category root into its owner's sharded directory and rewrites the stored URLs in batches.
+ * Only applies to the local filesystem backend; with any other backend it logs a warning and
+ * does nothing.
+ * Each file is linked into its new place before any row points there, and the old name is
+ * only removed once the rows have been rewritten, so both URLs work throughout. The migration
+ * is idempotent: finished files are no longer in the flat directory and URL rewrites only
+ * match old values, so an interrupted run can simply be restarted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.upload.migrate-layout", havingValue = "true")
+public class UploadLayoutMigrator implements ApplicationRunner {
+
+    private static final List<String> URL_UPDATES = List.of(
+            "UPDATE users SET profile_photo_url = ? WHERE profile_photo_url = ?",
+            "UPDATE users SET government_id_url = ? WHERE government_id_url = ?",
+            "UPDATE users SET address_proof_url = ? WHERE address_proof_url = ?",
+            "UPDATE listing_images SET image_url = ? WHERE image_url = ?"
+    );
+
+    private final StorageBackend storageBackend;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.upload.migration.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!(storageBackend instanceof LocalStorageBackend localStorageBackend)) {
+            log.warn("Upload layout migration skipped: it only applies to the local storage backend");
+            return;
+        }
+        for (String category : List.of(UploadLayout.PROFILES, UploadLayout.LISTINGS, UploadLayout.DOCUMENTS)) {
+            migrateCategory(localStorageBackend, category);
+        }
+    }
+
+    private void migrateCategory(LocalStorageBackend localStorageBackend, String category) throws IOException {
+        Path categoryDir = localStorageBackend.resolve(category);
+        if (!Files.isDirectory(categoryDir)) {
+            return;
+        }
+
+        long moved = 0;
+        List<PendingMove> batch;
+        while (!(batch = nextBatch(categoryDir, category)).isEmpty()) {
+            moved += flush(localStorageBackend, batch);
+            log.info("Upload layout migration [{}]: {} files moved so far", category, moved);
+        }
+
+        long skipped = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(categoryDir, Files::isRegularFile)) {
+            for (Path source : stream) {
+                log.warn("Skipping upload with unrecognised name: {}", source);
+                skipped++;
+            }
+        }
+        log.info("Upload layout migration [{}] finished: {} moved, {} skipped", category, moved, skipped);
+    }
+
+    /**
+     * Up to batch-size movable files still in the flat directory. The stream is closed before the
+     * batch is moved, since moving entries out while a DirectoryStream is open over the directory
+     * may make it skip or repeat files; the next batch opens a new one, which no longer sees the
+     * moved files. Files with unrecognised names stay behind and are filtered out of every batch.
+     */
+    private List<PendingMove> nextBatch(Path categoryDir, String category) throws IOException {
+        List<PendingMove> batch = new ArrayList<>(batchSize);
+        DirectoryStream.Filter<Path> movable = entry ->
+                Files.isRegularFile(entry) && UploadLayout.userIdOf(entry.getFileName().toString()).isPresent();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(categoryDir, movable)) {
+            for (Path source : stream) {
+                String fileName = source.getFileName().toString();
+                batch.add(new PendingMove(
+                        source,
+                        UploadLayout.userFileKey(category, UploadLayout.userIdOf(fileName).orElseThrow(), fileName),
+                        UploadLayout.legacyFileKey(category, fileName)));
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Places the files of a batch at their new keys first, rewrites the URLs second and removes
+     * the old names last. If the process dies in between, the files are still in the flat
+     * directory and the next run repeats the batch.
+     */
+    private int flush(LocalStorageBackend localStorageBackend, List<PendingMove> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        for (PendingMove move : batch) {
+            Path target = localStorageBackend.resolve(move.newKey());
+            Files.createDirectories(target.getParent());
+            linkOrCopy(move.source(), target);
+        }
+
+        List<Object[]> rewrites = batch.stream()
+                .map(move -> new Object[]{UploadLayout.toUrl(move.newKey()), UploadLayout.toUrl(move.legacyKey())})
+                .toList();
+        for (String sql : URL_UPDATES) {
+            jdbcTemplate.batchUpdate(sql, rewrites);
+        }
+        // The rewrites bypass Hibernate, so drop any cached copies with the old URLs
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        cache.evictRegion("users");
+        cache.evictRegion("listings.images");
+
+        for (PendingMove move : batch) {
+            Files.delete(move.source());
+        }
+
+        return batch.size();
+    }
+
+    /** A hard link costs no copy; filesystems without link support get a copy instead. */
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    private record PendingMove(Path source, String newKey, String legacyKey) {
+    }
+}
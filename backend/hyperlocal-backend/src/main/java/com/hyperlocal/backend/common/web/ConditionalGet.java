@@ -0,0 +1,71 @@
+package com.hyperlocal.backend.common.web;
+
+import com.hyperlocal.backend.common.metrics.MetricsEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.StringJoiner;
+
+/**
+ * Conditional GET support for read endpoints whose version can be computed much more cheaply than
+ * the response itself. Controllers compute a weak ETag first and return null when
+ * {@link #notModified} says the client copy is current; Spring then answers 304. When the ETag
+ * comes from the database, the service checks it in the same transaction that builds the body, so
+ * with replica routing the ETag and the body can never come from different replicas.
+ *
+ * Responses are marked "private, no-cache" instead of Spring Security's default "no-store", so
+ * browsers keep the copy and revalidate it. Each check is counted as
+ * http.server.requests.conditional{endpoint,outcome}; the 304 ratio is not_modified / total.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGet {
+
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final MeterRegistry meterRegistry;
+
+    /** Builds a weak ETag from the values the response depends on (ids, updatedAt, counts, ...). */
+    public static String weakETag(Object... versions) {
+        StringJoiner joined = new StringJoiner("|");
+        for (Object version : versions) {
+            joined.add(String.valueOf(version));
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(joined.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be available", e);
+        }
+    }
+
+    /**
+     * Checks If-None-Match against the ETag and sets the ETag and Cache-Control headers.
+     *
+     * @return true if a 304 has been prepared and the handler should return null
+     */
+    public boolean notModified(WebRequest request, String eTag) {
+        if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+            servletRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        }
+        boolean notModified = request.checkNotModified(eTag);
+
+        Counter.builder("http.server.requests.conditional")
+                .description("Conditional GETs by outcome")
+                .tag(MetricsEndpoint.TAG, MetricsEndpoint.current())
+                .tag("outcome", notModified ? "not_modified" : "modified")
+                .register(meterRegistry)
+                .increment();
+        return notModified;
+    }
+}
@@ -0,0 +1,199 @@
+package com.hyperlocal.backend.common.web;
+
+import com.hyperlocal.backend.common.storage.StorageBackend;
+import com.hyperlocal.backend.common.storage.StoredObject;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a stored object to the servlet response with conditional GET and single byte-range support.
+ *
+ * - ETag (strong, from size + mtime) and Last-Modified are always sent; If-None-Match /
+ *   If-Modified-Since short-circuit to 304 before the file is opened. Stored objects are written
+ *   once and never edited in place, so size + mtime identify the bytes and the tag can be strong.
+ * - A single "Range: bytes=..." is answered with 206; If-Range is honoured with either that ETag
+ *   or the date. Multi-range requests fall back to the full body, unsatisfiable ranges get 416.
+ * - For objects on the local filesystem the body is handed to Tomcat's sendfile when the
+ *   connector supports it (zero-copy in the kernel). Otherwise it is copied with
+ *   FileChannel.transferTo into the servlet output stream; that target is not a socket channel,
+ *   so this is an ordinary buffered copy through user space, not zero-copy.
+ *   Remote backends stream only the requested range from {@link StorageBackend#openRange}.
+ *
+ * Every call records a latency timer and a bytes summary tagged with the given metric prefix.
+ */
+@Component
+@RequiredArgsConstructor
+public class FileRangeWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final MeterRegistry meterRegistry;
+
+    public void write(StorageBackend backend, StoredObject object, String contentType, String metricName,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long startNanos = System.nanoTime();
+        String outcome = "error";
+        long bytes = 0;
+
+        try {
+            long length = object.size();
+            long lastModified = object.lastModified().toEpochMilli();
+            String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+            if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+                outcome = "not_modified";
+                return;
+            }
+
+            response.setContentType(contentType);
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    "inline; filename=\"" + object.fileName() + "\"");
+
+            long start = 0;
+            long count = length;
+
+            HttpRange range;
+            try {
+                range = resolveRange(request, etag, lastModified);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                outcome = "range_not_satisfiable";
+                return;
+            }
+
+            if (range != null) {
+                if (length == 0 || range.getRangeStart(length) >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    outcome = "range_not_satisfiable";
+                    return;
+                }
+                start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                count = end - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                outcome = "partial";
+            } else {
+                response.setStatus(HttpServletResponse.SC_OK);
+                outcome = "full";
+            }
+            response.setContentLengthLong(count);
+
+            if (HttpMethod.HEAD.matches(request.getMethod())) {
+                return;
+            }
+
+            bytes = transfer(backend, object.key(), start, count, request, response);
+        } finally {
+            Timer.builder(metricName)
+                    .description("Latency of file responses")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder(metricName + ".bytes")
+                    .description("Body bytes sent per file response")
+                    .baseUnit("bytes")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(bytes);
+        }
+    }
+
+    /**
+     * Returns the single range to serve, or null to serve the full body.
+     * Throws IllegalArgumentException for a syntactically invalid Range header.
+     */
+    private HttpRange resolveRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || rangeHeader.isBlank()) {
+            return null;
+        }
+
+        // If-Range: only honour the range when the client's validator still matches.
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRangeMatches(request, ifRange, etag, lastModified)) {
+            return null;
+        }
+
+        List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    /**
+     * Entity tags are compared strongly (RFC 7233 section 3.2): a weak tag never matches, so a client
+     * holding one gets the full body instead of a stitched range.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private long transfer(StorageBackend backend, String key, long start, long count,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> localFile = backend.localPath(key);
+        if (localFile.isEmpty()) {
+            try (InputStream in = backend.openRange(key, start, count)) {
+                return in.transferTo(response.getOutputStream());
+            }
+        }
+
+        Path file = localFile.get();
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat performs the copy with sendfile(2) after the servlet returns.
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return count;
+        }
+
+        // Channels.newChannel wraps the output stream, so transferTo copies through a heap buffer here
+        long sent = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (sent < count) {
+                long transferred = channel.transferTo(start + sent, count - sent, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                sent += transferred;
+            }
+        }
+        return sent;
+    }
+}
@@ -0,0 +1,41 @@
+package com.hyperlocal.backend.common.web;
+
+import com.hyperlocal.backend.common.storage.StorageBackend;
+import com.hyperlocal.backend.common.storage.UploadLayout;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Redirects /uploads/** requests to a pre-signed backend URL when the backend offers one,
+ * so object bytes are served by the storage service rather than this application.
+ */
+public class PresignedDownloadInterceptor implements HandlerInterceptor {
+
+    private final StorageBackend storageBackend;
+    private final Duration validity;
+
+    public PresignedDownloadInterceptor(StorageBackend storageBackend, Duration validity) {
+        this.storageBackend = storageBackend;
+        this.validity = validity;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Optional<URI> target = UploadLayout.keyFromUrl(path)
+                .flatMap(key -> storageBackend.presignedDownloadUrl(key, validity));
+        if (target.isEmpty()) {
+            return true;
+        }
+        response.setHeader("Cache-Control", "private, max-age=" + Math.max(0, validity.toSeconds() - 30));
+        response.sendRedirect(target.get().toString());
+        return false;
+    }
+}
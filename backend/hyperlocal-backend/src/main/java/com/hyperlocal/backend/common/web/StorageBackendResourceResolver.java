@@ -0,0 +1,94 @@
+package com.hyperlocal.backend.common.web;
+
+import com.hyperlocal.backend.common.storage.StorageBackend;
+import com.hyperlocal.backend.common.storage.StoredObject;
+import com.hyperlocal.backend.common.storage.UploadLayout;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resolves /uploads/** paths against the configured {@link StorageBackend} instead of a fixed
+ * directory, so the same public URLs work for local and S3 storage.
+ */
+public class StorageBackendResourceResolver implements ResourceResolver {
+
+    private final StorageBackend storageBackend;
+
+    public StorageBackendResourceResolver(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
+    }
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        Optional<String> key = UploadLayout.keyFromUrl(UploadLayout.URL_PREFIX + requestPath);
+        if (key.isEmpty()) {
+            return null;
+        }
+
+        Optional<Path> localFile = storageBackend.localPath(key.get());
+        if (localFile.isPresent()) {
+            return new FileSystemResource(localFile.get());
+        }
+        return storageBackend.stat(key.get())
+                .map(object -> (Resource) new StoredObjectResource(storageBackend, object))
+                .orElse(null);
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return resourcePath;
+    }
+
+    /** Read-only view of a remote object; the body is only fetched when the handler writes it. */
+    private static class StoredObjectResource extends AbstractResource {
+
+        private final StorageBackend storageBackend;
+        private final StoredObject object;
+
+        StoredObjectResource(StorageBackend storageBackend, StoredObject object) {
+            this.storageBackend = storageBackend;
+            this.object = object;
+        }
+
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return object.size();
+        }
+
+        @Override
+        public long lastModified() {
+            return object.lastModified().toEpochMilli();
+        }
+
+        @Override
+        public String getFilename() {
+            return object.fileName();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return storageBackend.openRange(object.key(), 0, object.size());
+        }
+
+        @Override
+        public String getDescription() {
+            return "Stored object [" + object.key() + "]";
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hyperlocal.backend.community.controller;
 
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.community.dto.CommunityMemberResponse;
 import com.hyperlocal.backend.community.dto.CommunityResponse;
 import com.hyperlocal.backend.community.dto.CreateCommunityRequest;
@@ -20,6 +21,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,6 +32,7 @@ import java.util.List;
 public class CommunityController {
 
     private final CommunityService communityService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * POST /api/communities
@@ -46,12 +49,15 @@ public class CommunityController {
     /**
      * GET /api/communities/{communityId}
      * Returns community details. Only members can access. Returns 403 if not a member.
+     * Answers 304 when If-None-Match carries the current ETag.
      */
     @Operation(summary = "Get community by ID (members only)")
     @GetMapping("/{communityId}")
     public ResponseEntity<CommunityResponse> getCommunityById(
-            @PathVariable Long communityId) {
-        return ResponseEntity.ok(communityService.getCommunityById(communityId));
+            @PathVariable Long communityId, WebRequest request) {
+        CommunityResponse community = communityService.getCommunityById(
+                communityId, eTag -> conditionalGet.notModified(request, eTag));
+        return community == null ? null : ResponseEntity.ok(community);
     }
 
     /**
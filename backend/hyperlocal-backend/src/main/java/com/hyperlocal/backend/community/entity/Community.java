@@ -6,8 +6,12 @@ import com.hyperlocal.backend.community.enums.JoinPolicy;
 import com.hyperlocal.backend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -21,6 +25,8 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "communities")
+@NaturalIdCache(region = "communities.natural-id")
 public class Community {
 
     @Id
@@ -34,6 +40,7 @@ public class Community {
      * Auto-generated unique invite code (e.g. "MPL-4421").
      * Format: first 3 uppercase letters of name + "-" + 4 random digits.
      */
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String code;
 
@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.community.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** A user became an approved member, either directly (open community) or by admin approval. */
+public record MemberJoined(Long membershipId, Long communityId, Long userId) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return membershipId;
+    }
+}
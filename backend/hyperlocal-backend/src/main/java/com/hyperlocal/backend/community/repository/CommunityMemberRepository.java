@@ -66,4 +66,16 @@ public interface CommunityMemberRepository extends JpaRepository<CommunityMember
     @Query("SELECT cm.community.id, COUNT(cm) FROM CommunityMember cm " +
            "WHERE cm.community.id IN :communityIds AND cm.status = 'PENDING' GROUP BY cm.community.id")
     List<Object[]> countPendingByCommunityIdIn(@Param("communityIds") Collection<Long> communityIds);
+
+    /**
+     * Fingerprint of everything a community response derives from its members: total, approved
+     * and pending counts, the admin set and the latest admin profile change. One row, used for ETags.
+     */
+    @Query("SELECT COUNT(cm), " +
+           "SUM(CASE WHEN cm.status = 'APPROVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN cm.status = 'PENDING' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN cm.role = 'ADMIN' THEN u.id ELSE 0L END), " +
+           "MAX(CASE WHEN cm.role = 'ADMIN' THEN u.updatedAt END) " +
+           "FROM CommunityMember cm JOIN cm.user u WHERE cm.community.id = :communityId")
+    List<Object[]> membershipFingerprint(@Param("communityId") Long communityId);
 }
@@ -0,0 +1,13 @@
+package com.hyperlocal.backend.community.repository;
+
+import com.hyperlocal.backend.community.entity.Community;
+
+import java.util.Optional;
+
+/**
+ * Looks communities up by invite code through Hibernate's natural-id API, so repeated
+ * lookups are served from the second-level cache.
+ */
+public interface CommunityNaturalIdRepository {
+    Optional<Community> findByCode(String code);
+}
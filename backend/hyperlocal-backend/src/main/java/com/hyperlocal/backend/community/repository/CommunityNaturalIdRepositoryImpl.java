@@ -0,0 +1,23 @@
+package com.hyperlocal.backend.community.repository;
+
+import com.hyperlocal.backend.community.entity.Community;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class CommunityNaturalIdRepositoryImpl implements CommunityNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<Community> findByCode(String code) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Community.class)
+                .loadOptional(code);
+    }
+}
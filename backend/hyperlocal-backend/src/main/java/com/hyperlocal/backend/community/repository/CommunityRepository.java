@@ -8,11 +8,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.util.Optional;
-
-public interface CommunityRepository extends JpaRepository<Community, Long> {
-
-    Optional<Community> findByCode(String code);
+public interface CommunityRepository extends JpaRepository<Community, Long>, CommunityNaturalIdRepository {
 
     boolean existsByCode(String code);
 
@@ -2,6 +2,9 @@ package com.hyperlocal.backend.community.service;
 
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
+import com.hyperlocal.backend.common.outbox.OutboxPublisher;
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.community.dto.CommunityMemberResponse;
 import com.hyperlocal.backend.community.dto.CommunityResponse;
 import com.hyperlocal.backend.community.dto.CreateCommunityRequest;
@@ -15,27 +18,32 @@ import com.hyperlocal.backend.community.entity.CommunityMember;
 import com.hyperlocal.backend.community.enums.CommunityRole;
 import com.hyperlocal.backend.community.enums.JoinPolicy;
 import com.hyperlocal.backend.community.enums.MemberStatus;
+import com.hyperlocal.backend.community.event.MemberJoined;
 import com.hyperlocal.backend.community.repository.CommunityMemberRepository;
 import com.hyperlocal.backend.community.repository.CommunityRepository;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class CommunityService {
 
     private final CommunityRepository communityRepository;
     private final CommunityMemberRepository communityMemberRepository;
     private final UserRepository userRepository;
+    private final OutboxPublisher outboxPublisher;
 
     @Transactional
     public CommunityResponse createCommunity(CreateCommunityRequest request) {
@@ -82,20 +90,32 @@ public class CommunityService {
         return buildCommunityResponse(community, currentUser.getId());
     }
 
-    public CommunityResponse getCommunityById(Long communityId) {
+    /**
+     * The community together with its weak ETag, both read in one transaction so a 304 and a 200 always
+     * describe the same rows. The ETag needs only the cached community, the caller's membership and
+     * one aggregate over the community's members; the admin, user and count queries run on a miss.
+     * Pending members may see basic info; their status is part of the response.
+     *
+     * @param notModified answers whether the client already holds the given ETag
+     * @return null when it does
+     */
+    @Transactional(readOnly = true)
+    public CommunityResponse getCommunityById(Long communityId, Predicate<String> notModified) {
         User currentUser = getAuthenticatedUser();
 
         Community community = communityRepository.findById(communityId)
                 .orElseThrow(CustomExceptions.CommunityNotFoundException::new);
 
-        Optional<CommunityMember> membershipOpt =
-                communityMemberRepository.findByCommunity_IdAndUser_Id(communityId, currentUser.getId());
+        CommunityMember membership = communityMemberRepository
+                .findByCommunity_IdAndUser_Id(communityId, currentUser.getId())
+                .orElseThrow(CustomExceptions.NotCommunityMemberException::new);
 
-        if (membershipOpt.isEmpty()) {
-            throw new CustomExceptions.NotCommunityMemberException();
-        }
+        Object[] members = communityMemberRepository.membershipFingerprint(communityId).getFirst();
 
-        // Allow pending members to see basic info but signal their status
+        if (notModified.test(ConditionalGet.weakETag("community", community.getId(), community.getUpdatedAt(),
+                currentUser.getId(), membership.getStatus(), membership.getRole(), Arrays.toString(members)))) {
+            return null;
+        }
         return buildCommunityResponse(community, currentUser.getId());
     }
 
@@ -132,6 +152,7 @@ public class CommunityService {
 
         // Only update user's joined list if immediately approved
         if (initialStatus == MemberStatus.APPROVED) {
+            outboxPublisher.publish(new MemberJoined(member.getId(), community.getId(), currentUser.getId()));
             if (!currentUser.getJoinedCommunityIds().contains(community.getId())) {
                 currentUser.getJoinedCommunityIds().add(community.getId());
                 userRepository.save(currentUser);
@@ -144,6 +165,7 @@ public class CommunityService {
     /**
      * Returns all pending join requests for a community (admin only).
      */
+    @Transactional(readOnly = true)
     public List<PendingMemberResponse> getPendingMembers(Long communityId) {
         User currentUser = getAuthenticatedUser();
 
@@ -198,6 +220,7 @@ public class CommunityService {
 
         membership.setStatus(MemberStatus.APPROVED);
         communityMemberRepository.save(membership);
+        outboxPublisher.publish(new MemberJoined(membership.getId(), communityId, membership.getUserId()));
 
         // Update the approved user's joinedCommunityIds
         userRepository.findById(membership.getUserId()).ifPresent(user -> {
@@ -231,6 +254,7 @@ public class CommunityService {
         communityMemberRepository.delete(membership);
     }
 
+    @Transactional(readOnly = true)
     public List<CommunityResponse> getMyCommunities() {
         User currentUser = getAuthenticatedUser();
         Long userId = currentUser.getId();
@@ -311,6 +335,7 @@ public class CommunityService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public PagedResponseDto<CommunityMemberResponse> getCommunityMembers(Long communityId, Pageable pageable) {
         User currentUser = getAuthenticatedUser();
 
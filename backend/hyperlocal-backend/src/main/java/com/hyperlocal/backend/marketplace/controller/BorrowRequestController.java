@@ -1,16 +1,20 @@
 package com.hyperlocal.backend.marketplace.controller;
 
+import com.hyperlocal.backend.common.dto.FieldSet;
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
 import com.hyperlocal.backend.marketplace.dto.*;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
 import com.hyperlocal.backend.marketplace.service.BorrowRequestService;
+import com.hyperlocal.backend.marketplace.service.BorrowRequestStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/marketplace/requests")
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class BorrowRequestController {
 
     private final BorrowRequestService borrowRequestService;
+    private final BorrowRequestStreamService borrowRequestStreamService;
 
     @Operation(summary = "Create a borrow request")
     @PostMapping
@@ -26,23 +31,35 @@ public class BorrowRequestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(borrowRequestService.createRequest(request));
     }
 
+    /** Optional {@code fields} (comma-separated) limits the response to those fields; id is always returned. */
     @Operation(summary = "Get my sent borrow requests")
     @GetMapping("/me")
     public ResponseEntity<PagedResponseDto<BorrowRequestResponse>> getMyRequests(
             @RequestParam(required = false) BorrowRequestStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(borrowRequestService.getMyRequests(status, page, size));
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(borrowRequestService.getMyRequests(
+                status, page, size, FieldSet.parse(fields, BorrowRequestResponse.FIELDS)));
     }
 
+    /** Optional {@code fields} (comma-separated) limits the response to those fields; id is always returned. */
     @Operation(summary = "Get incoming borrow requests for my listings")
     @GetMapping("/incoming")
     public ResponseEntity<PagedResponseDto<BorrowRequestResponse>> getIncomingRequests(
             @RequestParam(required = false) BorrowRequestStatus status,
             @RequestParam(required = false) Long listingId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
-        return ResponseEntity.ok(borrowRequestService.getIncomingRequests(status, listingId, page, size));
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(borrowRequestService.getIncomingRequests(
+                status, listingId, page, size, FieldSet.parse(fields, BorrowRequestResponse.FIELDS)));
+    }
+
+    @Operation(summary = "Get per-status counts of my incoming and sent borrow requests")
+    @GetMapping("/counts")
+    public ResponseEntity<BorrowRequestCountsResponse> getRequestCounts() {
+        return ResponseEntity.ok(borrowRequestService.getRequestCounts());
     }
 
     @Operation(summary = "Get listing availability and blocked approved ranges")
@@ -54,6 +71,12 @@ public class BorrowRequestController {
         return ResponseEntity.ok(borrowRequestService.getListingAvailability(listingId, fromDate, toDate));
     }
 
+    @Operation(summary = "Stream changes to my sent and incoming borrow requests (server-sent events)")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequests(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return borrowRequestStreamService.subscribe(lastEventId);
+    }
+
     @Operation(summary = "Get borrow request details")
     @GetMapping("/{requestId}")
     public ResponseEntity<BorrowRequestResponse> getRequestById(@PathVariable Long requestId) {
@@ -1,6 +1,8 @@
 package com.hyperlocal.backend.marketplace.controller;
 
+import com.hyperlocal.backend.common.dto.FieldSet;
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.marketplace.dto.*;
 import com.hyperlocal.backend.marketplace.enums.ListingAvailabilityFilter;
 import com.hyperlocal.backend.marketplace.enums.ListingCategory;
@@ -17,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -26,15 +29,25 @@ import java.util.List;
 @Tag(name = "Marketplace", description = "Marketplace listing endpoints")
 public class MarketplaceController {
 
+    static final int MAX_MY_LISTINGS_PAGE_SIZE = 50;
+
+    private static final String CATEGORIES_ETAG =
+            ConditionalGet.weakETag((Object[]) ListingCategory.values());
+
     private final MarketplaceService marketplaceService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * GET /api/marketplace/listings/categories
      * Returns all valid listing categories. No auth required — useful for dropdowns.
+     * The ETag only changes with a deployment that changes the categories.
      */
     @Operation(summary = "Get all listing categories")
     @GetMapping("/categories")
-    public ResponseEntity<ListingCategory[]> getCategories() {
+    public ResponseEntity<ListingCategory[]> getCategories(WebRequest request) {
+        if (conditionalGet.notModified(request, CATEGORIES_ETAG)) {
+            return null;
+        }
         return ResponseEntity.ok(ListingCategory.values());
     }
 
@@ -54,6 +67,7 @@ public class MarketplaceController {
          * GET /api/marketplace/listings
          * Browse listings scoped to the current user's communities.
          * Optional filters: search, category, filter, communityId, page, size.
+         * Optional fields (comma-separated) limits the response to those fields; id is always returned.
          */
         @Operation(summary = "Browse listings (scoped to user's communities)")
         @GetMapping
@@ -63,11 +77,12 @@ public class MarketplaceController {
                 @RequestParam(required = false) ListingAvailabilityFilter filter,
                 @RequestParam(required = false) Long communityId,
                 @RequestParam(defaultValue = "0") int page,
-                @RequestParam(defaultValue = "20") int size) {
+                @RequestParam(defaultValue = "20") int size,
+                @RequestParam(required = false) String fields) {
 
             Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-            return ResponseEntity.ok(
-                    marketplaceService.getListings(search, category, filter, communityId, pageable));
+            return ResponseEntity.ok(marketplaceService.getListings(search, category, filter, communityId, pageable,
+                    FieldSet.parse(fields, ListingSummaryResponse.FIELDS)));
         }
 
         /**
@@ -75,21 +90,41 @@ public class MarketplaceController {
      * Get current user's own listings. Optional status filter.
      * NOTE: this must be declared BEFORE /{listingId} to avoid path ambiguity.
      */
-    @Operation(summary = "Get my listings")
+    @Deprecated
+    @Operation(summary = "Get my listings (unpaged, use /me/paged)", deprecated = true)
     @GetMapping("/me")
     public ResponseEntity<List<ListingResponse>> getMyListings(
             @RequestParam(required = false) ListingStatus status) {
         return ResponseEntity.ok(marketplaceService.getMyListings(status));
     }
 
+    /**
+     * GET /api/marketplace/listings/me/paged
+     * One page of the current user's listings, newest first, with per-status counts.
+     * size is clamped to 1..{@value #MAX_MY_LISTINGS_PAGE_SIZE}.
+     */
+    @Operation(summary = "Get my listings, paged with per-status counts")
+    @GetMapping("/me/paged")
+    public ResponseEntity<MyListingsResponse> getMyListingsPaged(
+            @RequestParam(required = false) ListingStatus status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.clamp(size, 1, MAX_MY_LISTINGS_PAGE_SIZE),
+                Sort.by("createdAt").descending());
+        return ResponseEntity.ok(marketplaceService.getMyListings(status, pageable));
+    }
+
     /**
      * GET /api/marketplace/listings/{listingId}
      * Get a single listing by ID. User must be a member of its community.
+     * Answers 304 when If-None-Match carries the current ETag.
      */
     @Operation(summary = "Get listing by ID")
     @GetMapping("/{listingId}")
-    public ResponseEntity<ListingResponse> getListingById(@PathVariable Long listingId) {
-        return ResponseEntity.ok(marketplaceService.getListingById(listingId));
+    public ResponseEntity<ListingResponse> getListingById(@PathVariable Long listingId, WebRequest request) {
+        ListingResponse listing = marketplaceService.getListingById(
+                listingId, eTag -> conditionalGet.notModified(request, eTag));
+        return listing == null ? null : ResponseEntity.ok(listing);
     }
 
     /**
@@ -6,8 +6,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,13 +26,13 @@ public class ReviewController {
         return ResponseEntity.status(HttpStatus.CREATED).body(reviewService.createReview(request));
     }
 
-    @Operation(summary = "Get paginated reviews for a listing with summary")
+    @Operation(summary = "Get a listing's reviews newest first, with rating summary; pass nextCursor to continue")
     @GetMapping("/listings/{listingId}")
     public ResponseEntity<ListingReviewsResponse> getListingReviews(
             @PathVariable Long listingId,
-            @PageableDefault(sort = "createdAt", direction = org.springframework.data.domain.Sort.Direction.DESC)
-            Pageable pageable) {
-        return ResponseEntity.ok(reviewService.getListingReviews(listingId, pageable));
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(reviewService.getListingReviews(listingId, cursor, size));
     }
 
     @Operation(summary = "Get my completed transactions pending review")
@@ -0,0 +1,20 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Dashboard badge counts for the current user. Every status is present in both maps.
+ * Active borrows are approved requests whose start date has been reached.
+ */
+@Getter
+@Builder
+public class BorrowRequestCountsResponse {
+    private Map<BorrowRequestStatus, Long> incoming;
+    private Map<BorrowRequestStatus, Long> outgoing;
+    private long activeIncoming;
+    private long activeOutgoing;
+}
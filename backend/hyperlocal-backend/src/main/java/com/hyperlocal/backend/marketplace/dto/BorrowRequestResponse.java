@@ -1,16 +1,44 @@
 package com.hyperlocal.backend.marketplace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Getter
 @Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class BorrowRequestResponse {
 
+    // Field names for "fields=" on the list endpoints (see FieldSet); id is always returned
+    public static final String ID = "id";
+    public static final String LISTING_ID = "listingId";
+    public static final String REQUESTER_ID = "requesterId";
+    public static final String REQUESTER_TRUST_INDEX = "requesterTrustIndex";
+    public static final String REQUESTER_TRUST_XP = "requesterTrustXp";
+    public static final String OWNER_ID = "ownerId";
+    public static final String OWNER_NAME = "ownerName";
+    public static final String REQUESTER_NAME = "requesterName";
+    public static final String LISTING_TITLE = "listingTitle";
+    public static final String START_DATE = "startDate";
+    public static final String END_DATE = "endDate";
+    public static final String MESSAGE = "message";
+    public static final String STATUS = "status";
+    public static final String REQUESTED_AT = "requestedAt";
+    public static final String APPROVED_AT = "approvedAt";
+    public static final String RETURNED_AT = "returnedAt";
+    public static final String REJECTION_REASON = "rejectionReason";
+
+    public static final Set<String> FIELDS = Set.of(ID, LISTING_ID, REQUESTER_ID, REQUESTER_TRUST_INDEX,
+            REQUESTER_TRUST_XP, OWNER_ID, OWNER_NAME, REQUESTER_NAME, LISTING_TITLE, START_DATE, END_DATE, MESSAGE,
+            STATUS, REQUESTED_AT, APPROVED_AT, RETURNED_AT, REJECTION_REASON);
+
     private Long id;
     private Long listingId;
     private Long requesterId;
@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+
+public interface BorrowRequestStatusCountView {
+    /** INCOMING (the user owns the listing) or OUTGOING (the user is the requester). */
+    String getDirection();
+    BorrowRequestStatus getStatus();
+    Long getTotal();
+    /** Of those, how many have reached their start date; only meaningful for APPROVED. */
+    Long getStarted();
+}
@@ -0,0 +1,20 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed over the borrow request stream when a request is created or changes status.
+ * Carries just enough to update a list entry in place; details come from GET /{requestId}.
+ */
+@Getter
+@Builder
+public class BorrowRequestStreamEvent {
+    private Long requestId;
+    private Long listingId;
+    private BorrowRequestStatus status;
+    private LocalDateTime occurredAt;
+}
@@ -1,10 +1,12 @@
 package com.hyperlocal.backend.marketplace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ListingOwnerDto {
     private Long userId;
     private String name;
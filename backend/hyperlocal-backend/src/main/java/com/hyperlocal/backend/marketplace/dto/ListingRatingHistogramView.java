@@ -0,0 +1,10 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+public interface ListingRatingHistogramView {
+    Long getOneStar();
+    Long getTwoStar();
+    Long getThreeStar();
+    Long getFourStar();
+    Long getFiveStar();
+    Long getRecommendCount();
+}
@@ -8,10 +8,10 @@ import java.time.LocalDateTime;
 @Getter
 @AllArgsConstructor
 public class ListingReviewItemResponse {
+    private Long id;
     private String reviewerName;
     private Integer rating;
     private String comment;
     private Boolean recommend;
     private LocalDateTime createdAt;
 }
-
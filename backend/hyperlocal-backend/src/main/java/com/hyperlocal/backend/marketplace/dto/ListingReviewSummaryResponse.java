@@ -3,9 +3,15 @@ package com.hyperlocal.backend.marketplace.dto;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Map;
+
 @Getter
 @Builder
 public class ListingReviewSummaryResponse {
     private Double averageRating;
     private Long totalReviews;
+    /** Share of reviews that recommend the listing, as a whole percentage. */
+    private Integer recommendRate;
+    /** Review count per star value, keyed 1 to 5. */
+    private Map<Integer, Long> ratingCounts;
 }
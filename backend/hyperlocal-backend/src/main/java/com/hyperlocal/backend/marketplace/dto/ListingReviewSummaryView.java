@@ -1,6 +0,0 @@
-package com.hyperlocal.backend.marketplace.dto;
-
-public interface ListingReviewSummaryView {
-    Double getAverageRating();
-    Long getTotalReviews();
-}
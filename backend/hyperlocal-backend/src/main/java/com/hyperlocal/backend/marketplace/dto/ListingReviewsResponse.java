@@ -5,15 +5,16 @@ import lombok.Getter;
 
 import java.util.List;
 
+/**
+ * One slice of a listing's reviews, newest first. Pass nextCursor back as the cursor parameter
+ * for the following slice; it is null on the last one.
+ */
 @Getter
 @Builder
 public class ListingReviewsResponse {
     private List<ListingReviewItemResponse> content;
-    private int pageNumber;
-    private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private int size;
+    private String nextCursor;
     private boolean last;
     private ListingReviewSummaryResponse summary;
 }
-
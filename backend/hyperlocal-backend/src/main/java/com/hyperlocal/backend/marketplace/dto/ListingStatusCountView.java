@@ -0,0 +1,8 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+
+public interface ListingStatusCountView {
+    ListingStatus getStatus();
+    Long getTotal();
+}
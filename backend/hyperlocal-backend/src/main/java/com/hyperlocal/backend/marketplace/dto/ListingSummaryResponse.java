@@ -1,5 +1,6 @@
 package com.hyperlocal.backend.marketplace.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hyperlocal.backend.marketplace.enums.ListingCategory;
 import com.hyperlocal.backend.marketplace.enums.ListingCondition;
 import com.hyperlocal.backend.marketplace.enums.ListingStatus;
@@ -8,11 +9,32 @@ import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Getter
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ListingSummaryResponse {
 
+    // Field names for "fields=" (see FieldSet); id is always returned
+    public static final String ID = "id";
+    public static final String TITLE = "title";
+    public static final String CATEGORY = "category";
+    public static final String PRICE = "price";
+    public static final String CONDITION = "condition";
+    public static final String THUMBNAIL_URL = "thumbnailUrl";
+    public static final String STATUS = "status";
+    public static final String COMMUNITY_ID = "communityId";
+    public static final String COMMUNITY_NAME = "communityName";
+    public static final String OWNER = "owner";
+    public static final String AVERAGE_RATING = "averageRating";
+    public static final String TOTAL_REVIEWS = "totalReviews";
+    public static final String IS_FULLY_BOOKED = "isFullyBooked";
+    public static final String CREATED_AT = "createdAt";
+
+    public static final Set<String> FIELDS = Set.of(ID, TITLE, CATEGORY, PRICE, CONDITION, THUMBNAIL_URL, STATUS,
+            COMMUNITY_ID, COMMUNITY_NAME, OWNER, AVERAGE_RATING, TOTAL_REVIEWS, IS_FULLY_BOOKED, CREATED_AT);
+
     private Long id;
     private String title;
     private ListingCategory category;
@@ -0,0 +1,22 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.hyperlocal.backend.common.dto.PagedResponseDto;
+import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * One page of the current user's listings plus how many they own in each status,
+ * independent of the status filter so the UI tabs can show their counts. The page
+ * fields are unwrapped, so the JSON is a {@link PagedResponseDto} with statusCounts added.
+ */
+@Getter
+@Builder
+public class MyListingsResponse {
+    @JsonUnwrapped
+    private PagedResponseDto<ListingResponse> page;
+    private Map<ListingStatus, Long> statusCounts;
+}
@@ -0,0 +1,9 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+/**
+ * Outcome of one {@link com.hyperlocal.backend.marketplace.service.PendingReviewBackfill} run.
+ */
+public record PendingReviewBackfillResult(
+        long pendingReviewsInserted
+) {
+}
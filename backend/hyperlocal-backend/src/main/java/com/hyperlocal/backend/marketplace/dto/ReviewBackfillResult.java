@@ -0,0 +1,10 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+/**
+ * Outcome of one {@link com.hyperlocal.backend.marketplace.service.ReviewDenormalizationBackfill} run.
+ */
+public record ReviewBackfillResult(
+        long reviewerNamesFilled,
+        long ratingHistogramsCreated
+) {
+}
@@ -0,0 +1,38 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing's review feed: the (createdAt, id) of the last review returned. Sent to
+ * clients as an opaque URL-safe token so the format can change without breaking them.
+ */
+public record ReviewFeedCursor(LocalDateTime createdAt, Long id) {
+
+    public static ReviewFeedCursor after(ListingReviewItemResponse review) {
+        return new ReviewFeedCursor(review.getCreatedAt(), review.getId());
+    }
+
+    /** Null for an absent or blank token; anything unreadable is rejected with a 400. */
+    public static ReviewFeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new ReviewFeedCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
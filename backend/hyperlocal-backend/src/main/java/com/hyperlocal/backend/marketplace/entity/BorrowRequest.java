@@ -10,7 +10,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "borrow_requests")
+@Table(name = "borrow_requests",
+        indexes = {
+                @Index(name = "idx_borrow_requests_owner_status", columnList = "owner_id, status"),
+                @Index(name = "idx_borrow_requests_requester_status", columnList = "requester_id, status")
+        })
 @Getter
 @Setter
 @Builder
@@ -6,6 +6,8 @@ import com.hyperlocal.backend.marketplace.enums.ListingStatus;
 import com.hyperlocal.backend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -22,6 +24,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "listings")
 public class Listing {
 
     @Id
@@ -64,6 +67,7 @@ public class Listing {
     @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "listing_images", joinColumns = @JoinColumn(name = "listing_id"))
     @Column(name = "image_url")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "listings.images")
     @Builder.Default
     private List<String> images = new ArrayList<>();
 
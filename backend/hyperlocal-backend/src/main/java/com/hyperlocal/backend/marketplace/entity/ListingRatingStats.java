@@ -0,0 +1,73 @@
+package com.hyperlocal.backend.marketplace.entity;
+
+import com.hyperlocal.backend.marketplace.dto.ListingRatingHistogramView;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-listing rating histogram, created empty with the listing and kept up to date by ReviewService
+ * in the transaction that posts a review. Listings created before the table existed get a row the
+ * first time they are reviewed again, or from the review backfill.
+ */
+@Entity
+@Table(name = "listing_rating_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListingRatingStats {
+
+    @Id
+    @Column(name = "listing_id")
+    private Long listingId;
+
+    @Column(nullable = false)
+    private long oneStar;
+
+    @Column(nullable = false)
+    private long twoStar;
+
+    @Column(nullable = false)
+    private long threeStar;
+
+    @Column(nullable = false)
+    private long fourStar;
+
+    @Column(nullable = false)
+    private long fiveStar;
+
+    /** Reviews with recommend = true. */
+    @Column(nullable = false)
+    private long recommendCount;
+
+    public static ListingRatingStats empty(Long listingId) {
+        return ListingRatingStats.builder().listingId(listingId).build();
+    }
+
+    public static ListingRatingStats from(Long listingId, ListingRatingHistogramView view) {
+        return ListingRatingStats.builder()
+                .listingId(listingId)
+                .oneStar(view.getOneStar())
+                .twoStar(view.getTwoStar())
+                .threeStar(view.getThreeStar())
+                .fourStar(view.getFourStar())
+                .fiveStar(view.getFiveStar())
+                .recommendCount(view.getRecommendCount())
+                .build();
+    }
+
+    /** Count per star value, indexed 0..4 for one to five stars. */
+    public long[] getHistogram() {
+        return new long[]{oneStar, twoStar, threeStar, fourStar, fiveStar};
+    }
+
+    public long getTotalReviews() {
+        return oneStar + twoStar + threeStar + fourStar + fiveStar;
+    }
+
+    public double getAverageRating() {
+        long total = getTotalReviews();
+        return total == 0 ? 0.0 : (oneStar + 2 * twoStar + 3 * threeStar + 4 * fourStar + 5 * fiveStar) / (double) total;
+    }
+}
@@ -0,0 +1,54 @@
+package com.hyperlocal.backend.marketplace.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed borrow request its borrower has not reviewed yet. Inserted when the owner marks the
+ * request complete and deleted when the review is posted, so listing a user's pending reviews is an
+ * index lookup instead of a scan of their completed requests.
+ */
+@Entity
+@Table(
+        name = "pending_reviews",
+        indexes = @Index(name = "idx_pending_reviews_reviewer", columnList = "reviewer_user_id, requested_at")
+)
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingReview {
+
+    /** The completed borrow request; at most one review per transaction, so at most one row. */
+    @Id
+    @Column(name = "transaction_id")
+    private Long transactionId;
+
+    @Column(name = "reviewer_user_id", nullable = false, updatable = false)
+    private Long reviewerId;
+
+    @Column(name = "listing_id", nullable = false, updatable = false)
+    private Long listingId;
+
+    @Column(name = "owner_user_id", nullable = false, updatable = false)
+    private Long ownerId;
+
+    /** Copied from the request so the pending list keeps its newest-request-first order. */
+    @Column(name = "requested_at", nullable = false, updatable = false)
+    private LocalDateTime requestedAt;
+
+    public static PendingReview of(BorrowRequest request) {
+        return PendingReview.builder()
+                .transactionId(request.getId())
+                .reviewerId(request.getRequesterId())
+                .listingId(request.getListingId())
+                .ownerId(request.getOwnerId())
+                .requestedAt(request.getRequestedAt())
+                .build();
+    }
+}
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
                 @UniqueConstraint(name = "uk_review_transaction", columnNames = "transaction_id")
         },
         indexes = {
-                @Index(name = "idx_reviews_listing", columnList = "listing_id"),
+                @Index(name = "idx_reviews_listing_created", columnList = "listing_id, created_at, id"),
                 @Index(name = "idx_reviews_reviewer", columnList = "reviewer_user_id"),
                 @Index(name = "idx_reviews_reviewee", columnList = "reviewee_user_id")
         }
@@ -46,6 +46,10 @@ public class Review {
     @JoinColumn(name = "reviewer_user_id", nullable = false, updatable = false)
     private User reviewer;
 
+    /** Copied from the reviewer at write time; reviews are immutable, so the feed never joins users. */
+    @Column(name = "reviewer_name", updatable = false)
+    private String reviewerName;
+
     /**
      * The user being reviewed (the listing owner).
      * Generates FK: reviews.reviewee_user_id -> users.id
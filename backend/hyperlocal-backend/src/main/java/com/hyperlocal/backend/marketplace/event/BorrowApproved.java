@@ -0,0 +1,15 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+import java.util.List;
+
+/** The owner approved a request; overlapping pending requests were rejected in the same transaction. */
+public record BorrowApproved(Long requestId, Long listingId, Long requesterId, Long ownerId,
+                             List<Long> autoRejectedRequestIds) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return requestId;
+    }
+}
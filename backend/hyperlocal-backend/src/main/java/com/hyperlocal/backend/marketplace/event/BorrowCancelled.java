@@ -0,0 +1,13 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** The requester cancelled a pending or approved request. */
+public record BorrowCancelled(Long requestId, Long listingId, Long requesterId, Long ownerId,
+                              boolean wasApproved) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return requestId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** The owner rejected a pending request. */
+public record BorrowRejected(Long requestId, Long listingId, Long requesterId, Long ownerId) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return requestId;
+    }
+}
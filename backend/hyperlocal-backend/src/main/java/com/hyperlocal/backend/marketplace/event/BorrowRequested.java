@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** A member asked to borrow a listing. */
+public record BorrowRequested(Long requestId, Long listingId, Long requesterId, Long ownerId) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return requestId;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** A listing was created. */
+public record ListingCreated(Long listingId, Long ownerId, Long communityId, String category) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return listingId;
+    }
+}
@@ -0,0 +1,13 @@
+package com.hyperlocal.backend.marketplace.event;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+
+/** The borrower reviewed a completed transaction. */
+public record ReviewPosted(Long reviewId, Long transactionId, Long listingId, Long reviewerId, Long revieweeId,
+                           int rating) implements DomainEvent {
+
+    @Override
+    public Long aggregateId() {
+        return reviewId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.hyperlocal.backend.marketplace.repository;
 
-import com.hyperlocal.backend.marketplace.dto.PendingReviewResponse;
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestResponse;
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestStatusCountView;
 import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
 import org.springframework.data.domain.Page;
@@ -16,20 +17,84 @@ import java.util.List;
 @Repository
 public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Long> {
 
-    Page<BorrowRequest> findByRequester_IdOrderByRequestedAtDesc(Long requesterId, Pageable pageable);
-
-    Page<BorrowRequest> findByRequester_IdAndStatusOrderByRequestedAtDesc(
-            Long requesterId, BorrowRequestStatus status, Pageable pageable);
-
-    Page<BorrowRequest> findByOwner_IdOrderByRequestedAtDesc(Long ownerId, Pageable pageable);
-
-    Page<BorrowRequest> findByOwner_IdAndStatusOrderByRequestedAtDesc(
-            Long ownerId, BorrowRequestStatus status, Pageable pageable);
+    /**
+     * Response rows for the request lists, with listing title, requester name/trust and owner name
+     * joined in, so a page costs one query plus the count.
+     */
+    String RESPONSE_ROWS = """
+            select new com.hyperlocal.backend.marketplace.dto.BorrowRequestResponse(
+                br.id,
+                br.listingId,
+                requester.id,
+                requester.trustIndex,
+                requester.trustXp,
+                owner.id,
+                owner.name,
+                requester.name,
+                l.title,
+                br.startDate,
+                br.endDate,
+                br.message,
+                br.status,
+                br.requestedAt,
+                br.approvedAt,
+                br.returnedAt,
+                br.rejectionReason
+            )
+            from BorrowRequest br
+            join br.requester requester
+            join br.owner owner
+            left join com.hyperlocal.backend.marketplace.entity.Listing l on l.id = br.listingId
+            """;
 
-    Page<BorrowRequest> findByOwner_IdAndListingIdOrderByRequestedAtDesc(Long ownerId, Long listingId, Pageable pageable);
+    @Query(value = RESPONSE_ROWS + """
+            where requester.id = :requesterId
+              and (:status is null or br.status = :status)
+            order by br.requestedAt desc
+            """,
+            countQuery = """
+            select count(br) from BorrowRequest br
+            where br.requester.id = :requesterId
+              and (:status is null or br.status = :status)
+            """)
+    Page<BorrowRequestResponse> findResponsesByRequester(
+            @Param("requesterId") Long requesterId,
+            @Param("status") BorrowRequestStatus status,
+            Pageable pageable);
 
-    Page<BorrowRequest> findByOwner_IdAndListingIdAndStatusOrderByRequestedAtDesc(
-            Long ownerId, Long listingId, BorrowRequestStatus status, Pageable pageable);
+    @Query(value = RESPONSE_ROWS + """
+            where owner.id = :ownerId
+              and (:listingId is null or br.listingId = :listingId)
+              and (:status is null or br.status = :status)
+            order by br.requestedAt desc
+            """,
+            countQuery = """
+            select count(br) from BorrowRequest br
+            where br.owner.id = :ownerId
+              and (:listingId is null or br.listingId = :listingId)
+              and (:status is null or br.status = :status)
+            """)
+    Page<BorrowRequestResponse> findResponsesByOwner(
+            @Param("ownerId") Long ownerId,
+            @Param("listingId") Long listingId,
+            @Param("status") BorrowRequestStatus status,
+            Pageable pageable);
+
+    /**
+     * Per-status counts in both directions for one user. Each branch of the union is served by
+     * its own (owner_id, status) or (requester_id, status) index, which an OR over both columns would not.
+     */
+    @Query("""
+            select 'INCOMING' as direction, br.status as status, count(br) as total,
+                   sum(case when br.startDate <= :today then 1 else 0 end) as started
+            from BorrowRequest br where br.owner.id = :userId group by br.status
+            union all
+            select 'OUTGOING' as direction, br.status as status, count(br) as total,
+                   sum(case when br.startDate <= :today then 1 else 0 end) as started
+            from BorrowRequest br where br.requester.id = :userId group by br.status
+            """)
+    List<BorrowRequestStatusCountView> countByDirectionAndStatus(
+            @Param("userId") Long userId, @Param("today") LocalDate today);
 
     boolean existsByListingIdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
             Long listingId, BorrowRequestStatus status, LocalDate endDate, LocalDate startDate);
@@ -54,28 +119,4 @@ public interface BorrowRequestRepository extends JpaRepository<BorrowRequest, Lo
     long countByRequester_IdAndStatusAndApprovedAtIsNotNull(Long requesterId, BorrowRequestStatus status);
 
     List<BorrowRequest> findByRequester_IdAndStatus(Long requesterId, BorrowRequestStatus status);
-
-    @Query("""
-            select new com.hyperlocal.backend.marketplace.dto.PendingReviewResponse(
-                br.id,
-                l.id,
-                l.title,
-                owner.id,
-                owner.name
-            )
-            from BorrowRequest br
-            join com.hyperlocal.backend.marketplace.entity.Listing l on l.id = br.listingId
-            join br.owner owner
-            where br.requester.id = :requesterId
-              and br.status = :status
-              and not exists (
-                    select 1
-                    from com.hyperlocal.backend.marketplace.entity.Review r
-                    where r.transactionId = br.id
-              )
-            order by br.requestedAt desc
-            """)
-    List<PendingReviewResponse> findPendingReviewTransactions(
-            @Param("requesterId") Long requesterId,
-            @Param("status") BorrowRequestStatus status);
 }
@@ -0,0 +1,38 @@
+package com.hyperlocal.backend.marketplace.repository;
+
+import com.hyperlocal.backend.marketplace.entity.ListingRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ListingRatingStatsRepository extends JpaRepository<ListingRatingStats, Long> {
+
+    /**
+     * Adds one review. Returns 0 if the listing has no stats row yet.
+     */
+    default int addRating(Long listingId, int rating, boolean recommend) {
+        return addCounts(listingId, rating == 1 ? 1 : 0, rating == 2 ? 1 : 0, rating == 3 ? 1 : 0,
+                rating == 4 ? 1 : 0, rating == 5 ? 1 : 0, recommend ? 1 : 0);
+    }
+
+    /** A single UPDATE, so concurrent reviews of the same listing never lose an increment. */
+    @Modifying
+    @Query("""
+            UPDATE ListingRatingStats s
+            SET s.oneStar = s.oneStar + :one,
+                s.twoStar = s.twoStar + :two,
+                s.threeStar = s.threeStar + :three,
+                s.fourStar = s.fourStar + :four,
+                s.fiveStar = s.fiveStar + :five,
+                s.recommendCount = s.recommendCount + :recommend
+            WHERE s.listingId = :listingId
+            """)
+    int addCounts(@Param("listingId") Long listingId, @Param("one") long one, @Param("two") long two,
+                  @Param("three") long three, @Param("four") long four, @Param("five") long five,
+                  @Param("recommend") long recommend);
+
+    @Modifying
+    @Query("DELETE FROM ListingRatingStats s WHERE s.listingId = :listingId")
+    int deleteByListingId(@Param("listingId") Long listingId);
+}
@@ -1,11 +1,17 @@
 package com.hyperlocal.backend.marketplace.repository;
 
+import com.hyperlocal.backend.marketplace.dto.ListingStatusCountView;
 import com.hyperlocal.backend.marketplace.entity.Listing;
 import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,5 +20,22 @@ public interface ListingRepository extends JpaRepository<Listing, Long>, JpaSpec
     /** All listings by a specific owner, optionally filtered by status */
     List<Listing> findByOwner_IdOrderByCreatedAtDesc(Long ownerId);
 
+    long countByOwner_Id(Long ownerId);
+
     List<Listing> findByOwner_IdAndStatusOrderByCreatedAtDesc(Long ownerId, ListingStatus status);
+
+    Page<Listing> findByOwner_Id(Long ownerId, Pageable pageable);
+
+    Page<Listing> findByOwner_IdAndStatus(Long ownerId, ListingStatus status, Pageable pageable);
+
+    /** Number of listings an owner has in each status, in one grouped query */
+    @Query("SELECT l.status AS status, COUNT(l) AS total FROM Listing l WHERE l.owner.id = :ownerId GROUP BY l.status")
+    List<ListingStatusCountView> countByStatusForOwner(@Param("ownerId") Long ownerId);
+
+    /**
+     * Initializes the images of already-loaded listings with one join query instead of one
+     * query per listing. Fetched separately from the page so pagination stays in the database.
+     */
+    @Query("SELECT DISTINCT l FROM Listing l LEFT JOIN FETCH l.images WHERE l.id IN :ids")
+    List<Listing> fetchImages(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,46 @@
+package com.hyperlocal.backend.marketplace.repository;
+
+import com.hyperlocal.backend.marketplace.dto.PendingReviewResponse;
+import com.hyperlocal.backend.marketplace.entity.PendingReview;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PendingReviewRepository extends JpaRepository<PendingReview, Long> {
+
+    /**
+     * The reviewer's queue, newest request first. A row the backfill inserted while its review was
+     * being posted is left behind; the review check (a unique-index lookup) hides it.
+     */
+    @Query("""
+            select new com.hyperlocal.backend.marketplace.dto.PendingReviewResponse(
+                p.transactionId,
+                l.id,
+                l.title,
+                owner.id,
+                owner.name
+            )
+            from PendingReview p
+            join com.hyperlocal.backend.marketplace.entity.Listing l on l.id = p.listingId
+            join com.hyperlocal.backend.user.entity.User owner on owner.id = p.ownerId
+            where p.reviewerId = :reviewerId
+              and not exists (
+                  select 1 from com.hyperlocal.backend.marketplace.entity.Review r
+                  where r.transactionId = p.transactionId
+              )
+            order by p.requestedAt desc
+            """)
+    List<PendingReviewResponse> findPendingReviews(@Param("reviewerId") Long reviewerId);
+
+    @Modifying
+    @Query("DELETE FROM PendingReview p WHERE p.transactionId = :transactionId")
+    int deleteByTransactionId(@Param("transactionId") Long transactionId);
+
+    /** A deleted listing can no longer be reviewed. */
+    @Modifying
+    @Query("DELETE FROM PendingReview p WHERE p.listingId = :listingId")
+    int deleteByListingId(@Param("listingId") Long listingId);
+}
@@ -1,16 +1,16 @@
 package com.hyperlocal.backend.marketplace.repository;
 
 import com.hyperlocal.backend.marketplace.dto.ListingAverageRatingView;
+import com.hyperlocal.backend.marketplace.dto.ListingRatingHistogramView;
 import com.hyperlocal.backend.marketplace.dto.ListingReviewItemResponse;
-import com.hyperlocal.backend.marketplace.dto.ListingReviewSummaryView;
 import com.hyperlocal.backend.marketplace.entity.Review;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,9 +22,14 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     long countByReviewee_IdAndRatingLessThanEqual(Long revieweeUserId, Integer rating);
 
+    /**
+     * Newest first; the Pageable only carries the limit. Reviews from before the reviewer_name column
+     * fall back to the reviewer's current name until ReviewDenormalizationBackfill has run.
+     */
     @Query("""
             select new com.hyperlocal.backend.marketplace.dto.ListingReviewItemResponse(
-                r.reviewer.name,
+                r.id,
+                coalesce(r.reviewerName, (select u.name from User u where u.id = r.reviewer.id)),
                 r.rating,
                 r.comment,
                 r.recommend,
@@ -32,17 +37,44 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
             )
             from Review r
             where r.listingId = :listingId
+            order by r.createdAt desc, r.id desc
             """)
-    Page<ListingReviewItemResponse> findListingReviewItems(@Param("listingId") Long listingId, Pageable pageable);
+    List<ListingReviewItemResponse> findListingReviewFeed(@Param("listingId") Long listingId, Pageable limit);
 
+    /** The reviews after the (createdAt, id) cursor in {@link #findListingReviewFeed} order. */
+    @Query("""
+            select new com.hyperlocal.backend.marketplace.dto.ListingReviewItemResponse(
+                r.id,
+                coalesce(r.reviewerName, (select u.name from User u where u.id = r.reviewer.id)),
+                r.rating,
+                r.comment,
+                r.recommend,
+                r.createdAt
+            )
+            from Review r
+            where r.listingId = :listingId
+              and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id))
+            order by r.createdAt desc, r.id desc
+            """)
+    List<ListingReviewItemResponse> findListingReviewFeedAfter(
+            @Param("listingId") Long listingId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable limit);
+
+    /** Source of truth for {@code ListingRatingStats}; one row even when the listing has no reviews. */
     @Query("""
             select
-                coalesce(avg(r.rating), 0.0) as averageRating,
-                count(r) as totalReviews
+                coalesce(sum(case when r.rating = 1 then 1 else 0 end), 0) as oneStar,
+                coalesce(sum(case when r.rating = 2 then 1 else 0 end), 0) as twoStar,
+                coalesce(sum(case when r.rating = 3 then 1 else 0 end), 0) as threeStar,
+                coalesce(sum(case when r.rating = 4 then 1 else 0 end), 0) as fourStar,
+                coalesce(sum(case when r.rating = 5 then 1 else 0 end), 0) as fiveStar,
+                coalesce(sum(case when r.recommend = true then 1 else 0 end), 0) as recommendCount
             from Review r
             where r.listingId = :listingId
             """)
-    ListingReviewSummaryView getListingReviewSummary(@Param("listingId") Long listingId);
+    ListingRatingHistogramView computeRatingHistogram(@Param("listingId") Long listingId);
 
     @Query("""
             select
@@ -0,0 +1,104 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestCountsResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived per-user cache of {@link BorrowRequestCountsResponse}, local to this instance.
+ *
+ * BorrowRequestService invalidates both parties after every state transition commits. An
+ * invalidation leaves a marker, and a value loaded before the marker is not stored, so a read racing
+ * a commit cannot put the old counts back, provided it reads from the primary (a replica may still
+ * return the old counts after the marker). Other instances only see the change once their entry
+ * expires, so app.borrow-requests.counts-cache.ttl bounds the staleness across instances.
+ */
+@Component
+@RequiredArgsConstructor
+public class BorrowRequestCountsCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.borrow-requests.counts-cache.ttl:PT30S}")
+    private Duration ttl;
+
+    /** An entry with a null value is an invalidation marker. Times are System.nanoTime(). */
+    private record Entry(BorrowRequestCountsResponse value, long createdAt) {
+    }
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        hits = counter("hit");
+        misses = counter("miss");
+        Gauge.builder("borrow.request.counts.cache.size", entries, Map::size)
+                .description("Users with cached borrow request counts or pending invalidations")
+                .register(meterRegistry);
+    }
+
+    public BorrowRequestCountsResponse get(Long userId, Supplier<BorrowRequestCountsResponse> loader) {
+        long loadStart = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.value() != null && loadStart - entry.createdAt() < ttl.toNanos()) {
+            hits.increment();
+            return entry.value();
+        }
+
+        misses.increment();
+        BorrowRequestCountsResponse value = loader.get();
+        entries.compute(userId, (id, current) ->
+                current == null || current.createdAt() < loadStart ? new Entry(value, loadStart) : current);
+        return value;
+    }
+
+    /** Drops the users' entries once the current transaction commits (immediately without one). */
+    public void invalidateAfterCommit(Collection<Long> userIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userIds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userIds);
+            }
+        });
+    }
+
+    private void invalidate(Collection<Long> userIds) {
+        long now = System.nanoTime();
+        for (Long userId : userIds) {
+            entries.put(userId, new Entry(null, now));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.borrow-requests.counts-cache.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.createdAt() >= ttl.toNanos());
+    }
+
+    private Counter counter(String outcome) {
+        return Counter.builder("borrow.request.counts.cache")
+                .description("Borrow request count lookups by cache outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
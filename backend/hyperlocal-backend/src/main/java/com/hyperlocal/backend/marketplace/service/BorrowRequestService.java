@@ -1,43 +1,59 @@
 package com.hyperlocal.backend.marketplace.service;
 
+import com.hyperlocal.backend.common.dto.FieldSet;
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.BusinessMetrics;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
+import com.hyperlocal.backend.common.outbox.OutboxPublisher;
 import com.hyperlocal.backend.community.enums.MemberStatus;
 import com.hyperlocal.backend.community.repository.CommunityMemberRepository;
 import com.hyperlocal.backend.marketplace.dto.*;
 import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
 import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.PendingReview;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
 import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import com.hyperlocal.backend.marketplace.event.BorrowApproved;
+import com.hyperlocal.backend.marketplace.event.BorrowCancelled;
+import com.hyperlocal.backend.marketplace.event.BorrowCompleted;
+import com.hyperlocal.backend.marketplace.event.BorrowRejected;
+import com.hyperlocal.backend.marketplace.event.BorrowRequested;
 import com.hyperlocal.backend.marketplace.repository.BorrowRequestRepository;
 import com.hyperlocal.backend.marketplace.repository.ListingRepository;
-import com.hyperlocal.backend.user.service.TrustScoreService;
+import com.hyperlocal.backend.marketplace.repository.PendingReviewRepository;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.hyperlocal.backend.user.service.UserStatsService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class BorrowRequestService {
 
     private final BorrowRequestRepository borrowRequestRepository;
     private final ListingRepository listingRepository;
+    private final PendingReviewRepository pendingReviewRepository;
     private final CommunityMemberRepository communityMemberRepository;
     private final UserRepository userRepository;
-    private final TrustScoreService trustScoreService;
+    private final OutboxPublisher outboxPublisher;
+    private final BusinessMetrics businessMetrics;
+    private final UserStatsService userStatsService;
+    private final BorrowRequestCountsCache countsCache;
 
     @Transactional
     public BorrowRequestResponse createRequest(CreateBorrowRequestRequest request) {
@@ -84,45 +100,75 @@ public class BorrowRequestService {
                 .status(BorrowRequestStatus.PENDING)
                 .build();
 
-        return toResponse(borrowRequestRepository.save(borrowRequest));
+        BorrowRequest saved = borrowRequestRepository.save(borrowRequest);
+        outboxPublisher.publish(new BorrowRequested(
+                saved.getId(), saved.getListingId(), currentUser.getId(), listingOwner.getId()));
+        invalidateCounts(saved);
+        return toResponse(saved);
     }
 
+    /**
+     * Per-status counts of the current user's incoming and outgoing requests, for dashboard badges.
+     * Not read-only on purpose: values are cached, so they are loaded from the primary; a lagging
+     * replica could return counts from before the last invalidation and keep them cached for the TTL.
+     */
     @Transactional
-    public PagedResponseDto<BorrowRequestResponse> getMyRequests(BorrowRequestStatus status, int page, int size) {
+    public BorrowRequestCountsResponse getRequestCounts() {
         User currentUser = getAuthenticatedUser();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("requestedAt").descending());
+        return countsCache.get(currentUser.getId(), () -> loadRequestCounts(currentUser.getId()));
+    }
 
-        Page<BorrowRequest> requests = status == null
-                ? borrowRequestRepository.findByRequester_IdOrderByRequestedAtDesc(currentUser.getId(), pageable)
-                : borrowRequestRepository.findByRequester_IdAndStatusOrderByRequestedAtDesc(currentUser.getId(), status, pageable);
+    private BorrowRequestCountsResponse loadRequestCounts(Long userId) {
+        Map<BorrowRequestStatus, Long> incoming = new EnumMap<>(BorrowRequestStatus.class);
+        Map<BorrowRequestStatus, Long> outgoing = new EnumMap<>(BorrowRequestStatus.class);
+        for (BorrowRequestStatus status : BorrowRequestStatus.values()) {
+            incoming.put(status, 0L);
+            outgoing.put(status, 0L);
+        }
 
-        return toPagedResponse(requests, true);
+        long activeIncoming = 0;
+        long activeOutgoing = 0;
+        for (BorrowRequestStatusCountView row : borrowRequestRepository.countByDirectionAndStatus(userId, LocalDate.now())) {
+            BorrowRequestStatus status = row.getStatus();
+            long active = status == BorrowRequestStatus.APPROVED ? row.getStarted() : 0;
+            if ("INCOMING".equals(row.getDirection())) {
+                incoming.put(status, row.getTotal());
+                activeIncoming += active;
+            } else {
+                outgoing.put(status, row.getTotal());
+                activeOutgoing += active;
+            }
+        }
+
+        return BorrowRequestCountsResponse.builder()
+                .incoming(incoming)
+                .outgoing(outgoing)
+                .activeIncoming(activeIncoming)
+                .activeOutgoing(activeOutgoing)
+                .build();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    public PagedResponseDto<BorrowRequestResponse> getMyRequests(
+            BorrowRequestStatus status, int page, int size, FieldSet fields) {
+        User currentUser = getAuthenticatedUser();
+        Page<BorrowRequestResponse> requests = borrowRequestRepository.findResponsesByRequester(
+                currentUser.getId(), status, PageRequest.of(page, size));
+
+        return toPagedResponse(requests, true, fields);
+    }
+
+    @Transactional(readOnly = true)
     public PagedResponseDto<BorrowRequestResponse> getIncomingRequests(
-            BorrowRequestStatus status, Long listingId, int page, int size) {
+            BorrowRequestStatus status, Long listingId, int page, int size, FieldSet fields) {
         User currentUser = getAuthenticatedUser();
-        Pageable pageable = PageRequest.of(page, size, Sort.by("requestedAt").descending());
-
-        Page<BorrowRequest> requests;
-        if (listingId != null && status != null) {
-            requests = borrowRequestRepository.findByOwner_IdAndListingIdAndStatusOrderByRequestedAtDesc(
-                    currentUser.getId(), listingId, status, pageable);
-        } else if (listingId != null) {
-            requests = borrowRequestRepository.findByOwner_IdAndListingIdOrderByRequestedAtDesc(
-                    currentUser.getId(), listingId, pageable);
-        } else if (status != null) {
-            requests = borrowRequestRepository.findByOwner_IdAndStatusOrderByRequestedAtDesc(
-                    currentUser.getId(), status, pageable);
-        } else {
-            requests = borrowRequestRepository.findByOwner_IdOrderByRequestedAtDesc(currentUser.getId(), pageable);
-        }
+        Page<BorrowRequestResponse> requests = borrowRequestRepository.findResponsesByOwner(
+                currentUser.getId(), listingId, status, PageRequest.of(page, size));
 
-        return toPagedResponse(requests, false);
+        return toPagedResponse(requests, false, fields);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public BorrowRequestResponse getRequestById(Long requestId) {
         User currentUser = getAuthenticatedUser();
         BorrowRequest request = getRequestOrThrow(requestId);
@@ -151,22 +197,34 @@ public class BorrowRequestService {
         request.setStatus(BorrowRequestStatus.APPROVED);
         request.setApprovedAt(LocalDateTime.now());
 
+        ListingStatus previous = listing.getStatus();
         listing.setStatus(ListingStatus.BORROWED);
         listingRepository.save(listing);
+        userStatsService.listingStatusChanged(listing.getOwnerId(), previous, ListingStatus.BORROWED);
 
         List<BorrowRequest> overlappingPending = borrowRequestRepository
                 .findByListingIdAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
                         request.getListingId(), BorrowRequestStatus.PENDING, request.getEndDate(), request.getStartDate());
 
+        List<Long> autoRejectedIds = new ArrayList<>();
         for (BorrowRequest pending : overlappingPending) {
             if (!pending.getId().equals(request.getId())) {
                 pending.setStatus(BorrowRequestStatus.REJECTED);
                 pending.setRejectedAt(LocalDateTime.now());
                 pending.setRejectionReason("Auto-rejected due to overlap with approved request #" + request.getId());
+                autoRejectedIds.add(pending.getId());
             }
         }
 
         borrowRequestRepository.saveAll(overlappingPending);
+        invalidateCounts(request);
+        countsCache.invalidateAfterCommit(overlappingPending.stream().map(BorrowRequest::getRequesterId).toList());
+        outboxPublisher.publish(new BorrowApproved(
+                request.getId(), request.getListingId(), request.getRequesterId(), request.getOwnerId(), autoRejectedIds));
+        businessMetrics.borrowRequestDecided("approved", 1);
+        if (!autoRejectedIds.isEmpty()) {
+            businessMetrics.borrowRequestDecided("auto_rejected", autoRejectedIds.size());
+        }
         return toResponse(borrowRequestRepository.save(request));
     }
 
@@ -183,6 +241,10 @@ public class BorrowRequestService {
             request.setRejectionReason(requestBody.getReason());
         }
 
+        outboxPublisher.publish(new BorrowRejected(
+                request.getId(), request.getListingId(), request.getRequesterId(), request.getOwnerId()));
+        invalidateCounts(request);
+        businessMetrics.borrowRequestDecided("rejected", 1);
         return toResponse(borrowRequestRepository.save(request));
     }
 
@@ -200,7 +262,9 @@ public class BorrowRequestService {
             request.setStatus(BorrowRequestStatus.CANCELLED);
             request.setCancelledAt(LocalDateTime.now());
             BorrowRequest savedRequest = borrowRequestRepository.save(request);
-            trustScoreService.recalculateAndPersist(request.getRequesterId());
+            outboxPublisher.publish(new BorrowCancelled(
+                    request.getId(), request.getListingId(), request.getRequesterId(), request.getOwnerId(), false));
+            invalidateCounts(request);
             return toResponse(savedRequest);
         }
 
@@ -216,12 +280,16 @@ public class BorrowRequestService {
 
             if (!borrowRequestRepository.existsByListingIdAndStatus(request.getListingId(), BorrowRequestStatus.APPROVED)) {
                 listingRepository.findById(request.getListingId()).ifPresent(listing -> {
+                    ListingStatus previous = listing.getStatus();
                     listing.setStatus(ListingStatus.AVAILABLE);
                     listingRepository.save(listing);
+                    userStatsService.listingStatusChanged(listing.getOwnerId(), previous, ListingStatus.AVAILABLE);
                 });
             }
 
-            trustScoreService.recalculateAndPersist(request.getRequesterId());
+            outboxPublisher.publish(new BorrowCancelled(
+                    request.getId(), request.getListingId(), request.getRequesterId(), request.getOwnerId(), true));
+            invalidateCounts(request);
             return toResponse(request);
         }
 
@@ -247,16 +315,22 @@ public class BorrowRequestService {
         request.setStatus(BorrowRequestStatus.COMPLETED);
         request.setReturnedAt(LocalDateTime.now());
 
+        ListingStatus previous = listing.getStatus();
         listing.setStatus(ListingStatus.AVAILABLE);
         listingRepository.save(listing);
+        userStatsService.listingStatusChanged(listing.getOwnerId(), previous, ListingStatus.AVAILABLE);
 
         BorrowRequest savedRequest = borrowRequestRepository.save(request);
-        trustScoreService.recalculateAndPersist(request.getRequesterId());
+        pendingReviewRepository.save(PendingReview.of(savedRequest));
+        userStatsService.borrowCompleted(request.getOwnerId(), request.getRequesterId());
+        outboxPublisher.publish(new BorrowCompleted(
+                request.getId(), request.getListingId(), request.getRequesterId(), request.getOwnerId()));
+        invalidateCounts(request);
 
         return toResponse(savedRequest);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public ListingAvailabilityResponse getListingAvailability(Long listingId, LocalDate fromDate, LocalDate toDate) {
         Listing listing = listingRepository.findById(listingId)
                 .orElseThrow(CustomExceptions.ListingNotFoundException::new);
@@ -342,29 +416,16 @@ public class BorrowRequestService {
         }
     }
 
-    private BorrowRequestResponse toResponse(BorrowRequest request) {
-        return toResponse(request, null, null, null, null, null, true);
+    private void invalidateCounts(BorrowRequest request) {
+        countsCache.invalidateAfterCommit(List.of(request.getRequesterId(), request.getOwnerId()));
     }
 
-    private BorrowRequestResponse toResponse(
-            BorrowRequest request,
-            String requesterName,
-            String ownerName,
-            String listingTitle,
-            Integer requesterTrustIndex,
-            Integer requesterTrustXp,
-            boolean includeOwnerDetails
-    ) {
+    private static BorrowRequestResponse toResponse(BorrowRequest request) {
         return BorrowRequestResponse.builder()
                 .id(request.getId())
                 .listingId(request.getListingId())
                 .requesterId(request.getRequesterId())
-                .requesterTrustIndex(requesterTrustIndex)
-                .requesterTrustXp(requesterTrustXp)
-                .ownerId(includeOwnerDetails ? request.getOwnerId() : null)
-                .ownerName(includeOwnerDetails ? ownerName : null)
-                .requesterName(requesterName)
-                .listingTitle(listingTitle)
+                .ownerId(request.getOwnerId())
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .message(request.getMessage())
@@ -376,70 +437,36 @@ public class BorrowRequestService {
                 .build();
     }
 
-    private PagedResponseDto<BorrowRequestResponse> toPagedResponse(
-            Page<BorrowRequest> requestPage,
-            boolean includeOwnerDetails
+    /**
+     * The rows already carry the joined names; this only drops what the caller may not see or did not select.
+     */
+    static PagedResponseDto<BorrowRequestResponse> toPagedResponse(
+            Page<BorrowRequestResponse> requestPage,
+            boolean includeOwnerDetails,
+            FieldSet fields
     ) {
-        List<BorrowRequest> requests = requestPage.getContent();
-        if (requests.isEmpty()) {
-            return PagedResponseDto.from(requestPage.map(this::toResponse));
+        if (includeOwnerDetails && fields == FieldSet.ALL) {
+            return PagedResponseDto.from(requestPage);
         }
-
-        var listingTitles = listingRepository.findAllById(extractListingIds(requests)).stream()
-                .collect(Collectors.toMap(Listing::getId, Listing::getTitle));
-
-        var requesterUsers = userRepository.findAllById(extractRequesterIds(requests)).stream()
-                .collect(Collectors.toMap(User::getId, user -> user));
-
-        var ownerNames = includeOwnerDetails
-                ? userRepository.findAllById(extractOwnerIds(requests)).stream()
-                        .collect(Collectors.toMap(User::getId, User::getName))
-                : java.util.Collections.<Long, String>emptyMap();
-
-        List<BorrowRequestResponse> content = requests.stream()
-                .map(request -> toResponse(
-                        request,
-                        requesterUsers.get(request.getRequesterId()) != null
-                                ? requesterUsers.get(request.getRequesterId()).getName()
-                                : null,
-                        ownerNames.get(request.getOwnerId()),
-                        listingTitles.get(request.getListingId()),
-                        requesterUsers.get(request.getRequesterId()) != null
-                                ? requesterUsers.get(request.getRequesterId()).getTrustIndex()
-                                : null,
-                        requesterUsers.get(request.getRequesterId()) != null
-                                ? requesterUsers.get(request.getRequesterId()).getTrustXp()
-                                : null,
-                        includeOwnerDetails
-                ))
-                .toList();
-
-        return PagedResponseDto.<BorrowRequestResponse>builder()
-                .content(content)
-                .pageNumber(requestPage.getNumber())
-                .pageSize(requestPage.getSize())
-                .totalElements(requestPage.getTotalElements())
-                .totalPages(requestPage.getTotalPages())
-                .last(requestPage.isLast())
-                .build();
-    }
-
-    private Set<Long> extractListingIds(List<BorrowRequest> requests) {
-        return requests.stream()
-                .map(BorrowRequest::getListingId)
-                .collect(Collectors.toSet());
-    }
-
-    private Set<Long> extractRequesterIds(List<BorrowRequest> requests) {
-        return requests.stream()
-                .map(BorrowRequest::getRequesterId)
-                .collect(Collectors.toSet());
-    }
-
-    private Set<Long> extractOwnerIds(List<BorrowRequest> requests) {
-        return requests.stream()
-                .map(BorrowRequest::getOwnerId)
-                .collect(Collectors.toSet());
+        return PagedResponseDto.from(requestPage.map(row -> BorrowRequestResponse.builder()
+                .id(row.getId())
+                .listingId(fields.pick(BorrowRequestResponse.LISTING_ID, row::getListingId))
+                .requesterId(fields.pick(BorrowRequestResponse.REQUESTER_ID, row::getRequesterId))
+                .requesterTrustIndex(fields.pick(BorrowRequestResponse.REQUESTER_TRUST_INDEX, row::getRequesterTrustIndex))
+                .requesterTrustXp(fields.pick(BorrowRequestResponse.REQUESTER_TRUST_XP, row::getRequesterTrustXp))
+                .ownerId(includeOwnerDetails ? fields.pick(BorrowRequestResponse.OWNER_ID, row::getOwnerId) : null)
+                .ownerName(includeOwnerDetails ? fields.pick(BorrowRequestResponse.OWNER_NAME, row::getOwnerName) : null)
+                .requesterName(fields.pick(BorrowRequestResponse.REQUESTER_NAME, row::getRequesterName))
+                .listingTitle(fields.pick(BorrowRequestResponse.LISTING_TITLE, row::getListingTitle))
+                .startDate(fields.pick(BorrowRequestResponse.START_DATE, row::getStartDate))
+                .endDate(fields.pick(BorrowRequestResponse.END_DATE, row::getEndDate))
+                .message(fields.pick(BorrowRequestResponse.MESSAGE, row::getMessage))
+                .status(fields.pick(BorrowRequestResponse.STATUS, row::getStatus))
+                .requestedAt(fields.pick(BorrowRequestResponse.REQUESTED_AT, row::getRequestedAt))
+                .approvedAt(fields.pick(BorrowRequestResponse.APPROVED_AT, row::getApprovedAt))
+                .returnedAt(fields.pick(BorrowRequestResponse.RETURNED_AT, row::getReturnedAt))
+                .rejectionReason(fields.pick(BorrowRequestResponse.REJECTION_REASON, row::getRejectionReason))
+                .build()));
     }
 
     private User getAuthenticatedUser() {
@@ -0,0 +1,104 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+import com.hyperlocal.backend.common.outbox.OutboxEventHandler;
+import com.hyperlocal.backend.common.sse.SseBroadcaster;
+import com.hyperlocal.backend.common.sse.SseSubscriberRegistry;
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestStreamEvent;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.event.BorrowApproved;
+import com.hyperlocal.backend.marketplace.event.BorrowCancelled;
+import com.hyperlocal.backend.marketplace.event.BorrowCompleted;
+import com.hyperlocal.backend.marketplace.event.BorrowRejected;
+import com.hyperlocal.backend.marketplace.event.BorrowRequested;
+import com.hyperlocal.backend.marketplace.repository.BorrowRequestRepository;
+import com.hyperlocal.backend.user.entity.User;
+import com.hyperlocal.backend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes borrow request changes to the requester and the owner over server-sent events, so the
+ * request lists no longer need to be polled. Fed by the outbox relay, which delivers each event on
+ * one instance; the pushes are broadcast in the relay's transaction so they reach streams open on
+ * any instance, and only once the event commits.
+ *
+ * Events: "request-received" (owner, new incoming request) and "request-updated" (both parties,
+ * status change including auto-rejections), plus "resync" when a reconnect missed events.
+ */
+@Service
+@RequiredArgsConstructor
+public class BorrowRequestStreamService implements OutboxEventHandler {
+
+    public static final String REQUEST_RECEIVED = "request-received";
+    public static final String REQUEST_UPDATED = "request-updated";
+
+    private final SseSubscriberRegistry sseSubscriberRegistry;
+    private final SseBroadcaster sseBroadcaster;
+    private final BorrowRequestRepository borrowRequestRepository;
+    private final UserRepository userRepository;
+
+    public SseEmitter subscribe(String lastEventId) {
+        return sseSubscriberRegistry.subscribe(getAuthenticatedUser().getId(), lastEventId);
+    }
+
+    @Override
+    public void handle(DomainEvent event) {
+        List<Push> pushes = new ArrayList<>();
+        switch (event) {
+            case BorrowRequested requested -> pushes.add(new Push(requested.ownerId(), REQUEST_RECEIVED,
+                    change(requested.requestId(), requested.listingId(), BorrowRequestStatus.PENDING)));
+            case BorrowApproved approved -> {
+                addUpdate(pushes, approved.requesterId(), approved.ownerId(),
+                        change(approved.requestId(), approved.listingId(), BorrowRequestStatus.APPROVED));
+                for (BorrowRequest rejected : borrowRequestRepository.findAllById(approved.autoRejectedRequestIds())) {
+                    addUpdate(pushes, rejected.getRequester().getId(), approved.ownerId(),
+                            change(rejected.getId(), rejected.getListingId(), BorrowRequestStatus.REJECTED));
+                }
+            }
+            case BorrowRejected rejected -> addUpdate(pushes, rejected.requesterId(), rejected.ownerId(),
+                    change(rejected.requestId(), rejected.listingId(), BorrowRequestStatus.REJECTED));
+            case BorrowCancelled cancelled -> addUpdate(pushes, cancelled.requesterId(), cancelled.ownerId(),
+                    change(cancelled.requestId(), cancelled.listingId(), BorrowRequestStatus.CANCELLED));
+            case BorrowCompleted completed -> addUpdate(pushes, completed.requesterId(), completed.ownerId(),
+                    change(completed.requestId(), completed.listingId(), BorrowRequestStatus.COMPLETED));
+            default -> {
+            }
+        }
+        pushes.forEach(push -> sseBroadcaster.publish(push.userId(), push.name(), push.data()));
+    }
+
+    private static void addUpdate(List<Push> pushes, Long requesterId, Long ownerId, BorrowRequestStreamEvent change) {
+        pushes.add(new Push(requesterId, REQUEST_UPDATED, change));
+        pushes.add(new Push(ownerId, REQUEST_UPDATED, change));
+    }
+
+    private static BorrowRequestStreamEvent change(Long requestId, Long listingId, BorrowRequestStatus status) {
+        return BorrowRequestStreamEvent.builder()
+                .requestId(requestId)
+                .listingId(listingId)
+                .status(status)
+                .occurredAt(LocalDateTime.now())
+                .build();
+    }
+
+    private User getAuthenticatedUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || "anonymousUser".equals(auth.getName())) {
+            throw new CustomExceptions.UnauthorizedAccessException();
+        }
+        return userRepository.findByEmail(auth.getName())
+                .orElseThrow(CustomExceptions.UserNotFoundException::new);
+    }
+
+    private record Push(Long userId, String name, BorrowRequestStreamEvent data) {
+    }
+}
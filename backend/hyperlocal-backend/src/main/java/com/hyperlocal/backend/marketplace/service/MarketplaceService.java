@@ -1,8 +1,13 @@
 package com.hyperlocal.backend.marketplace.service;
 
+import com.hyperlocal.backend.common.dto.FieldSet;
 import com.hyperlocal.backend.common.dto.PagedResponseDto;
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.BusinessMetrics;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
+import com.hyperlocal.backend.common.outbox.OutboxPublisher;
 import com.hyperlocal.backend.common.storage.FileStorageService;
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.community.entity.Community;
 import com.hyperlocal.backend.community.enums.MemberStatus;
 import com.hyperlocal.backend.community.repository.CommunityMemberRepository;
@@ -10,18 +15,23 @@ import com.hyperlocal.backend.community.repository.CommunityRepository;
 import com.hyperlocal.backend.marketplace.dto.*;
 import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
 import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.ListingRatingStats;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
 import com.hyperlocal.backend.marketplace.enums.ListingAvailabilityFilter;
 import com.hyperlocal.backend.marketplace.enums.ListingCategory;
 import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import com.hyperlocal.backend.marketplace.event.ListingCreated;
 import com.hyperlocal.backend.marketplace.repository.BorrowRequestRepository;
+import com.hyperlocal.backend.marketplace.repository.ListingRatingStatsRepository;
 import com.hyperlocal.backend.marketplace.repository.ListingRepository;
 import com.hyperlocal.backend.marketplace.repository.ListingSpecification;
+import com.hyperlocal.backend.marketplace.repository.PendingReviewRepository;
 import com.hyperlocal.backend.marketplace.repository.ReviewRepository;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.enums.VerificationStatus;
 import com.hyperlocal.backend.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.hyperlocal.backend.user.service.UserStatsService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -29,6 +39,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -36,22 +47,30 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class MarketplaceService {
 
     private final ListingRepository listingRepository;
+    private final PendingReviewRepository pendingReviewRepository;
+    private final ListingRatingStatsRepository listingRatingStatsRepository;
     private final CommunityRepository communityRepository;
     private final CommunityMemberRepository communityMemberRepository;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
     private final BorrowRequestRepository borrowRequestRepository;
     private final FileStorageService fileStorageService;
+    private final BusinessMetrics businessMetrics;
+    private final OutboxPublisher outboxPublisher;
+    private final UserStatsService userStatsService;
 
     // ── Create ────────────────────────────────────────────────────────────────
 
@@ -85,15 +104,24 @@ public class MarketplaceService {
                 .build();
 
         listing = listingRepository.save(listing);
+        listingRatingStatsRepository.save(ListingRatingStats.empty(listing.getId()));
+        userStatsService.listingCreated(currentUser.getId(), listing.getStatus());
+        outboxPublisher.publish(new ListingCreated(
+                listing.getId(), currentUser.getId(), listing.getCommunityId(), listing.getCategory().name()));
+        businessMetrics.listingCreated(listing.getCategory().name());
         return buildListingResponse(listing, currentUser, community);
     }
 
     // ── Browse (scoped to user's communities) ────────────────────────────────
 
-    @Transactional
+    /**
+     * Browse with a sparse fieldset: owners, communities, ratings, fully-booked flags and images
+     * are only loaded when one of the fields built from them is selected.
+     */
+    @Transactional(readOnly = true)
     public PagedResponseDto<ListingSummaryResponse> getListings(
             String search, ListingCategory category, ListingAvailabilityFilter filter,
-            Long communityId, Pageable pageable) {
+            Long communityId, Pageable pageable, FieldSet fields) {
 
         User currentUser = getAuthenticatedUser();
 
@@ -120,6 +148,7 @@ public class MarketplaceService {
 
         List<Listing> listings;
         long totalElements;
+        Map<Long, Boolean> fullBookingMap = null;
 
         if (filter == null) {
             Page<Listing> listingPage = listingRepository.findAll(spec, pageable);
@@ -127,9 +156,10 @@ public class MarketplaceService {
             totalElements = listingPage.getTotalElements();
         } else {
             List<Listing> allNonExpired = listingRepository.findAll(spec, Sort.by("createdAt").descending());
-            Map<Long, Boolean> fullBookingMap = computeIsFullyBookedMap(allNonExpired);
+            fullBookingMap = computeIsFullyBookedMap(allNonExpired);
+            Map<Long, Boolean> allFullBookings = fullBookingMap;
             List<Listing> filteredListings = allNonExpired.stream()
-                    .filter(l -> matchesAvailabilityFilter(fullBookingMap.getOrDefault(l.getId(), false), filter))
+                    .filter(l -> matchesAvailabilityFilter(allFullBookings.getOrDefault(l.getId(), false), filter))
                     .toList();
 
             totalElements = filteredListings.size();
@@ -138,23 +168,30 @@ public class MarketplaceService {
             listings = filteredListings.subList(fromIndex, toIndex);
         }
 
-        // Batch-load owners and communities
-        List<Long> ownerIds = listings.stream().map(Listing::getOwnerId).distinct().collect(Collectors.toList());
-        List<Long> communityIds = listings.stream().map(Listing::getCommunityId).distinct().collect(Collectors.toList());
+        // Batch-load only what the selected fields need
         List<Long> listingIds = listings.stream().map(Listing::getId).collect(Collectors.toList());
 
-        Map<Long, Boolean> fullBookingMap = computeIsFullyBookedMap(listings);
-
-        Map<Long, User> usersById = userRepository.findAllById(ownerIds).stream()
-                .collect(Collectors.toMap(User::getId, u -> u));
-        Map<Long, Community> communitiesById = communityRepository.findAllById(communityIds).stream()
-                .collect(Collectors.toMap(Community::getId, c -> c));
-        Map<Long, ListingAverageRatingView> listingRatingsById = listingIds.isEmpty()
+        if (fullBookingMap == null) {
+            fullBookingMap = fields.includes(ListingSummaryResponse.IS_FULLY_BOOKED)
+                    ? computeIsFullyBookedMap(listings)
+                    : Collections.emptyMap();
+        }
+        Map<Long, User> usersById = fields.includes(ListingSummaryResponse.OWNER)
+                ? userRepository.findAllById(listings.stream().map(Listing::getOwnerId).distinct().toList()).stream()
+                .collect(Collectors.toMap(User::getId, u -> u))
+                : Collections.emptyMap();
+        Map<Long, Community> communitiesById = fields.includes(ListingSummaryResponse.COMMUNITY_NAME)
+                ? communityRepository.findAllById(listings.stream().map(Listing::getCommunityId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Community::getId, c -> c))
+                : Collections.emptyMap();
+        Map<Long, ListingAverageRatingView> listingRatingsById =
+                listingIds.isEmpty() || !fields.includesAny(ListingSummaryResponse.AVERAGE_RATING, ListingSummaryResponse.TOTAL_REVIEWS)
                 ? Collections.emptyMap()
                 : reviewRepository.findAverageRatingsByListingIds(listingIds).stream()
                 .collect(Collectors.toMap(ListingAverageRatingView::getListingId, r -> r));
 
         // Build responses inside the transaction (Hibernate session still open)
+        Map<Long, Boolean> fullBookings = fullBookingMap;
         List<ListingSummaryResponse> responses = listings.stream()
                 .map(l -> {
                     ListingAverageRatingView rating = listingRatingsById.get(l.getId());
@@ -164,7 +201,8 @@ public class MarketplaceService {
                             communitiesById.get(l.getCommunityId()),
                             rating != null ? rating.getAverageRating() : 0.0,
                             rating != null ? rating.getTotalReviews() : 0L,
-                            fullBookingMap.getOrDefault(l.getId(), false)
+                            fullBookings.getOrDefault(l.getId(), false),
+                            fields
                     );
                 })
                 .collect(Collectors.toList());
@@ -175,29 +213,50 @@ public class MarketplaceService {
 
     // ── Single listing ────────────────────────────────────────────────────────
 
-    @Transactional
-    public ListingResponse getListingById(Long listingId) {
+    /**
+     * The listing together with its weak ETag, both read in one transaction so a 304 and a 200 always
+     * describe the same rows. Listing, owner and community come from the second-level cache, so an
+     * unchanged listing costs only the membership lookup.
+     *
+     * @param notModified answers whether the client already holds the given ETag
+     * @return null when it does
+     */
+    @Transactional(readOnly = true)
+    public ListingResponse getListingById(Long listingId, Predicate<String> notModified) {
         User currentUser = getAuthenticatedUser();
         Listing listing = listingRepository.findById(listingId)
                 .orElseThrow(CustomExceptions.ListingNotFoundException::new);
 
-        // User must be a member of the community the listing belongs to
-        communityMemberRepository
-                .findByCommunity_IdAndUser_Id(listing.getCommunityId(), currentUser.getId())
-                .filter(cm -> cm.getStatus() == MemberStatus.APPROVED)
-                .orElseThrow(CustomExceptions.NotCommunityMemberException::new);
+        assertApprovedMember(listing, currentUser);
 
         Community community = communityRepository.findById(listing.getCommunityId())
                 .orElseThrow(CustomExceptions.CommunityNotFoundException::new);
         User owner = userRepository.findById(listing.getOwnerId())
                 .orElseThrow(CustomExceptions.UserNotFoundException::new);
 
+        if (notModified.test(ConditionalGet.weakETag("listing", listing.getId(), listing.getUpdatedAt(),
+                owner.getUpdatedAt(), community.getUpdatedAt()))) {
+            return null;
+        }
         return buildListingResponse(listing, owner, community);
     }
 
+    /** User must be an approved member of the community the listing belongs to. */
+    private void assertApprovedMember(Listing listing, User user) {
+        communityMemberRepository
+                .findByCommunity_IdAndUser_Id(listing.getCommunityId(), user.getId())
+                .filter(cm -> cm.getStatus() == MemberStatus.APPROVED)
+                .orElseThrow(CustomExceptions.NotCommunityMemberException::new);
+    }
+
     // ── My listings ───────────────────────────────────────────────────────────
 
-    @Transactional
+    /**
+     * @deprecated unbounded and initializes images one listing at a time;
+     * use {@link #getMyListings(ListingStatus, Pageable)}.
+     */
+    @Deprecated
+    @Transactional(readOnly = true)
     public List<ListingResponse> getMyListings(ListingStatus status) {
         User currentUser = getAuthenticatedUser();
 
@@ -217,6 +276,42 @@ public class MarketplaceService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * One page of the current user's listings. Per-status counts come from a single grouped query
+     * and the page's images from a single join fetch, so the query count does not grow with the page.
+     */
+    @Transactional(readOnly = true)
+    public MyListingsResponse getMyListings(ListingStatus status, Pageable pageable) {
+        User currentUser = getAuthenticatedUser();
+
+        Page<Listing> listingPage = status != null
+                ? listingRepository.findByOwner_IdAndStatus(currentUser.getId(), status, pageable)
+                : listingRepository.findByOwner_Id(currentUser.getId(), pageable);
+        List<Listing> listings = listingPage.getContent();
+
+        Map<Long, Community> communitiesById = Collections.emptyMap();
+        if (!listings.isEmpty()) {
+            listingRepository.fetchImages(listings.stream().map(Listing::getId).toList());
+            communitiesById = communityRepository.findAllById(
+                            listings.stream().map(Listing::getCommunityId).distinct().toList()).stream()
+                    .collect(Collectors.toMap(Community::getId, c -> c));
+        }
+
+        Map<ListingStatus, Long> statusCounts = new EnumMap<>(ListingStatus.class);
+        for (ListingStatus listingStatus : ListingStatus.values()) {
+            statusCounts.put(listingStatus, 0L);
+        }
+        listingRepository.countByStatusForOwner(currentUser.getId())
+                .forEach(count -> statusCounts.put(count.getStatus(), count.getTotal()));
+
+        Map<Long, Community> communities = communitiesById;
+        return MyListingsResponse.builder()
+                .page(PagedResponseDto.from(listingPage.map(
+                        l -> buildListingResponse(l, currentUser, communities.get(l.getCommunityId())))))
+                .statusCounts(statusCounts)
+                .build();
+    }
+
     // ── Update ────────────────────────────────────────────────────────────────
 
     @Transactional
@@ -240,6 +335,8 @@ public class MarketplaceService {
             List<String> newUrls = uploadImages(request.getImages(), currentUser.getId());
             listing.getImages().clear();
             listing.getImages().addAll(newUrls);
+            // A collection change alone doesn't update the row; touch it so updatedAt (and the ETag) moves
+            listing.setUpdatedAt(LocalDateTime.now());
         }
 
         listing = listingRepository.save(listing);
@@ -267,8 +364,10 @@ public class MarketplaceService {
                 ? ListingStatus.UNAVAILABLE
                 : ListingStatus.AVAILABLE;
 
+        ListingStatus previous = listing.getStatus();
         listing.setStatus(next);
         listingRepository.save(listing);
+        userStatsService.listingStatusChanged(currentUser.getId(), previous, next);
 
         return ListingStatusResponse.builder()
                 .id(listing.getId())
@@ -287,6 +386,9 @@ public class MarketplaceService {
 
         assertOwner(listing, currentUser.getId());
         listingRepository.delete(listing);
+        pendingReviewRepository.deleteByListingId(listingId);
+        listingRatingStatsRepository.deleteByListingId(listingId);
+        userStatsService.listingDeleted(currentUser.getId(), listing.getStatus());
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
@@ -344,15 +446,17 @@ public class MarketplaceService {
                 .build();
     }
 
-    private ListingSummaryResponse buildListingSummaryResponse(
+    /** Unselected fields are left null; images are not touched unless the thumbnail is selected. */
+    static ListingSummaryResponse buildListingSummaryResponse(
             Listing listing,
             User owner,
             Community community,
             Double averageRating,
             Long totalReviews,
-            Boolean isFullyBooked) {
+            Boolean isFullyBooked,
+            FieldSet fields) {
         ListingOwnerDto ownerDto = null;
-        if (owner != null) {
+        if (owner != null && fields.includes(ListingSummaryResponse.OWNER)) {
             ownerDto = ListingOwnerDto.builder()
                     .userId(owner.getId())
                     .name(owner.getName())
@@ -362,25 +466,26 @@ public class MarketplaceService {
         }
 
         String thumbnailUrl = null;
-        if (listing.getImages() != null && !listing.getImages().isEmpty()) {
+        if (fields.includes(ListingSummaryResponse.THUMBNAIL_URL)
+                && listing.getImages() != null && !listing.getImages().isEmpty()) {
             thumbnailUrl = listing.getImages().get(0);
         }
 
         return ListingSummaryResponse.builder()
                 .id(listing.getId())
-                .title(listing.getTitle())
-                .category(listing.getCategory())
-                .price(listing.getPrice())
-                .condition(listing.getCondition())
+                .title(fields.pick(ListingSummaryResponse.TITLE, listing::getTitle))
+                .category(fields.pick(ListingSummaryResponse.CATEGORY, listing::getCategory))
+                .price(fields.pick(ListingSummaryResponse.PRICE, listing::getPrice))
+                .condition(fields.pick(ListingSummaryResponse.CONDITION, listing::getCondition))
                 .thumbnailUrl(thumbnailUrl)
-                .status(listing.getStatus())
-                .communityId(listing.getCommunityId())
-                .communityName(community != null ? community.getName() : null)
+                .status(fields.pick(ListingSummaryResponse.STATUS, listing::getStatus))
+                .communityId(fields.pick(ListingSummaryResponse.COMMUNITY_ID, listing::getCommunityId))
+                .communityName(community != null ? fields.pick(ListingSummaryResponse.COMMUNITY_NAME, community::getName) : null)
                 .owner(ownerDto)
-                .averageRating(averageRating)
-                .totalReviews(totalReviews)
-                .isFullyBooked(isFullyBooked)
-                .createdAt(listing.getCreatedAt())
+                .averageRating(fields.pick(ListingSummaryResponse.AVERAGE_RATING, () -> averageRating))
+                .totalReviews(fields.pick(ListingSummaryResponse.TOTAL_REVIEWS, () -> totalReviews))
+                .isFullyBooked(fields.pick(ListingSummaryResponse.IS_FULLY_BOOKED, () -> isFullyBooked))
+                .createdAt(fields.pick(ListingSummaryResponse.CREATED_AT, listing::getCreatedAt))
                 .build();
     }
 
@@ -403,6 +508,14 @@ public class MarketplaceService {
                         List.of(BorrowRequestStatus.APPROVED, BorrowRequestStatus.COMPLETED)
                 );
 
+        return computeIsFullyBookedMap(listings, blockingRequests);
+    }
+
+    /**
+     * Pure part of {@link #computeIsFullyBookedMap(List)}; blocking requests must be ordered by
+     * listing and start date.
+     */
+    static Map<Long, Boolean> computeIsFullyBookedMap(List<Listing> listings, List<BorrowRequest> blockingRequests) {
         Map<Long, List<BorrowRequest>> requestsByListingId = blockingRequests.stream()
                 .collect(Collectors.groupingBy(BorrowRequest::getListingId));
 
@@ -417,7 +530,7 @@ public class MarketplaceService {
         return result;
     }
 
-    private boolean isFullyBookedWithinAvailability(Listing listing, List<BorrowRequest> requests) {
+    static boolean isFullyBookedWithinAvailability(Listing listing, List<BorrowRequest> requests) {
         if (listing.getAvailableFrom() == null || listing.getAvailableTo() == null) {
             return false;
         }
@@ -450,11 +563,11 @@ public class MarketplaceService {
         return cursor.isAfter(availabilityEnd);
     }
 
-    private LocalDate maxDate(LocalDate a, LocalDate b) {
+    private static LocalDate maxDate(LocalDate a, LocalDate b) {
         return a.isAfter(b) ? a : b;
     }
 
-    private LocalDate minDate(LocalDate a, LocalDate b) {
+    private static LocalDate minDate(LocalDate a, LocalDate b) {
         return a.isBefore(b) ? a : b;
     }
 
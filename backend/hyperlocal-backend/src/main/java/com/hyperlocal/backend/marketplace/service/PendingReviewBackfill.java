@@ -0,0 +1,74 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Fills pending_reviews for requests completed before the table existed.
+ *
+ * A one-off migration: run it once after deploying the table, either with
+ * POST /api/v1/admin/reviews/backfill-pending or by starting one instance with
+ * app.reviews.backfill-pending=true. It stays off by default because it scans every completed
+ * request, which would delay readiness on each boot. Completed requests are scanned in id ranges,
+ * one INSERT ... SELECT per range, skipping requests that already have a review or a pending row,
+ * so the backfill is idempotent and an interrupted run can simply be restarted. A range that hits
+ * a row inserted concurrently (another run, or a request completed meanwhile) is run again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingReviewBackfill implements ApplicationRunner {
+
+    private static final String INSERT_RANGE = """
+            INSERT INTO pending_reviews (transaction_id, reviewer_user_id, listing_id, owner_user_id, requested_at)
+            SELECT br.id, br.requester_id, br.listing_id, br.owner_id, br.requested_at
+            FROM borrow_requests br
+            WHERE br.id > :after AND br.id <= :upTo
+              AND br.status = 'COMPLETED'
+              AND NOT EXISTS (SELECT 1 FROM reviews r WHERE r.transaction_id = br.id)
+              AND NOT EXISTS (SELECT 1 FROM pending_reviews p WHERE p.transaction_id = br.id)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.reviews.backfill-pending:false}")
+    private boolean enabled;
+
+    @Value("${app.reviews.backfill-batch-size:10000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /** Each range commits on its own. Returns the number of rows inserted. */
+    public long backfill() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM borrow_requests", Map.of(), Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+
+        long inserted = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            Map<String, Long> range = Map.of("after", after, "upTo", after + batchSize);
+            try {
+                inserted += jdbcTemplate.update(INSERT_RANGE, range);
+            } catch (DuplicateKeyException e) {
+                inserted += jdbcTemplate.update(INSERT_RANGE, range);
+            }
+        }
+        log.info("Pending review backfill finished: {} rows inserted", inserted);
+        return inserted;
+    }
+}
@@ -0,0 +1,123 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.marketplace.dto.ReviewBackfillResult;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Fills the review data that is now written at review time: reviews.reviewer_name and the
+ * listing_rating_stats histograms.
+ *
+ * A one-off migration: run it once after deploying the columns, either with
+ * POST /api/v1/admin/reviews/backfill-denormalized or by starting one instance with
+ * app.reviews.backfill-denormalized=true. It stays off by default because it scans every review,
+ * which would delay readiness on each boot; until it has run, the feed falls back to the user's
+ * current name. Works in id ranges and only touches rows that are still missing, so it is
+ * idempotent and an interrupted run can simply be restarted. A range that hits a histogram
+ * inserted concurrently (another run, or a review posted meanwhile) is run again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewDenormalizationBackfill implements ApplicationRunner {
+
+    private static final String FILL_REVIEWER_NAMES = """
+            UPDATE reviews
+            SET reviewer_name = (SELECT u.name FROM users u WHERE u.id = reviews.reviewer_user_id)
+            WHERE id > :after AND id <= :upTo AND reviewer_name IS NULL
+            """;
+
+    private static final String INSERT_RATING_STATS = """
+            INSERT INTO listing_rating_stats (listing_id, one_star, two_star, three_star, four_star, five_star, recommend_count)
+            SELECT r.listing_id,
+                   SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN r.recommend THEN 1 ELSE 0 END)
+            FROM reviews r
+            WHERE r.listing_id > :after AND r.listing_id <= :upTo
+              AND NOT EXISTS (SELECT 1 FROM listing_rating_stats s WHERE s.listing_id = r.listing_id)
+            GROUP BY r.listing_id
+            """;
+
+    private static final String INSERT_ONE_RATING_STATS = """
+            INSERT INTO listing_rating_stats (listing_id, one_star, two_star, three_star, four_star, five_star, recommend_count)
+            SELECT :listingId,
+                   COALESCE(SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), 0),
+                   COALESCE(SUM(CASE WHEN r.recommend THEN 1 ELSE 0 END), 0)
+            FROM reviews r
+            WHERE r.listing_id = :listingId
+            ON CONFLICT (listing_id) DO NOTHING
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${app.reviews.backfill-denormalized:false}")
+    private boolean enabled;
+
+    @Value("${app.reviews.backfill-batch-size:10000}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            backfill();
+        }
+    }
+
+    /** Each range commits on its own. */
+    public ReviewBackfillResult backfill() {
+        long names = inRanges(FILL_REVIEWER_NAMES, "SELECT MAX(id) FROM reviews");
+        long stats = inRanges(INSERT_RATING_STATS, "SELECT MAX(listing_id) FROM reviews");
+        log.info("Review backfill finished: {} reviewer names filled, {} rating histograms created", names, stats);
+        return new ReviewBackfillResult(names, stats);
+    }
+
+    private long inRanges(String statement, String maxIdQuery) {
+        Long maxId = jdbcTemplate.queryForObject(maxIdQuery, Map.of(), Long.class);
+        if (maxId == null) {
+            return 0;
+        }
+
+        long updated = 0;
+        for (long after = 0; after < maxId; after += batchSize) {
+            Map<String, Long> range = Map.of("after", after, "upTo", after + batchSize);
+            try {
+                updated += jdbcTemplate.update(statement, range);
+            } catch (DuplicateKeyException e) {
+                updated += jdbcTemplate.update(statement, range);
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Inserts one listing's missing histogram on the caller's connection, computed from the reviews
+     * as the caller's transaction sees them, its pending changes flushed first: a review the caller
+     * has just written is counted. Returns 0 if the row exists: one inserted by a concurrent
+     * transaction is waited for instead of failing the insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertRatingStats(Long listingId) {
+        entityManager.flush();
+        return jdbcTemplate.update(INSERT_ONE_RATING_STATS, Map.of("listingId", listingId));
+    }
+}
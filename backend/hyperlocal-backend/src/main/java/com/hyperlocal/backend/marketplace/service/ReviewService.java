@@ -1,34 +1,51 @@
 package com.hyperlocal.backend.marketplace.service;
 
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.BusinessMetrics;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
+import com.hyperlocal.backend.common.outbox.OutboxPublisher;
 import com.hyperlocal.backend.marketplace.dto.*;
 import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.ListingRatingStats;
 import com.hyperlocal.backend.marketplace.entity.Review;
 import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.event.ReviewPosted;
 import com.hyperlocal.backend.marketplace.repository.BorrowRequestRepository;
+import com.hyperlocal.backend.marketplace.repository.ListingRatingStatsRepository;
 import com.hyperlocal.backend.marketplace.repository.ListingRepository;
+import com.hyperlocal.backend.marketplace.repository.PendingReviewRepository;
 import com.hyperlocal.backend.marketplace.repository.ReviewRepository;
 import com.hyperlocal.backend.user.entity.User;
 import com.hyperlocal.backend.user.repository.UserRepository;
-import com.hyperlocal.backend.user.service.TrustScoreService;
-import jakarta.transaction.Transactional;
+import com.hyperlocal.backend.user.service.UserStatsService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class ReviewService {
 
+    static final int MAX_FEED_SIZE = 50;
+
     private final ReviewRepository reviewRepository;
+    private final PendingReviewRepository pendingReviewRepository;
+    private final ListingRatingStatsRepository listingRatingStatsRepository;
     private final BorrowRequestRepository borrowRequestRepository;
     private final ListingRepository listingRepository;
     private final UserRepository userRepository;
-    private final TrustScoreService trustScoreService;
+    private final OutboxPublisher outboxPublisher;
+    private final BusinessMetrics businessMetrics;
+    private final UserStatsService userStatsService;
+    private final ReviewDenormalizationBackfill reviewDenormalizationBackfill;
 
     @Transactional
     public ReviewResponse createReview(CreateReviewRequest request) {
@@ -72,6 +89,7 @@ public class ReviewService {
                 .transactionId(transaction.getId())
                 .listingId(request.getListingId())
                 .reviewer(currentUser)
+                .reviewerName(currentUser.getName())
                 .reviewee(reviewee)
                 .rating(request.getRating())
                 .comment(request.getComment())
@@ -79,46 +97,90 @@ public class ReviewService {
                 .build();
 
         Review saved = reviewRepository.save(review);
+        pendingReviewRepository.deleteByTransactionId(transaction.getId());
+        addToRatingStats(request.getListingId(), request.getRating(), request.getRecommend());
+        userStatsService.reviewReceived(reviewee.getId(), request.getRating());
 
-        if (request.getRating() >= 4 || request.getRating() <= 2) {
-            trustScoreService.recalculateAndPersist(reviewee.getId());
-        }
+        outboxPublisher.publish(new ReviewPosted(saved.getId(), transaction.getId(), request.getListingId(),
+                currentUser.getId(), reviewee.getId(), request.getRating()));
 
+        businessMetrics.reviewPosted(request.getRating());
         return toReviewResponse(saved, currentUser.getName(), reviewee.getName());
     }
 
-    @Transactional
-    public ListingReviewsResponse getListingReviews(Long listingId, Pageable pageable) {
+    /**
+     * Reviews newest first, {@code size} at a time. Each slice is one index range scan from the
+     * cursor, so deep slices cost the same as the first; the summary comes from the maintained
+     * histogram instead of an aggregate over all the listing's reviews.
+     */
+    @Transactional(readOnly = true)
+    public ListingReviewsResponse getListingReviews(Long listingId, String cursor, int size) {
         if (!listingRepository.existsById(listingId)) {
             throw new CustomExceptions.ListingNotFoundException();
         }
 
-        Page<ListingReviewItemResponse> page = reviewRepository.findListingReviewItems(listingId, pageable);
-        ListingReviewSummaryView summaryView = reviewRepository.getListingReviewSummary(listingId);
+        ReviewFeedCursor after = ReviewFeedCursor.decode(cursor);
+        int limit = Math.clamp(size, 1, MAX_FEED_SIZE);
+        // One extra row tells whether another slice follows
+        PageRequest window = PageRequest.ofSize(limit + 1);
+        List<ListingReviewItemResponse> rows = after == null
+                ? reviewRepository.findListingReviewFeed(listingId, window)
+                : reviewRepository.findListingReviewFeedAfter(listingId, after.createdAt(), after.id(), window);
 
-        ListingReviewSummaryResponse summary = ListingReviewSummaryResponse.builder()
-                .averageRating(summaryView.getAverageRating())
-                .totalReviews(summaryView.getTotalReviews())
-                .build();
+        boolean last = rows.size() <= limit;
+        List<ListingReviewItemResponse> content = last ? rows : rows.subList(0, limit);
+        ListingRatingStats stats = listingRatingStatsRepository.findById(listingId)
+                .orElseGet(() -> computeRatingStats(listingId));
 
         return ListingReviewsResponse.builder()
-                .content(page.getContent())
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
-                .last(page.isLast())
-                .summary(summary)
+                .content(content)
+                .size(limit)
+                .nextCursor(last ? null : ReviewFeedCursor.after(content.getLast()).encode())
+                .last(last)
+                .summary(toSummary(stats))
                 .build();
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<PendingReviewResponse> getMyPendingReviews() {
         User currentUser = getAuthenticatedUser();
-        return borrowRequestRepository.findPendingReviewTransactions(currentUser.getId(), BorrowRequestStatus.COMPLETED);
+        return pendingReviewRepository.findPendingReviews(currentUser.getId());
     }
 
 
+    /**
+     * Counts the review in the listing's histogram. A listing created before the table existed may
+     * have no row yet: it is inserted from the listing's reviews, this one included, and if a
+     * concurrent review (or the backfill) inserted it first, that row is updated instead.
+     */
+    private void addToRatingStats(Long listingId, int rating, boolean recommend) {
+        if (listingRatingStatsRepository.addRating(listingId, rating, recommend) > 0) {
+            return;
+        }
+        if (reviewDenormalizationBackfill.insertRatingStats(listingId) == 0) {
+            listingRatingStatsRepository.addRating(listingId, rating, recommend);
+        }
+    }
+
+    private ListingRatingStats computeRatingStats(Long listingId) {
+        return ListingRatingStats.from(listingId, reviewRepository.computeRatingHistogram(listingId));
+    }
+
+    private static ListingReviewSummaryResponse toSummary(ListingRatingStats stats) {
+        long total = stats.getTotalReviews();
+        long[] histogram = stats.getHistogram();
+        Map<Integer, Long> ratingCounts = new LinkedHashMap<>();
+        for (int star = 1; star <= histogram.length; star++) {
+            ratingCounts.put(star, histogram[star - 1]);
+        }
+        return ListingReviewSummaryResponse.builder()
+                .averageRating(stats.getAverageRating())
+                .totalReviews(total)
+                .recommendRate(total == 0 ? 0 : (int) Math.round(100.0 * stats.getRecommendCount() / total))
+                .ratingCounts(ratingCounts)
+                .build();
+    }
+
     private ReviewResponse toReviewResponse(Review review, String reviewerName, String revieweeName) {
         return ReviewResponse.builder()
                 .id(review.getId())
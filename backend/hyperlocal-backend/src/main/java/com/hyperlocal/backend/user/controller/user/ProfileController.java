@@ -1,5 +1,6 @@
 package com.hyperlocal.backend.user.controller.user;
 
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.user.dto.ProfileResponseDto;
 import com.hyperlocal.backend.user.dto.ProfileUpdateRequest;
 import com.hyperlocal.backend.user.dto.ProfileUpdateResponse;
@@ -12,6 +13,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/profile")
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class ProfileController {
 
     private final UserService userService;
+    private final ConditionalGet conditionalGet;
 
     /**
      * GET /api/profile/me
@@ -34,11 +37,14 @@ public class ProfileController {
     /**
      * GET /api/profile/{userId}
      * Returns another user's lean public profile (name, photo, rating, listings count).
+     * Answers 304 when If-None-Match carries the current ETag.
      */
     @Operation(summary = "Get public profile by user ID")
     @GetMapping("/{userId}")
-    public ResponseEntity<PublicProfileResponseDto> getUserProfile(@PathVariable Long userId) {
-        return ResponseEntity.ok(userService.getPublicProfile(userId));
+    public ResponseEntity<PublicProfileResponseDto> getUserProfile(@PathVariable Long userId, WebRequest request) {
+        PublicProfileResponseDto profile = userService.getPublicProfile(
+                userId, eTag -> conditionalGet.notModified(request, eTag));
+        return profile == null ? null : ResponseEntity.ok(profile);
     }
 
     /**
@@ -35,5 +35,11 @@ public class ProfileResponseDto {
     @Builder
     public static class ProfileStatsDto {
         private long listingsPosted;
+        private long activeListings;
+        private long completedLends;
+        private long completedBorrows;
+        /** Average rating received as a lender; null until the first review. */
+        private Double averageRating;
+        private long reviewCount;
     }
 }
@@ -21,4 +21,10 @@ public class PublicProfileResponseDto {
     private Integer trustIndex;
     private Integer trustXp;
     private long listingsPosted;
+    private long activeListings;
+    private long completedLends;
+    private long completedBorrows;
+    /** Average rating received as a lender; null until the first review. */
+    private Double averageRating;
+    private long reviewCount;
 }
@@ -5,6 +5,10 @@ import com.hyperlocal.backend.user.enums.Role;
 import com.hyperlocal.backend.user.enums.VerificationStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -20,6 +24,12 @@ import java.util.List;
                 @UniqueConstraint(columnNames = "email")
         })
 @Builder
+// The whole entity is cached, password hash and document URLs included: login checks the hash
+// and the services load the signed-in user as this entity to update it, so a public-fields
+// projection would not serve either lookup. The region is heap-only (ehcache.xml), so entries
+// never leave this JVM.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users.natural-id")
 public class User {
 
     @Id
@@ -29,6 +39,7 @@ public class User {
     @Column(nullable = false)
     private String name;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -76,6 +87,7 @@ public class User {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_joined_communities", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "community_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.joined-communities")
     @Builder.Default
     private List<Long> joinedCommunityIds = new ArrayList<>();
 
@@ -86,6 +98,7 @@ public class User {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "user_created_communities", joinColumns = @JoinColumn(name = "user_id"))
     @Column(name = "community_id")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users.created-communities")
     @Builder.Default
     private List<Long> createdCommunityIds = new ArrayList<>();
 
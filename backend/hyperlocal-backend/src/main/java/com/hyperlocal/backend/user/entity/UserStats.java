@@ -0,0 +1,57 @@
+package com.hyperlocal.backend.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized per-user counters shown on profiles. Kept up to date by {@link
+ * com.hyperlocal.backend.user.service.UserStatsService} in the transaction that changes the
+ * underlying rows, and recomputed from those rows by the rebuild job.
+ *
+ * An active listing is one the owner has not switched off (AVAILABLE or BORROWED).
+ */
+@Entity
+@Table(name = "user_stats")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(nullable = false)
+    private long listingsPosted;
+
+    @Column(nullable = false)
+    private long activeListings;
+
+    @Column(nullable = false)
+    private long completedLends;
+
+    @Column(nullable = false)
+    private long completedBorrows;
+
+    /** Reviews received as reviewee, and the sum of their ratings. */
+    @Column(nullable = false)
+    private long ratingCount;
+
+    @Column(nullable = false)
+    private long ratingSum;
+
+    /** When the rebuild job last recomputed this row; null if it never has. */
+    private LocalDateTime rebuiltAt;
+
+    public static UserStats empty(Long userId) {
+        return UserStats.builder().userId(userId).build();
+    }
+
+    public Double getAverageRating() {
+        return ratingCount == 0 ? null : (double) ratingSum / ratingCount;
+    }
+}
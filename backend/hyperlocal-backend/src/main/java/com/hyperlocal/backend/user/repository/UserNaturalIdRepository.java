@@ -0,0 +1,13 @@
+package com.hyperlocal.backend.user.repository;
+
+import com.hyperlocal.backend.user.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Looks users up by their natural id (email) through Hibernate's natural-id API, so repeated
+ * lookups - one per authenticated request - are served from the second-level cache.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package com.hyperlocal.backend.user.repository;
+
+import com.hyperlocal.backend.user.entity.User;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * Read-write on its own so that login, which calls it outside any transaction, reads from the
+     * primary: a replica that has not caught up yet would reject a just-registered user or check
+     * a password that was just changed. Inside a caller's transaction it reads where that does.
+     */
+    @Override
+    @Transactional
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(email);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hyperlocal.backend.user.repository;
+
+import com.hyperlocal.backend.user.entity.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+/**
+ * Counter updates are single UPDATE statements so concurrent changes for the same user never
+ * lose an increment. Each returns the number of rows updated: 0 means the user has no stats row yet.
+ */
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Modifying
+    @Query("""
+            UPDATE UserStats s
+            SET s.listingsPosted = s.listingsPosted + :posted, s.activeListings = s.activeListings + :active
+            WHERE s.userId = :userId
+            """)
+    int addListings(@Param("userId") Long userId, @Param("posted") long posted, @Param("active") long active);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.completedLends = s.completedLends + 1 WHERE s.userId = :userId")
+    int incrementCompletedLends(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.completedBorrows = s.completedBorrows + 1 WHERE s.userId = :userId")
+    int incrementCompletedBorrows(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            UPDATE UserStats s
+            SET s.ratingCount = s.ratingCount + 1, s.ratingSum = s.ratingSum + :rating
+            WHERE s.userId = :userId
+            """)
+    int addRating(@Param("userId") Long userId, @Param("rating") long rating);
+}
@@ -0,0 +1,33 @@
+package com.hyperlocal.backend.user.service;
+
+import com.hyperlocal.backend.common.outbox.DomainEvent;
+import com.hyperlocal.backend.common.outbox.OutboxEventHandler;
+import com.hyperlocal.backend.marketplace.event.BorrowCancelled;
+import com.hyperlocal.backend.marketplace.event.BorrowCompleted;
+import com.hyperlocal.backend.marketplace.event.ReviewPosted;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recalculates trust scores after the events that feed into them. Recalculation reads the full
+ * history and overwrites the score, so redelivered events are harmless.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrustScoreEventHandler implements OutboxEventHandler {
+
+    private final TrustScoreService trustScoreService;
+
+    @Override
+    public void handle(DomainEvent event) {
+        switch (event) {
+            case BorrowCompleted completed -> trustScoreService.recalculateAndPersist(completed.requesterId());
+            case BorrowCancelled cancelled -> trustScoreService.recalculateAndPersist(cancelled.requesterId());
+            // Only positive (4-5) and low (1-2) ratings affect the score
+            case ReviewPosted review when review.rating() >= 4 || review.rating() <= 2 ->
+                    trustScoreService.recalculateAndPersist(review.revieweeId());
+            default -> {
+            }
+        }
+    }
+}
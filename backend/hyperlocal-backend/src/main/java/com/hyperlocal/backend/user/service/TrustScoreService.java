@@ -30,25 +30,42 @@ public class TrustScoreService {
 
         long completedRequests = borrowRequestRepository.countByRequester_IdAndStatus(userId, BorrowRequestStatus.COMPLETED);
         long cancelledRequests = borrowRequestRepository.countByRequester_IdAndStatus(userId, BorrowRequestStatus.CANCELLED);
-        long totalRequests = completedRequests + cancelledRequests;
         long approvedPreStartCancellations = borrowRequestRepository
                 .countByRequester_IdAndStatusAndApprovedAtIsNotNull(userId, BorrowRequestStatus.CANCELLED);
 
         List<BorrowRequest> completed = borrowRequestRepository.findByRequester_IdAndStatus(userId, BorrowRequestStatus.COMPLETED);
+        long positiveInteractions = reviewRepository.countByReviewee_IdAndRatingGreaterThanEqual(userId, 4);
+        long lowRatingsReceived = reviewRepository.countByReviewee_IdAndRatingLessThanEqual(userId, 2);
+
+        TrustScores scores = score(completedRequests, cancelledRequests, approvedPreStartCancellations, completed,
+                user.getVerificationStatus() == VerificationStatus.VERIFIED, positiveInteractions, lowRatingsReceived);
+
+        user.setTrustIndex(scores.trustIndex());
+        user.setTrustXp(scores.trustXp());
+        userRepository.save(user);
+    }
+
+    /** Trust index and XP from a user's history; pure so it can be benchmarked and tested in isolation. */
+    static TrustScores score(long completedRequests,
+                             long cancelledRequests,
+                             long approvedPreStartCancellations,
+                             List<BorrowRequest> completed,
+                             boolean verified,
+                             long positiveInteractions,
+                             long lowRatingsReceived) {
+        long totalRequests = completedRequests + cancelledRequests;
         long onTimeReturns = completed.stream()
-                .filter(this::isOnTimeReturn)
+                .filter(TrustScoreService::isOnTimeReturn)
                 .count();
         long lateReturns = completed.size() - onTimeReturns;
 
         double completionRate = totalRequests == 0 ? 0.0 : (double) completedRequests / totalRequests;
         double onTimeRate = completedRequests == 0 ? 0.0 : (double) onTimeReturns / completedRequests;
-        int verifiedBoost = user.getVerificationStatus() == VerificationStatus.VERIFIED ? 1 : 0;
+        int verifiedBoost = verified ? 1 : 0;
 
         double penalty = (0.3 * approvedPreStartCancellations) + (0.2 * lateReturns);
         int trustIndex = clampTo0To100((int) Math.round(50 + (25 * completionRate) + (15 * onTimeRate) + (5 * verifiedBoost) - penalty));
 
-        long positiveInteractions = reviewRepository.countByReviewee_IdAndRatingGreaterThanEqual(userId, 4);
-        long lowRatingsReceived = reviewRepository.countByReviewee_IdAndRatingLessThanEqual(userId, 2);
         int trustXp = (int) Math.max(0,
                 (120 * completedRequests)
                         + (40 * positiveInteractions)
@@ -57,12 +74,13 @@ public class TrustScoreService {
                         - (80 * approvedPreStartCancellations)
                         - (40 * lowRatingsReceived));
 
-        user.setTrustIndex(trustIndex);
-        user.setTrustXp(trustXp);
-        userRepository.save(user);
+        return new TrustScores(trustIndex, trustXp);
+    }
+
+    record TrustScores(int trustIndex, int trustXp) {
     }
 
-    private boolean isOnTimeReturn(BorrowRequest borrowRequest) {
+    private static boolean isOnTimeReturn(BorrowRequest borrowRequest) {
         if (borrowRequest.getReturnedAt() == null || borrowRequest.getEndDate() == null) {
             return false;
         }
@@ -70,7 +88,7 @@ public class TrustScoreService {
         return !completionDate.isAfter(borrowRequest.getEndDate());
     }
 
-    private int clampTo0To100(int value) {
+    private static int clampTo0To100(int value) {
         return Math.max(0, Math.min(100, value));
     }
 }
@@ -1,25 +1,30 @@
 package com.hyperlocal.backend.user.service;
 
 import com.hyperlocal.backend.common.exception.CustomExceptions;
+import com.hyperlocal.backend.common.metrics.MetricsConfig;
 import com.hyperlocal.backend.common.storage.FileStorageService;
-import com.hyperlocal.backend.marketplace.repository.ListingRepository;
+import com.hyperlocal.backend.common.web.ConditionalGet;
 import com.hyperlocal.backend.security.JwtService;
 import com.hyperlocal.backend.user.dto.*;
 import com.hyperlocal.backend.user.enums.ProfileStep;
 import com.hyperlocal.backend.user.enums.Role;
 import com.hyperlocal.backend.user.enums.VerificationStatus;
 import com.hyperlocal.backend.user.entity.User;
+import com.hyperlocal.backend.user.entity.UserStats;
 import com.hyperlocal.backend.user.repository.UserRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.IOException;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = MetricsConfig.SERVICE_OBSERVATION)
 public class UserService {
 
     private final UserRepository userRepository;
@@ -27,11 +32,12 @@ public class UserService {
     private final JwtService jwtService;
     private final ProfileCompletionService profileCompletionService;
     private final FileStorageService fileStorageService;
-    private final ListingRepository listingRepository;
+    private final UserStatsService userStatsService;
 
     // ── Profile endpoints ──────────────────────────────────────────────────────
 
     /** GET /api/profile/me — full profile for the authenticated user. */
+    @Transactional(readOnly = true)
     public ProfileResponseDto getMyProfile() {
         String email = extractAuthenticatedEmail();
         User user = userRepository.findByEmail(email)
@@ -39,8 +45,15 @@ public class UserService {
         return buildMyProfileResponse(user);
     }
 
-    /** GET /api/profile/{userId} — lean public profile for any user. */
-    public PublicProfileResponseDto getPublicProfile(Long userId) {
+    /**
+     * GET /api/profile/{userId} — lean public profile for any user. The weak ETag (the cached user
+     * plus the stats row) is read in the same transaction as the body, so both describe the same rows.
+     *
+     * @param notModified answers whether the client already holds the given ETag
+     * @return null when it does
+     */
+    @Transactional(readOnly = true)
+    public PublicProfileResponseDto getPublicProfile(Long userId, Predicate<String> notModified) {
         User user = userRepository.findById(userId)
                 .orElseThrow(CustomExceptions.UserNotFoundException::new);
 
@@ -48,7 +61,13 @@ public class UserService {
             throw new CustomExceptions.UserNotFoundException();
         }
 
-        long listingsPosted = listingRepository.findByOwner_IdOrderByCreatedAtDesc(user.getId()).size();
+        UserStats stats = userStatsService.getStats(user.getId());
+
+        if (notModified.test(ConditionalGet.weakETag("profile", user.getId(), user.getUpdatedAt(),
+                stats.getListingsPosted(), stats.getActiveListings(), stats.getCompletedLends(),
+                stats.getCompletedBorrows(), stats.getRatingCount(), stats.getRatingSum()))) {
+            return null;
+        }
 
         return PublicProfileResponseDto.builder()
                 .userId(user.getId())
@@ -58,12 +77,17 @@ public class UserService {
                 .memberSince(user.getCreatedAt())
                 .trustIndex(user.getTrustIndex())
                 .trustXp(user.getTrustXp())
-                .listingsPosted(listingsPosted)
+                .listingsPosted(stats.getListingsPosted())
+                .activeListings(stats.getActiveListings())
+                .completedLends(stats.getCompletedLends())
+                .completedBorrows(stats.getCompletedBorrows())
+                .averageRating(stats.getAverageRating())
+                .reviewCount(stats.getRatingCount())
                 .build();
     }
 
     private ProfileResponseDto buildMyProfileResponse(User user) {
-        long listingsPosted = listingRepository.findByOwner_IdOrderByCreatedAtDesc(user.getId()).size();
+        UserStats stats = userStatsService.getStats(user.getId());
 
         return ProfileResponseDto.builder()
                 .userId(user.getId())
@@ -78,7 +102,12 @@ public class UserService {
                 .trustIndex(user.getTrustIndex())
                 .trustXp(user.getTrustXp())
                 .stats(ProfileResponseDto.ProfileStatsDto.builder()
-                        .listingsPosted(listingsPosted)
+                        .listingsPosted(stats.getListingsPosted())
+                        .activeListings(stats.getActiveListings())
+                        .completedLends(stats.getCompletedLends())
+                        .completedBorrows(stats.getCompletedBorrows())
+                        .averageRating(stats.getAverageRating())
+                        .reviewCount(stats.getRatingCount())
                         .build())
                 .joinedCommunityIds(user.getJoinedCommunityIds())
                 .createdCommunityIds(user.getCreatedCommunityIds())
@@ -108,6 +137,7 @@ public class UserService {
         user.setCurrentStep(ProfileStep.valueOf(currentStep));
 
         User savedUser = userRepository.save(user);
+        userStatsService.userRegistered(savedUser.getId());
 
         return new RegisterResponseDto(
                 savedUser.getId(),
@@ -231,6 +261,7 @@ public class UserService {
         );
     }
 
+    @Transactional(readOnly = true)
     public VerificationStatusDto getVerificationStatus() {
         String email = extractAuthenticatedEmail();
         User user = userRepository.findByEmail(email)
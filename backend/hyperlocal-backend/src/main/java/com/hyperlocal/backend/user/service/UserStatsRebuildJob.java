@@ -0,0 +1,151 @@
+package com.hyperlocal.backend.user.service;
+
+import com.hyperlocal.backend.user.entity.UserStats;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes {@link UserStats} from listings, borrow requests and reviews, so a counter that
+ * drifted (a code path that forgot to update it, a manual data fix, ...) is corrected.
+ *
+ * Runs on app.user-stats.rebuild.cron unless app.user-stats.rebuild.enabled=false. Missing rows
+ * are inserted first, then existing rows are recomputed in chunks of user ids, one statement per
+ * chunk, so no long transaction holds locks on the table. A counter update committing while its
+ * chunk is being recomputed can be overwritten; the next run corrects it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsRebuildJob {
+
+    private static final String COMPUTE_ONE = """
+            SELECT
+                (SELECT COUNT(*) FROM listings l WHERE l.owner_id = :userId) AS listings_posted,
+                (SELECT COUNT(*) FROM listings l WHERE l.owner_id = :userId AND l.status <> 'UNAVAILABLE') AS active_listings,
+                (SELECT COUNT(*) FROM borrow_requests b WHERE b.owner_id = :userId AND b.status = 'COMPLETED') AS completed_lends,
+                (SELECT COUNT(*) FROM borrow_requests b WHERE b.requester_id = :userId AND b.status = 'COMPLETED') AS completed_borrows,
+                (SELECT COUNT(*) FROM reviews r WHERE r.reviewee_user_id = :userId) AS rating_count,
+                (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.reviewee_user_id = :userId) AS rating_sum
+            """;
+
+    private static final String INSERT_ONE = """
+            INSERT INTO user_stats (user_id, listings_posted, active_listings, completed_lends, completed_borrows,
+                                    rating_count, rating_sum, rebuilt_at)
+            SELECT :userId, c.listings_posted, c.active_listings, c.completed_lends, c.completed_borrows,
+                   c.rating_count, c.rating_sum, :now
+            FROM (%s) c
+            ON CONFLICT (user_id) DO NOTHING
+            """.formatted(COMPUTE_ONE);
+
+    private static final String INSERT_MISSING = """
+            INSERT INTO user_stats (user_id, listings_posted, active_listings, completed_lends, completed_borrows,
+                                    rating_count, rating_sum)
+            SELECT u.id, 0, 0, 0, 0, 0, 0 FROM users u
+            WHERE NOT EXISTS (SELECT 1 FROM user_stats s WHERE s.user_id = u.id)
+            """;
+
+    private static final String NEXT_CHUNK_END = """
+            SELECT MAX(user_id) FROM (
+                SELECT user_id FROM user_stats WHERE user_id > :after ORDER BY user_id LIMIT :limit
+            ) chunk
+            """;
+
+    private static final String REBUILD_CHUNK = """
+            UPDATE user_stats s SET
+                listings_posted = (SELECT COUNT(*) FROM listings l WHERE l.owner_id = s.user_id),
+                active_listings = (SELECT COUNT(*) FROM listings l WHERE l.owner_id = s.user_id AND l.status <> 'UNAVAILABLE'),
+                completed_lends = (SELECT COUNT(*) FROM borrow_requests b WHERE b.owner_id = s.user_id AND b.status = 'COMPLETED'),
+                completed_borrows = (SELECT COUNT(*) FROM borrow_requests b WHERE b.requester_id = s.user_id AND b.status = 'COMPLETED'),
+                rating_count = (SELECT COUNT(*) FROM reviews r WHERE r.reviewee_user_id = s.user_id),
+                rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM reviews r WHERE r.reviewee_user_id = s.user_id),
+                rebuilt_at = :now
+            WHERE s.user_id > :after AND s.user_id <= :upTo
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.user-stats.rebuild.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.user-stats.rebuild.chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${app.user-stats.rebuild.cron:0 15 4 * * *}")
+    public void rebuildScheduled() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.info("User stats rebuild already running, skipping scheduled run");
+            return;
+        }
+        try {
+            rebuildAll();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** Recomputes every row; each statement commits on its own. */
+    public void rebuildAll() {
+        long startNanos = System.nanoTime();
+        int inserted = jdbcTemplate.update(INSERT_MISSING, Map.of());
+
+        long rebuilt = 0;
+        long after = 0;
+        LocalDateTime now = LocalDateTime.now();
+        while (true) {
+            Long upTo = jdbcTemplate.queryForObject(NEXT_CHUNK_END, Map.of("after", after, "limit", chunkSize), Long.class);
+            if (upTo == null) {
+                break;
+            }
+            rebuilt += jdbcTemplate.update(REBUILD_CHUNK, Map.of("now", now, "after", after, "upTo", upTo));
+            after = upTo;
+        }
+
+        log.info("User stats rebuild finished in {} ms: {} rows recomputed, {} missing rows created",
+                (System.nanoTime() - startNanos) / 1_000_000, rebuilt, inserted);
+    }
+
+    /** Stats of one user computed from the source tables, without storing them. */
+    @Transactional(readOnly = true)
+    public UserStats compute(Long userId) {
+        List<UserStats> rows = jdbcTemplate.query(COMPUTE_ONE, Map.of("userId", userId), (rs, rowNum) ->
+                UserStats.builder()
+                        .userId(userId)
+                        .listingsPosted(rs.getLong("listings_posted"))
+                        .activeListings(rs.getLong("active_listings"))
+                        .completedLends(rs.getLong("completed_lends"))
+                        .completedBorrows(rs.getLong("completed_borrows"))
+                        .ratingCount(rs.getLong("rating_count"))
+                        .ratingSum(rs.getLong("rating_sum"))
+                        .build());
+        return rows.getFirst();
+    }
+
+    /**
+     * Inserts one user's missing row on the caller's connection, computed from the source rows as
+     * the caller's transaction sees them, its pending changes flushed first. Returns 0 if the row
+     * exists: one inserted by a concurrent transaction is waited for instead of failing the insert.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertMissing(Long userId) {
+        entityManager.flush();
+        return jdbcTemplate.update(INSERT_ONE, Map.of("userId", userId, "now", LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,131 @@
+package com.hyperlocal.backend.user.service;
+
+import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import com.hyperlocal.backend.user.entity.UserStats;
+import com.hyperlocal.backend.user.repository.UserStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+
+/**
+ * Maintains {@link UserStats}. The update methods must be called inside the transaction that makes
+ * the change they count, so a counter moves if and only if the change commits. (The outbox is not
+ * used here: its at-least-once delivery would double-count on redelivery.)
+ *
+ * Users without a stats row (created before the table existed) get one from the first transaction
+ * that updates them: just before it commits, the row is inserted on its own connection, computed
+ * from the source rows as the transaction leaves them, so it already counts that transaction's
+ * changes. If a concurrent transaction inserted the row first, the insert does nothing and the
+ * updates are applied to that row instead. The rebuild job creates the rest.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserStatsRepository userStatsRepository;
+    private final UserStatsRebuildJob rebuildJob;
+
+    @Transactional(readOnly = true)
+    public UserStats getStats(Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> rebuildJob.compute(userId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void userRegistered(Long userId) {
+        userStatsRepository.save(UserStats.empty(userId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listingCreated(Long ownerId, ListingStatus status) {
+        adjustListings(ownerId, 1, isActive(status) ? 1 : 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listingDeleted(Long ownerId, ListingStatus status) {
+        adjustListings(ownerId, -1, isActive(status) ? -1 : 0);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void listingStatusChanged(Long ownerId, ListingStatus from, ListingStatus to) {
+        long delta = (isActive(to) ? 1 : 0) - (isActive(from) ? 1 : 0);
+        if (delta != 0) {
+            adjustListings(ownerId, 0, delta);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void borrowCompleted(Long ownerId, Long requesterId) {
+        update(ownerId, () -> userStatsRepository.incrementCompletedLends(ownerId));
+        update(requesterId, () -> userStatsRepository.incrementCompletedBorrows(requesterId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reviewReceived(Long revieweeId, int rating) {
+        update(revieweeId, () -> userStatsRepository.addRating(revieweeId, rating));
+    }
+
+    private void adjustListings(Long ownerId, long posted, long active) {
+        update(ownerId, () -> userStatsRepository.addListings(ownerId, posted, active));
+    }
+
+    /** Runs an UPDATE of the user's row; if there is none, it is kept for the insert at commit. */
+    private void update(Long userId, IntSupplier update) {
+        if (update.getAsInt() == 0) {
+            missingRows().computeIfAbsent(userId, id -> new ArrayList<>()).add(update);
+        }
+    }
+
+    /**
+     * Updates of the current transaction that found no row, by user. Bound to the transaction on
+     * first use, together with the synchronization that inserts the rows before it commits; users
+     * are inserted in id order so concurrent transactions lock them in the same order.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<IntSupplier>> missingRows() {
+        Map<Long, List<IntSupplier>> bound = (Map<Long, List<IntSupplier>>) TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            return bound;
+        }
+        Map<Long, List<IntSupplier>> missing = new TreeMap<>();
+        TransactionSynchronizationManager.bindResource(this, missing);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                missing.forEach((userId, updates) -> {
+                    if (rebuildJob.insertMissing(userId) == 0) {
+                        updates.forEach(IntSupplier::getAsInt);
+                    }
+                });
+            }
+
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(UserStatsService.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(UserStatsService.this, missing);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(UserStatsService.this);
+            }
+        });
+        return missing;
+    }
+
+    private static boolean isActive(ListingStatus status) {
+        return status != ListingStatus.UNAVAILABLE;
+    }
+}
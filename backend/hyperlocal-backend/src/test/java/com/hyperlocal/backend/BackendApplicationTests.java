@@ -1,13 +1,42 @@
 package com.hyperlocal.backend;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
+@AutoConfigureMockMvc
 class BackendApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void metricsAreNotPublicOnTheApplicationPort() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().is4xxClientError());
+	}
+
+	@Test
+	@WithMockUser
+	void metricsNeedTheSuperAdminRole() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/actuator/metrics/{name}", "jvm.memory.used")).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void healthStaysPublic() throws Exception {
+		mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+	}
+
 }
@@ -0,0 +1,524 @@
+package com.hyperlocal.backend;
+
+import com.hyperlocal.backend.admin.entity.Admin;
+import com.hyperlocal.backend.admin.enums.AdminRole;
+import com.hyperlocal.backend.common.sql.SqlStatementCounter;
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.community.entity.CommunityMember;
+import com.hyperlocal.backend.community.enums.CommunityCategory;
+import com.hyperlocal.backend.community.enums.CommunityRole;
+import com.hyperlocal.backend.community.enums.JoinPolicy;
+import com.hyperlocal.backend.community.enums.MemberStatus;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.ListingRatingStats;
+import com.hyperlocal.backend.marketplace.entity.PendingReview;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.marketplace.enums.ListingCondition;
+import com.hyperlocal.backend.user.entity.User;
+import com.hyperlocal.backend.user.enums.ProfileStep;
+import com.hyperlocal.backend.user.enums.VerificationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hyperlocal.backend.TestFixture.as;
+import static com.hyperlocal.backend.common.sql.SqlStatementAssertions.assertStatementsAtMost;
+import static com.hyperlocal.backend.common.sql.SqlStatementAssertions.count;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets for every controller endpoint, measured against a seeded dataset with
+ * several rows behind each list so per-row lookups would show up as repeated statements.
+ *
+ * Each test runs in one transaction that is rolled back afterwards. Requests join it, so the
+ * persistence context is flushed and cleared before each measured request to make it load from
+ * the database rather than from entities the fixture already holds.
+ */
+@SpringBootTest(properties = "app.upload.dir=" + EndpointStatementBudgetTests.UPLOAD_DIR)
+@AutoConfigureMockMvc
+@Transactional
+class EndpointStatementBudgetTests {
+
+	static final String UPLOAD_DIR = "target/statement-budget-uploads";
+
+	/** A statement repeated this often within one read request is treated as an N+1. */
+	private static final int REPEAT_THRESHOLD = 3;
+
+	private static final String PASSWORD = "password";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TestFixture fixture;
+	private User owner;
+	private User borrower;
+	private User outsider;
+	private User applicant;
+	private Community community;
+	private CommunityMember pendingMembership;
+	private CommunityMember removableMembership;
+	private Listing listing;
+	private Listing reviewedListing;
+	private BorrowRequest pendingRequest;
+	private BorrowRequest activeRequest;
+	private BorrowRequest completedRequest;
+	private Admin admin;
+
+	@BeforeEach
+	void seed() {
+		fixture = new TestFixture(entityManager, passwordEncoder.encode(PASSWORD));
+		owner = fixture.seedUser("Owner", "owner@budget.test", VerificationStatus.VERIFIED);
+		borrower = fixture.seedUser("Borrower", "borrower@budget.test", VerificationStatus.VERIFIED);
+		outsider = fixture.seedUser("Outsider", "outsider@budget.test", VerificationStatus.NOT_VERIFIED);
+		applicant = fixture.seedUser("Applicant", "applicant@budget.test", VerificationStatus.NOT_VERIFIED);
+		applicant.setCurrentStep(ProfileStep.REVIEW);
+		applicant.setGovernmentIdUrl("/uploads/documents/applicant-id.pdf");
+
+		community = fixture.seedCommunity("Budget Commons", "BUDGET1", owner);
+		Community second = fixture.seedCommunity("Budget Tools", "BUDGET2", owner);
+		fixture.seedMember(community, owner, CommunityRole.ADMIN, MemberStatus.APPROVED);
+		fixture.seedMember(second, owner, CommunityRole.ADMIN, MemberStatus.APPROVED);
+		fixture.seedMember(community, borrower, CommunityRole.MEMBER, MemberStatus.APPROVED);
+		fixture.seedMember(second, borrower, CommunityRole.MEMBER, MemberStatus.APPROVED);
+
+		List<User> neighbours = new ArrayList<>();
+		for (int i = 1; i <= 4; i++) {
+			User neighbour = fixture.seedUser("Neighbour " + i, "neighbour" + i + "@budget.test", VerificationStatus.VERIFIED);
+			removableMembership = fixture.seedMember(community, neighbour, CommunityRole.MEMBER, MemberStatus.APPROVED);
+			neighbours.add(neighbour);
+		}
+		pendingMembership = fixture.seedMember(community, applicant, CommunityRole.MEMBER, MemberStatus.PENDING);
+		fixture.seedMember(community, fixture.seedUser("Applicant 2", "applicant2@budget.test", VerificationStatus.NOT_VERIFIED),
+				CommunityRole.MEMBER, MemberStatus.PENDING);
+		fixture.seedMember(community, fixture.seedUser("Applicant 3", "applicant3@budget.test", VerificationStatus.NOT_VERIFIED),
+				CommunityRole.MEMBER, MemberStatus.PENDING);
+
+		LocalDate today = LocalDate.now();
+		listing = fixture.seedListing(owner, community, "Cordless drill", ListingCategory.values()[0]);
+		Listing ladder = fixture.seedListing(owner, community, "Ladder", ListingCategory.values()[0]);
+		Listing tent = fixture.seedListing(owner, community, "Tent", ListingCategory.values()[1]);
+		reviewedListing = fixture.seedListing(owner, community, "Pressure washer", ListingCategory.values()[1]);
+		fixture.seedListing(borrower, second, "Bike pump", ListingCategory.values()[0]);
+
+		pendingRequest = fixture.seedRequest(listing, borrower, today.plusDays(10), today.plusDays(12), BorrowRequestStatus.PENDING);
+		for (User neighbour : neighbours) {
+			fixture.seedRequest(listing, neighbour, today.plusDays(11), today.plusDays(13), BorrowRequestStatus.PENDING);
+		}
+		activeRequest = fixture.seedRequest(ladder, borrower, today, today.plusDays(2), BorrowRequestStatus.APPROVED);
+		completedRequest = fixture.seedRequest(tent, borrower, today.minusDays(5), today.minusDays(3), BorrowRequestStatus.COMPLETED);
+		entityManager.persist(PendingReview.of(completedRequest));
+
+		int rating = 5;
+		for (User neighbour : neighbours) {
+			BorrowRequest past = fixture.seedRequest(reviewedListing, neighbour, today.minusDays(20), today.minusDays(18),
+					BorrowRequestStatus.COMPLETED);
+			fixture.seedReview(past, neighbour, neighbour.getName(), rating--);
+		}
+		// seedReview writes reviews directly, so the histogram is filled in by hand
+		ListingRatingStats reviewedStats = entityManager.find(ListingRatingStats.class, reviewedListing.getId());
+		reviewedStats.setTwoStar(1);
+		reviewedStats.setThreeStar(1);
+		reviewedStats.setFourStar(1);
+		reviewedStats.setFiveStar(1);
+		reviewedStats.setRecommendCount(4);
+
+		admin = Admin.builder()
+				.email("admin@budget.test")
+				.password(passwordEncoder.encode(PASSWORD))
+				.name("Budget Admin")
+				.role(AdminRole.ROLE_SUPERADMIN)
+				.active(true)
+				.build();
+		entityManager.persist(admin);
+		entityManager.flush();
+	}
+
+	@AfterAll
+	static void removeUploads() throws IOException {
+		FileSystemUtils.deleteRecursively(Path.of(UPLOAD_DIR));
+	}
+
+	// ── Communities ───────────────────────────────────────────────────────────
+
+	@Test
+	void communityReads() throws Exception {
+		assertReadBudget(6, get("/api/communities/me").with(as(owner)));
+		assertReadBudget(5, get("/api/communities/{id}", community.getId()).with(as(owner)));
+		assertReadBudget(6, get("/api/communities/{id}/members", community.getId()).with(as(owner)));
+		assertReadBudget(6, get("/api/communities/{id}/pending", community.getId()).with(as(owner)));
+		assertReadBudget(6, get("/api/communities/{id}/join-requests", community.getId()).with(as(owner)));
+	}
+
+	@Test
+	void createCommunity() throws Exception {
+		assertWriteBudget(8, post("/api/communities").with(as(outsider)).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"name": "Budget Garden", "description": "Seeds and tools", "category": "%s"}
+						""".formatted(CommunityCategory.values()[0])));
+	}
+
+	@Test
+	void joinCommunity() throws Exception {
+		assertWriteBudget(8, post("/api/communities/join").with(as(outsider)).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"code": "BUDGET1"}
+						"""));
+	}
+
+	@Test
+	void approveJoinRequest() throws Exception {
+		assertWriteBudget(8, post("/api/communities/{id}/pending/{membershipId}/approve",
+				community.getId(), pendingMembership.getId()).with(as(owner)));
+	}
+
+	@Test
+	void rejectJoinRequest() throws Exception {
+		assertWriteBudget(7, post("/api/communities/{id}/pending/{membershipId}/reject",
+				community.getId(), pendingMembership.getId()).with(as(owner)));
+	}
+
+	@Test
+	void joinRequestAliases() throws Exception {
+		assertWriteBudget(8, post("/api/communities/{id}/join-requests/{requestId}/approve",
+				community.getId(), pendingMembership.getId()).with(as(owner)));
+		CommunityMember other = fixture.seedMember(community,
+				fixture.seedUser("Applicant 4", "applicant4@budget.test", VerificationStatus.NOT_VERIFIED),
+				CommunityRole.MEMBER, MemberStatus.PENDING);
+		assertWriteBudget(7, post("/api/communities/{id}/join-requests/{requestId}/reject",
+				community.getId(), other.getId()).with(as(owner)));
+	}
+
+	@Test
+	void removeMember() throws Exception {
+		assertWriteBudget(8, delete("/api/communities/{id}/members/{membershipId}",
+				community.getId(), removableMembership.getId()).with(as(owner)));
+	}
+
+	@Test
+	void updateCommunity() throws Exception {
+		assertWriteBudget(7, put("/api/communities/{id}", community.getId()).with(as(owner))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"name": "Budget Commons Renamed", "description": "Shared tools", "category": "%s"}
+						""".formatted(CommunityCategory.values()[0])));
+		assertWriteBudget(6, patch("/api/communities/{id}/join-policy", community.getId()).with(as(owner))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"joinPolicy": "%s"}
+						""".formatted(JoinPolicy.APPROVAL_REQUIRED)));
+		assertWriteBudget(6, patch("/api/communities/{id}/status", community.getId()).with(as(owner))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"status": "INACTIVE"}
+						"""));
+	}
+
+	// ── Listings ──────────────────────────────────────────────────────────────
+
+	@Test
+	void listingReads() throws Exception {
+		assertReadBudget(0, get("/api/marketplace/listings/categories").with(as(owner)));
+		assertReadBudget(8, get("/api/marketplace/listings").with(as(borrower)));
+		assertReadBudget(8, get("/api/marketplace/listings").param("communityId", community.getId().toString())
+				.with(as(borrower)));
+		assertReadBudget(6, get("/api/marketplace/listings/me").with(as(owner)));
+		assertReadBudget(7, get("/api/marketplace/listings/me/paged").with(as(owner)));
+		assertReadBudget(6, get("/api/marketplace/listings/{id}", listing.getId()).with(as(borrower)));
+	}
+
+	@Test
+	void listingFieldSelectionSkipsUnselectedLookups() throws Exception {
+		SqlStatementCounter.Snapshot all = measure(get("/api/marketplace/listings").with(as(borrower)));
+		SqlStatementCounter.Snapshot idAndTitle = measure(get("/api/marketplace/listings")
+				.param("fields", "id,title").with(as(borrower)));
+		SqlStatementCounter.Snapshot withOwner = measure(get("/api/marketplace/listings")
+				.param("fields", "id,title,owner").with(as(borrower)));
+
+		// Owners, communities, ratings and fully-booked flags are one batch query each
+		assertTrue(idAndTitle.total() + 4 <= all.total(),
+				"fields=id,title: " + idAndTitle.statements() + "\nall fields: " + all.statements());
+		assertEquals(idAndTitle.total() + 1, withOwner.total(),
+				"fields=id,title,owner: " + withOwner.statements());
+	}
+
+	@Test
+	void createListing() throws Exception {
+		// The listing's empty rating histogram is saved with it (a select and an insert)
+		assertWriteBudget(10, multipart("/api/marketplace/listings").with(as(owner))
+				.params(listingForm())
+				.param("communityId", community.getId().toString()));
+	}
+
+	@Test
+	void updateListing() throws Exception {
+		assertWriteBudget(8, multipart(HttpMethod.PUT, "/api/marketplace/listings/{id}", listing.getId())
+				.with(as(owner))
+				.params(listingForm()));
+	}
+
+	@Test
+	void toggleAvailability() throws Exception {
+		assertWriteBudget(5, patch("/api/marketplace/listings/{id}/toggle", reviewedListing.getId()).with(as(owner)));
+	}
+
+	@Test
+	void deleteListing() throws Exception {
+		assertWriteBudget(10, delete("/api/marketplace/listings/{id}", reviewedListing.getId()).with(as(owner)));
+	}
+
+	// ── Borrow requests ───────────────────────────────────────────────────────
+
+	@Test
+	void borrowRequestReads() throws Exception {
+		// User lookup, page query and count query; names, titles and trust fields are joined into the page query
+		assertReadBudget(3, get("/api/marketplace/requests/me").with(as(borrower)));
+		assertReadBudget(3, get("/api/marketplace/requests/incoming").with(as(owner)));
+		assertReadBudget(3, get("/api/marketplace/requests/incoming").param("listingId", listing.getId().toString())
+				.with(as(owner)));
+		assertReadBudget(3, get("/api/marketplace/requests/counts").with(as(owner)));
+		assertReadBudget(4, get("/api/marketplace/requests/listings/{id}/availability", listing.getId()).with(as(borrower)));
+		assertReadBudget(4, get("/api/marketplace/requests/{id}", pendingRequest.getId()).with(as(borrower)));
+	}
+
+	@Test
+	void openStream() throws Exception {
+		assertReadBudget(3, get("/api/marketplace/requests/stream").with(as(owner)).accept(MediaType.TEXT_EVENT_STREAM));
+	}
+
+	@Test
+	void createBorrowRequest() throws Exception {
+		LocalDate start = LocalDate.now().plusDays(20);
+		assertWriteBudget(10, post("/api/marketplace/requests").with(as(borrower)).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"listingId": %d, "startDate": "%s", "endDate": "%s", "message": "Weekend project"}
+						""".formatted(listing.getId(), start, start.plusDays(1))));
+	}
+
+	@Test
+	void approveBorrowRequest() throws Exception {
+		// The four overlapping requests are auto-rejected; saving them is one update each
+		assertWriteBudget(15, patch("/api/marketplace/requests/{id}/approve", pendingRequest.getId()).with(as(owner)));
+	}
+
+	@Test
+	void rejectBorrowRequest() throws Exception {
+		assertWriteBudget(7, patch("/api/marketplace/requests/{id}/reject", pendingRequest.getId()).with(as(owner))
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"reason": "Away that week"}
+						"""));
+	}
+
+	@Test
+	void cancelBorrowRequest() throws Exception {
+		assertWriteBudget(7, patch("/api/marketplace/requests/{id}/cancel", pendingRequest.getId()).with(as(borrower)));
+	}
+
+	@Test
+	void completeBorrowRequest() throws Exception {
+		assertWriteBudget(12, patch("/api/marketplace/requests/{id}/complete", activeRequest.getId()).with(as(owner)));
+	}
+
+	// ── Reviews ───────────────────────────────────────────────────────────────
+
+	@Test
+	void reviewReads() throws Exception {
+		assertReadBudget(4, get("/api/reviews/listings/{id}", reviewedListing.getId()).with(as(borrower)));
+		assertReadBudget(3, get("/api/reviews/me/pending").with(as(borrower)));
+	}
+
+	@Test
+	void createReview() throws Exception {
+		assertWriteBudget(12, post("/api/reviews").with(as(borrower)).contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"transactionId": %d, "listingId": %d, "revieweeUserId": %d, "rating": 4, "recommend": true}
+						""".formatted(completedRequest.getId(), completedRequest.getListingId(), owner.getId())));
+	}
+
+	// ── Users and profiles ────────────────────────────────────────────────────
+
+	@Test
+	void register() throws Exception {
+		assertWriteBudget(4, post("/api/v1/auth/register").contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"name": "Newcomer", "email": "newcomer@budget.test", "password": "secret123", "agreeToTerms": true}
+						"""));
+	}
+
+	@Test
+	void login() throws Exception {
+		assertWriteBudget(2, post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"email": "%s", "password": "%s"}
+						""".formatted(owner.getEmail(), PASSWORD)));
+	}
+
+	@Test
+	void userAndProfileReads() throws Exception {
+		assertReadBudget(0, get("/api/v1/users/secure").with(as(owner)));
+		assertReadBudget(2, get("/api/v1/users/verification-status").with(as(applicant)));
+		assertReadBudget(6, get("/api/profile/me").with(as(owner)));
+		assertReadBudget(6, get("/api/profile/{id}", owner.getId()).with(as(borrower)));
+	}
+
+	@Test
+	void updateProfile() throws Exception {
+		assertWriteBudget(4, multipart(HttpMethod.PUT, "/api/v1/users/profile").with(as(borrower))
+				.param("bio", "Keen gardener"));
+		assertWriteBudget(4, multipart(HttpMethod.PUT, "/api/profile/me").with(as(borrower))
+				.param("address", "12 Budget Lane"));
+	}
+
+	@Test
+	void uploadDocuments() throws Exception {
+		assertWriteBudget(4, multipart("/api/v1/users/documents").file(governmentId()).with(as(outsider)));
+	}
+
+	// ── Admin ─────────────────────────────────────────────────────────────────
+
+	@Test
+	void adminAuth() throws Exception {
+		assertWriteBudget(3, post("/api/v1/admin/auth/login").contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"email": "%s", "password": "%s"}
+						""".formatted(admin.getEmail(), PASSWORD)));
+		assertWriteBudget(2, post("/api/v1/admin/auth/create-superadmin").contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"email": "second-admin@budget.test", "password": "secret123", "name": "Second Admin"}
+						"""));
+	}
+
+	@Test
+	void adminUserReads() throws Exception {
+		assertReadBudget(3, get("/api/v1/admin/users").with(asAdmin()));
+		assertReadBudget(3, get("/api/v1/admin/users").param("verificationStatus", "VERIFIED").with(asAdmin()));
+		assertReadBudget(2, get("/api/v1/admin/users/{id}", applicant.getId()).with(asAdmin()));
+	}
+
+	@Test
+	void verifyDocuments() throws Exception {
+		assertWriteBudget(5, post("/api/v1/admin/users/{id}/verify", applicant.getId()).with(asAdmin())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"approved": true}
+						"""));
+	}
+
+	@Test
+	void adminCommunityReads() throws Exception {
+		assertReadBudget(4, get("/api/v1/admin/communities").with(asAdmin()));
+		assertReadBudget(5, get("/api/v1/admin/communities/{id}", community.getId()).with(asAdmin()));
+		assertReadBudget(4, get("/api/v1/admin/communities/{id}/members", community.getId()).with(asAdmin()));
+	}
+
+	@Test
+	void adminCommunityWrites() throws Exception {
+		assertWriteBudget(4, patch("/api/v1/admin/communities/{id}/status", community.getId()).with(asAdmin())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("""
+						{"status": "INACTIVE"}
+						"""));
+		Community empty = fixture.seedCommunity("Budget Empty", "BUDGET3", outsider);
+		assertWriteBudget(6, delete("/api/v1/admin/communities/{id}", empty.getId()).with(asAdmin()));
+	}
+
+	@Test
+	void adminFiles() throws Exception {
+		mockMvc.perform(multipart("/api/v1/users/documents").file(governmentId()).with(as(outsider)))
+				.andExpect(status().isOk());
+		entityManager.flush();
+		entityManager.clear();
+		String url = entityManager.find(User.class, outsider.getId()).getGovernmentIdUrl();
+		String fileName = url.substring(url.lastIndexOf('/') + 1);
+
+		assertReadBudget(0, get("/api/v1/admin/files/{userId}/{fileName}", outsider.getId(), fileName).with(asAdmin()));
+		assertReadBudget(0, post("/api/v1/admin/storage/gc").with(asAdmin()));
+	}
+
+	// ── Budgets ───────────────────────────────────────────────────────────────
+
+	private void assertReadBudget(int maxStatements, RequestBuilder request) throws Exception {
+		SqlStatementCounter.Snapshot snapshot = measure(request);
+		assertTrue(snapshot.total() <= maxStatements,
+				"Expected at most " + maxStatements + " SQL statements but got " + snapshot.total()
+						+ ": " + snapshot.statements());
+		assertTrue(snapshot.repeated(REPEAT_THRESHOLD).isEmpty(),
+				"Statements repeated " + REPEAT_THRESHOLD + "+ times (likely N+1): " + snapshot.repeated(REPEAT_THRESHOLD));
+	}
+
+	private SqlStatementCounter.Snapshot measure(RequestBuilder request) throws Exception {
+		clearPersistenceContext();
+		return count(() -> mockMvc.perform(request).andExpect(status().is2xxSuccessful()));
+	}
+
+	private void assertWriteBudget(int maxStatements, RequestBuilder request) throws Exception {
+		clearPersistenceContext();
+		assertStatementsAtMost(maxStatements, () -> mockMvc.perform(request).andExpect(status().is2xxSuccessful()));
+	}
+
+	private void clearPersistenceContext() {
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	// ── Fixture ───────────────────────────────────────────────────────────────
+
+	private RequestPostProcessor asAdmin() {
+		return user(admin.getEmail()).roles("SUPERADMIN");
+	}
+
+	private static MultiValueMap<String, String> listingForm() {
+		MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+		form.add("title", "Hammer drill");
+		form.add("description", "Two batteries included");
+		form.add("category", ListingCategory.values()[0].name());
+		form.add("price", "12.50");
+		form.add("condition", ListingCondition.values()[0].name());
+		form.add("availableFrom", LocalDate.now().toString());
+		form.add("availableTo", LocalDate.now().plusDays(30).toString());
+		return form;
+	}
+
+	private static MockMultipartFile governmentId() {
+		return new MockMultipartFile("governmentId", "id.pdf", MediaType.APPLICATION_PDF_VALUE, new byte[]{'%', 'P', 'D', 'F'});
+	}
+}
@@ -0,0 +1,152 @@
+package com.hyperlocal.backend;
+
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.community.entity.CommunityMember;
+import com.hyperlocal.backend.community.enums.CommunityCategory;
+import com.hyperlocal.backend.community.enums.CommunityRole;
+import com.hyperlocal.backend.community.enums.JoinPolicy;
+import com.hyperlocal.backend.community.enums.MemberStatus;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.ListingRatingStats;
+import com.hyperlocal.backend.marketplace.entity.Review;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.marketplace.enums.ListingCondition;
+import com.hyperlocal.backend.user.entity.User;
+import com.hyperlocal.backend.user.entity.UserStats;
+import com.hyperlocal.backend.user.enums.Role;
+import com.hyperlocal.backend.user.enums.VerificationStatus;
+import jakarta.persistence.EntityManager;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+
+/**
+ * Persists the users, communities, listings, borrow requests and reviews the integration tests
+ * need, together with the rows the services create alongside them (UserStats for a user,
+ * ListingRatingStats for a listing), so requests under test only ever update those rows.
+ * Nothing is flushed; callers flush when a request must see the data.
+ */
+public final class TestFixture {
+
+	private final EntityManager entityManager;
+	private final String storedPassword;
+
+	/** Users get {@code storedPassword} as their password column, e.g. an encoded one for login tests. */
+	public TestFixture(EntityManager entityManager, String storedPassword) {
+		this.entityManager = entityManager;
+		this.storedPassword = storedPassword;
+	}
+
+	public TestFixture(EntityManager entityManager) {
+		this(entityManager, "password");
+	}
+
+	/** Authenticates a MockMvc request as the given user. */
+	public static RequestPostProcessor as(User user) {
+		return user(user.getEmail());
+	}
+
+	public User seedUser(String name, String email) {
+		return seedUser(name, email, VerificationStatus.VERIFIED);
+	}
+
+	public User seedUser(String name, String email, VerificationStatus verificationStatus) {
+		User user = User.builder()
+				.name(name)
+				.email(email)
+				.password(storedPassword)
+				.role(Role.ROLE_USER)
+				.verificationStatus(verificationStatus)
+				.build();
+		entityManager.persist(user);
+		entityManager.persist(UserStats.empty(user.getId()));
+		return user;
+	}
+
+	public Community seedCommunity(String name, String code, User creator) {
+		Community community = Community.builder()
+				.name(name)
+				.code(code)
+				.description(name + " lends tools between neighbours")
+				.category(CommunityCategory.values()[0])
+				.joinPolicy(JoinPolicy.OPEN)
+				.createdBy(creator)
+				.build();
+		entityManager.persist(community);
+		creator.getCreatedCommunityIds().add(community.getId());
+		return community;
+	}
+
+	public CommunityMember seedMember(Community community, User user, CommunityRole role, MemberStatus status) {
+		CommunityMember member = CommunityMember.builder()
+				.community(community)
+				.user(user)
+				.role(role)
+				.status(status)
+				.build();
+		entityManager.persist(member);
+		if (status == MemberStatus.APPROVED) {
+			user.getJoinedCommunityIds().add(community.getId());
+		}
+		return member;
+	}
+
+	/** Available from 60 days ago to 60 days ahead, with an empty rating histogram. */
+	public Listing seedListing(User owner, Community community, String title, ListingCategory category) {
+		Listing listing = Listing.builder()
+				.owner(owner)
+				.communityId(community.getId())
+				.title(title)
+				.description(title + " in good working order")
+				.category(category)
+				.price(BigDecimal.TEN)
+				.condition(ListingCondition.values()[0])
+				.images(new ArrayList<>(List.of("/uploads/listings/" + title.replace(' ', '-') + ".jpg")))
+				.availableFrom(LocalDate.now().minusDays(60))
+				.availableTo(LocalDate.now().plusDays(60))
+				.build();
+		entityManager.persist(listing);
+		entityManager.persist(ListingRatingStats.empty(listing.getId()));
+		return listing;
+	}
+
+	public BorrowRequest seedRequest(Listing listing, User requester, LocalDate start, LocalDate end,
+			BorrowRequestStatus status) {
+		BorrowRequest request = BorrowRequest.builder()
+				.listingId(listing.getId())
+				.requester(requester)
+				.owner(listing.getOwner())
+				.startDate(start)
+				.endDate(end)
+				.status(status)
+				.build();
+		entityManager.persist(request);
+		return request;
+	}
+
+	/**
+	 * A review written directly, as older code did; it does not touch the rating histogram.
+	 * A null reviewerName stands for a review from before that column existed.
+	 */
+	public Review seedReview(BorrowRequest transaction, User reviewer, String reviewerName, int rating) {
+		Review review = Review.builder()
+				.transactionId(transaction.getId())
+				.listingId(transaction.getListingId())
+				.reviewer(reviewer)
+				.reviewerName(reviewerName)
+				.reviewee(transaction.getOwner())
+				.rating(rating)
+				.comment("Worked as described")
+				.recommend(true)
+				.build();
+		entityManager.persist(review);
+		return review;
+	}
+}
@@ -0,0 +1,84 @@
+package com.hyperlocal.backend.common.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTests {
+
+	private static final long FAST = Duration.ofMillis(10).toNanos();
+	private static final long SLOW = Duration.ofMillis(100).toNanos();
+
+	@Test
+	void rejectsOnceLimitIsInFlight() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+		assertTrue(limit.tryAcquire());
+		assertTrue(limit.tryAcquire());
+		assertFalse(limit.tryAcquire());
+
+		limit.release();
+		assertTrue(limit.tryAcquire());
+	}
+
+	@Test
+	void growsWhileLatencyStaysFlat() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+		runSaturated(limit, FAST, 50);
+
+		assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+	}
+
+	@Test
+	void shrinksWhenLatencyRises() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+		runSaturated(limit, FAST, 50);
+		int grown = limit.getLimit();
+
+		runSaturated(limit, SLOW, 20);
+
+		assertTrue(limit.getLimit() < grown, "limit stayed at " + limit.getLimit());
+	}
+
+	@Test
+	void backsOffOnFailuresDownToMinimum() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100);
+
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			limit.release(FAST, true);
+		}
+
+		assertEquals(2, limit.getLimit());
+	}
+
+	@Test
+	void idleSamplesDoNotMoveTheLimit() {
+		AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+		for (int i = 0; i < 50; i++) {
+			limit.tryAcquire();
+			limit.release(FAST, false);
+		}
+
+		assertEquals(10, limit.getLimit());
+	}
+
+	/** Fills every permit, then completes one request with the given latency, {@code rounds} times. */
+	private static void runSaturated(AdaptiveConcurrencyLimit limit, long rttNanos, int rounds) {
+		for (int i = 0; i < rounds; i++) {
+			while (limit.tryAcquire()) {
+				// take all permits
+			}
+			limit.release(rttNanos, false);
+			while (limit.getInFlight() > 0) {
+				limit.release();
+			}
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package com.hyperlocal.backend.common.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitFilterTests {
+
+	private static final String ORIGIN = "http://localhost:5173";
+
+	private ConcurrencyLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		MockEnvironment environment = new MockEnvironment()
+				.withProperty("app.concurrency.pool.api.match", "/api/**")
+				.withProperty("app.concurrency.pool.api.initial-limit", "1")
+				.withProperty("app.concurrency.pool.api.min-limit", "1")
+				.withProperty("app.concurrency.pool.api.max-limit", "1");
+
+		CorsConfiguration cors = new CorsConfiguration();
+		cors.setAllowedOrigins(List.of(ORIGIN));
+		cors.setAllowedMethods(List.of("GET", "OPTIONS"));
+		cors.setExposedHeaders(List.of(HttpHeaders.RETRY_AFTER));
+		UrlBasedCorsConfigurationSource corsSource = new UrlBasedCorsConfigurationSource();
+		corsSource.registerCorsConfiguration("/**", cors);
+
+		filter = new ConcurrencyLimitFilter(environment, new SimpleMeterRegistry(), JsonMapper.builder().build(), corsSource);
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "poolNames", List.of("api"));
+		filter.init();
+	}
+
+	@Test
+	void shedRequestCarriesCorsHeaders() throws Exception {
+		MockHttpServletResponse shed = new MockHttpServletResponse();
+
+		// The only permit is held by the outer request while the inner one arrives
+		filter.doFilter(apiRequest("GET"), new MockHttpServletResponse(),
+				(request, response) -> filter.doFilter(apiRequest("GET"), shed, (inner, innerResponse) -> { }));
+
+		assertEquals(503, shed.getStatus());
+		assertEquals(ORIGIN, shed.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+		assertEquals(HttpHeaders.RETRY_AFTER, shed.getHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS));
+		assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+	}
+
+	@Test
+	void preflightIsNeverShed() throws Exception {
+		MockHttpServletResponse preflight = new MockHttpServletResponse();
+		MockHttpServletRequest preflightRequest = apiRequest("OPTIONS");
+		preflightRequest.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+
+		filter.doFilter(apiRequest("GET"), new MockHttpServletResponse(),
+				(request, response) -> filter.doFilter(preflightRequest, preflight, (inner, innerResponse) -> { }));
+
+		assertEquals(200, preflight.getStatus());
+	}
+
+	private static MockHttpServletRequest apiRequest(String method) {
+		MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/marketplace/listings");
+		request.addHeader(HttpHeaders.ORIGIN, ORIGIN);
+		return request;
+	}
+}
@@ -0,0 +1,95 @@
+package com.hyperlocal.backend.common.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and a replica; each one identifies itself
+ * through a single-row table, so the tests can see where a transaction was routed.
+ */
+class ReplicaRoutingDataSourceTests {
+
+	private Replica replica;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate readOnly;
+	private TransactionTemplate readWrite;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primary = database("primary");
+		replica = new Replica("replica-1", database("replica"));
+		replica.setLag(Duration.ZERO);
+
+		LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+		routing.setReadOnlyDataSource(new ReplicaRoutingDataSource(
+				primary, List.of(replica), Duration.ofSeconds(5), new SimpleMeterRegistry()));
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+		jdbcTemplate = new JdbcTemplate(routing);
+		readWrite = new TransactionTemplate(transactionManager);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+	}
+
+	@Test
+	void readOnlyTransactionsGoToTheReplica() {
+		assertEquals("replica", readOnly.execute(status -> whoAmI()));
+	}
+
+	@Test
+	void readWriteTransactionsStayOnThePrimary() {
+		assertEquals("primary", readWrite.execute(status -> whoAmI()));
+	}
+
+	@Test
+	void laggingReplicaFallsBackToThePrimary() {
+		replica.setLag(Duration.ofSeconds(30));
+
+		assertEquals("primary", readOnly.execute(status -> whoAmI()));
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToThePrimary() {
+		replica.setLag(null);
+
+		assertEquals("primary", readOnly.execute(status -> whoAmI()));
+	}
+
+	@Test
+	void explicitCredentialsGoToThePrimary() throws Exception {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+				database("primary"), List.of(replica), Duration.ofSeconds(5), new SimpleMeterRegistry());
+
+		try (Connection connection = routing.getConnection("sa", "")) {
+			assertEquals("primary", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+					.queryForObject("SELECT name FROM node", String.class));
+		}
+	}
+
+	private String whoAmI() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static DataSource database(String name) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-routing;DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+		jdbcTemplate.update("DELETE FROM node");
+		jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,50 @@
+package com.hyperlocal.backend.common.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldSetTests {
+
+	private static final Set<String> ALLOWED = Set.of("id", "title", "price", "ownerName");
+
+	@Test
+	void absentOrBlankSelectsEverything() {
+		assertSame(FieldSet.ALL, FieldSet.parse(null, ALLOWED));
+		assertSame(FieldSet.ALL, FieldSet.parse("  ", ALLOWED));
+		assertTrue(FieldSet.ALL.includes("anything"));
+	}
+
+	@Test
+	void selectsOnlyListedFields() {
+		FieldSet fields = FieldSet.parse(" title, price ,", ALLOWED);
+
+		assertTrue(fields.includes("title"));
+		assertTrue(fields.includes("price"));
+		assertFalse(fields.includes("ownerName"));
+		assertTrue(fields.includesAny("ownerName", "price"));
+		assertFalse(fields.includesAny("ownerName", "id"));
+	}
+
+	@Test
+	void pickDoesNotEvaluateUnselectedFields() {
+		FieldSet fields = FieldSet.parse("title", ALLOWED);
+
+		assertEquals("Drill", fields.pick("title", () -> "Drill"));
+		assertNull(fields.pick("ownerName", () -> {
+			throw new AssertionError("evaluated");
+		}));
+	}
+
+	@Test
+	void rejectsUnknownFields() {
+		assertThrows(IllegalArgumentException.class, () -> FieldSet.parse("title,password", ALLOWED));
+	}
+}
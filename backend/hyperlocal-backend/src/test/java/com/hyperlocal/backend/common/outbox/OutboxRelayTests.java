@@ -0,0 +1,229 @@
+package com.hyperlocal.backend.common.outbox;
+
+import com.hyperlocal.backend.marketplace.event.ListingCreated;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTests {
+
+	private static final Duration LEASE = Duration.ofMinutes(1);
+	private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(5);
+	private static final int MAX_ATTEMPTS = 4;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@Mock
+	private OutboxEventHandler firstHandler;
+
+	@Mock
+	private OutboxEventHandler secondHandler;
+
+	private final JsonMapper jsonMapper = JsonMapper.builder().build();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private OutboxRelay relay;
+
+	@BeforeEach
+	void setUp() {
+		relay = new OutboxRelay(outboxEventRepository, List.of(firstHandler, secondHandler),
+				new TransactionTemplate(transactionManager), jsonMapper, meterRegistry);
+		ReflectionTestUtils.setField(relay, "batchSize", 2);
+		ReflectionTestUtils.setField(relay, "lease", LEASE);
+		ReflectionTestUtils.setField(relay, "maxAttempts", MAX_ATTEMPTS);
+		ReflectionTestUtils.setField(relay, "initialBackoff", INITIAL_BACKOFF);
+	}
+
+	@Test
+	void claimedBatchIsLeasedUntilTheLeaseEnds() {
+		OutboxEvent event = event(1L, 0);
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event));
+
+		LocalDateTime before = LocalDateTime.now();
+		relay.relay();
+		LocalDateTime after = LocalDateTime.now();
+
+		assertBetween(before.plus(LEASE), after.plus(LEASE), event.getAvailableAt());
+	}
+
+	@Test
+	void fullBatchesAreClaimedUntilAShortOneComesBack() {
+		when(outboxEventRepository.lockAvailable(any(), eq(2)))
+				.thenReturn(List.of(event(1L, 0), event(2L, 0)))
+				.thenReturn(List.of(event(3L, 0)));
+
+		relay.relay();
+
+		verify(outboxEventRepository, times(2)).lockAvailable(any(), eq(2));
+		verify(outboxEventRepository).deleteDelivered(1L);
+		verify(outboxEventRepository).deleteDelivered(2L);
+		verify(outboxEventRepository).deleteDelivered(3L);
+	}
+
+	@Test
+	void eventIsDeletedAfterEveryHandlerRan() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, 0)));
+
+		relay.relay();
+
+		InOrder order = inOrder(firstHandler, secondHandler, outboxEventRepository);
+		order.verify(firstHandler).handle(new ListingCreated(1L, 7L, 3L, "TOOLS"));
+		order.verify(secondHandler).handle(new ListingCreated(1L, 7L, 3L, "TOOLS"));
+		order.verify(outboxEventRepository).deleteDelivered(1L);
+		verify(outboxEventRepository, never()).markFailed(anyLong(), any(), anyString());
+		assertEquals(1, outcomeCount("delivered"));
+	}
+
+	@Test
+	void failedDeliveryIsRolledBackAndRetriedAfterTheInitialBackoff() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, 0)));
+		doThrow(new IllegalStateException("handler down")).when(secondHandler).handle(any());
+
+		LocalDateTime before = LocalDateTime.now();
+		relay.relay();
+		LocalDateTime after = LocalDateTime.now();
+
+		verify(outboxEventRepository, never()).deleteDelivered(anyLong());
+		verify(transactionManager).rollback(any());
+		ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxEventRepository).markFailed(eq(1L), retryAt.capture(), eq("handler down"));
+		assertBetween(before.plus(INITIAL_BACKOFF), after.plus(INITIAL_BACKOFF), retryAt.getValue());
+		assertEquals(1, outcomeCount("retried"));
+	}
+
+	@Test
+	void backoffDoublesWithEachAttempt() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, 2)));
+		doThrow(new IllegalStateException("handler down")).when(firstHandler).handle(any());
+
+		LocalDateTime before = LocalDateTime.now();
+		relay.relay();
+		LocalDateTime after = LocalDateTime.now();
+
+		// Third attempt: 5s * 2^2
+		Duration backoff = Duration.ofSeconds(20);
+		ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxEventRepository).markFailed(eq(1L), retryAt.capture(), anyString());
+		assertBetween(before.plus(backoff), after.plus(backoff), retryAt.getValue());
+	}
+
+	@Test
+	void backoffIsCappedAtOneHour() {
+		ReflectionTestUtils.setField(relay, "maxAttempts", 30);
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, 20)));
+		doThrow(new IllegalStateException("handler down")).when(firstHandler).handle(any());
+
+		LocalDateTime before = LocalDateTime.now();
+		relay.relay();
+		LocalDateTime after = LocalDateTime.now();
+
+		Duration cap = Duration.ofHours(1);
+		ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(outboxEventRepository).markFailed(eq(1L), retryAt.capture(), anyString());
+		assertBetween(before.plus(cap), after.plus(cap), retryAt.getValue());
+	}
+
+	@Test
+	void eventIsParkedOnItsLastAttempt() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, MAX_ATTEMPTS - 1)));
+		doThrow(new IllegalStateException("handler down")).when(firstHandler).handle(any());
+
+		relay.relay();
+
+		verify(outboxEventRepository).markFailed(eq(1L), isNull(), eq("handler down"));
+		assertEquals(1, outcomeCount("parked"));
+	}
+
+	@Test
+	void unreadablePayloadIsRetriedWithoutCallingHandlers() {
+		OutboxEvent event = event(1L, 0);
+		event.setPayload("not json");
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event));
+
+		relay.relay();
+
+		verify(firstHandler, never()).handle(any());
+		verify(outboxEventRepository).markFailed(eq(1L), any(LocalDateTime.class), anyString());
+	}
+
+	@Test
+	void lastErrorIsTruncatedToTheColumnSize() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of(event(1L, 0)));
+		doThrow(new IllegalStateException("x".repeat(3000))).when(firstHandler).handle(any());
+
+		relay.relay();
+
+		ArgumentCaptor<String> lastError = ArgumentCaptor.forClass(String.class);
+		verify(outboxEventRepository).markFailed(eq(1L), any(), lastError.capture());
+		assertEquals(1000, lastError.getValue().length());
+	}
+
+	@Test
+	void backlogGaugesFollowTheTable() {
+		when(outboxEventRepository.lockAvailable(any(), anyInt())).thenReturn(List.of());
+		when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(LocalDateTime.now().minusSeconds(30));
+		when(outboxEventRepository.countByAvailableAtIsNotNull()).thenReturn(5L);
+		when(outboxEventRepository.countByAvailableAtIsNull()).thenReturn(2L);
+
+		relay.relay();
+
+		double lag = meterRegistry.get("outbox.lag").gauge().value();
+		assertTrue(lag >= 30 && lag < 40, "outbox.lag = " + lag);
+		assertEquals(5, meterRegistry.get("outbox.pending").gauge().value());
+		assertEquals(2, meterRegistry.get("outbox.parked").gauge().value());
+	}
+
+	private OutboxEvent event(Long id, int attempts) {
+		LocalDateTime createdAt = LocalDateTime.now().minusSeconds(1);
+		return OutboxEvent.builder()
+				.id(id)
+				.eventType(DomainEventType.LISTING_CREATED)
+				.aggregateId(id)
+				.payload(jsonMapper.writeValueAsString(new ListingCreated(id, 7L, 3L, "TOOLS")))
+				.createdAt(createdAt)
+				.availableAt(createdAt)
+				.attempts(attempts)
+				.build();
+	}
+
+	private double outcomeCount(String outcome) {
+		return meterRegistry.get("outbox.events").tag("outcome", outcome).counter().count();
+	}
+
+	private static void assertBetween(LocalDateTime earliest, LocalDateTime latest, LocalDateTime actual) {
+		assertTrue(!actual.isBefore(earliest) && !actual.isAfter(latest),
+				actual + " is not between " + earliest + " and " + latest);
+	}
+}
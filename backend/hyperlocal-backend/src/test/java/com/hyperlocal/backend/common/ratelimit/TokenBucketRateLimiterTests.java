@@ -0,0 +1,80 @@
+package com.hyperlocal.backend.common.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the limiter with a manual clock: 3 tokens refilling over 3 seconds, i.e. one per second.
+ */
+class TokenBucketRateLimiterTests {
+
+	private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+	private final AtomicLong clock = new AtomicLong();
+	private final RateLimitRoute route = RateLimitRoute.of("search", "GET /api/marketplace/listings", 3, Duration.ofSeconds(3));
+	private TokenBucketRateLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		limiter = new TokenBucketRateLimiter(4, clock::get);
+	}
+
+	@Test
+	void burstUpToCapacityThenRejectsWithWaitTime() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire(route, "alice@example.com"));
+		}
+
+		clock.addAndGet(SECOND / 4);
+		assertEquals(SECOND * 3 / 4, limiter.tryAcquire(route, "alice@example.com"));
+	}
+
+	@Test
+	void refillsOverTime() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(route, "alice@example.com");
+		}
+
+		clock.addAndGet(SECOND);
+		assertEquals(0, limiter.tryAcquire(route, "alice@example.com"));
+		assertTrue(limiter.tryAcquire(route, "alice@example.com") > 0);
+	}
+
+	@Test
+	void callersHaveSeparateBuckets() {
+		for (int i = 0; i < 3; i++) {
+			limiter.tryAcquire(route, "alice@example.com");
+		}
+
+		assertEquals(0, limiter.tryAcquire(route, "bob@example.com"));
+	}
+
+	@Test
+	void sweepDropsOnlyFullBuckets() {
+		limiter.tryAcquire(route, "alice@example.com");
+		clock.addAndGet(SECOND / 2);
+		limiter.tryAcquire(route, "bob@example.com");
+
+		clock.addAndGet(SECOND / 2);
+		assertEquals(1, limiter.sweep());
+		assertEquals(1, limiter.size());
+	}
+
+	@Test
+	void routeMatchesMethodAndPattern() {
+		RateLimitRoute any = RateLimitRoute.of("api", "/api/**", 1, Duration.ofSeconds(1));
+
+		assertTrue(route.matches("GET", PathContainer.parsePath("/api/marketplace/listings")));
+		assertFalse(route.matches("POST", PathContainer.parsePath("/api/marketplace/listings")));
+		assertTrue(any.matches("DELETE", PathContainer.parsePath("/api/reviews/1")));
+		assertFalse(any.matches("GET", PathContainer.parsePath("/uploads/a.png")));
+	}
+}
@@ -0,0 +1,44 @@
+package com.hyperlocal.backend.common.sql;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helper around {@link SqlStatementCounter}: runs an action and fails when it issues more
+ * statements than allowed or repeats one statement often enough to look like an N+1.
+ */
+public final class SqlStatementAssertions {
+
+	private SqlStatementAssertions() {
+	}
+
+	@FunctionalInterface
+	public interface Action {
+		void run() throws Exception;
+	}
+
+	public static SqlStatementCounter.Snapshot count(Action action) throws Exception {
+		SqlStatementCounter.start();
+		try {
+			action.run();
+		} catch (Exception | Error e) {
+			SqlStatementCounter.stop();
+			throw e;
+		}
+		return SqlStatementCounter.stop();
+	}
+
+	public static void assertStatementsAtMost(int maxStatements, Action action) throws Exception {
+		SqlStatementCounter.Snapshot snapshot = count(action);
+		assertTrue(snapshot.total() <= maxStatements,
+				"Expected at most " + maxStatements + " SQL statements but got " + snapshot.total()
+						+ ": " + snapshot.statements());
+	}
+
+	public static void assertNoRepeatedStatements(int threshold, Action action) throws Exception {
+		List<Map.Entry<String, Integer>> repeated = count(action).repeated(threshold);
+		assertTrue(repeated.isEmpty(), "Statements repeated " + threshold + "+ times (likely N+1): " + repeated);
+	}
+}
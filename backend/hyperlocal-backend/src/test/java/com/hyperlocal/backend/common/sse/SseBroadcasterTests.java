@@ -0,0 +1,90 @@
+package com.hyperlocal.backend.common.sse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SseBroadcasterTests {
+
+	@Mock
+	private SseBroadcastRepository sseBroadcastRepository;
+
+	@Mock
+	private SseSubscriberRegistry sseSubscriberRegistry;
+
+	private SseBroadcaster broadcaster;
+
+	@BeforeEach
+	void setUp() {
+		broadcaster = new SseBroadcaster(sseBroadcastRepository, sseSubscriberRegistry, JsonMapper.builder().build());
+		ReflectionTestUtils.setField(broadcaster, "overlap", Duration.ofSeconds(10));
+	}
+
+	@Test
+	void publishStoresTheEventAsJson() {
+		broadcaster.publish(7L, "request-updated", Map.of("requestId", 42));
+
+		ArgumentCaptor<SseBroadcast> saved = ArgumentCaptor.forClass(SseBroadcast.class);
+		verify(sseBroadcastRepository).save(saved.capture());
+		assertEquals(7L, saved.getValue().getUserId());
+		assertEquals("request-updated", saved.getValue().getName());
+		assertEquals("{\"requestId\":42}", saved.getValue().getPayload());
+	}
+
+	@Test
+	void rowsInTheOverlapAreDeliveredOnce() {
+		SseBroadcast row = broadcast(1L, 7L);
+		when(sseBroadcastRepository.findByCreatedAtAfterOrderByIdAsc(any())).thenReturn(List.of(row));
+
+		broadcaster.poll();
+		broadcaster.poll();
+
+		verify(sseSubscriberRegistry, times(1)).send(eq(7L), eq("request-updated"), any());
+	}
+
+	@Test
+	void rowCommittedAfterAHigherIdIsStillDelivered() {
+		SseBroadcast early = broadcast(1L, 7L);
+		SseBroadcast late = broadcast(2L, 8L);
+		when(sseBroadcastRepository.findByCreatedAtAfterOrderByIdAsc(any()))
+				.thenReturn(List.of(late))
+				.thenReturn(List.of(early, late));
+
+		broadcaster.poll();
+		broadcaster.poll();
+
+		verify(sseSubscriberRegistry).send(eq(7L), anyString(), any());
+		verify(sseSubscriberRegistry).send(eq(8L), anyString(), any());
+		verify(sseSubscriberRegistry, times(2)).send(anyLong(), anyString(), any());
+	}
+
+	private static SseBroadcast broadcast(Long id, Long userId) {
+		return SseBroadcast.builder()
+				.id(id)
+				.userId(userId)
+				.name("request-updated")
+				.payload("{\"requestId\":" + id + "}")
+				.createdAt(LocalDateTime.now())
+				.build();
+	}
+}
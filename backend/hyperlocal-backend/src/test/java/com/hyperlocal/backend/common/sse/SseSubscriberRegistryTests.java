@@ -0,0 +1,215 @@
+package com.hyperlocal.backend.common.sse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SseSubscriberRegistryTests {
+
+	private final List<RecordingEmitter> emitters = new ArrayList<>();
+	private final List<Runnable> pendingSends = new ArrayList<>();
+	private SseSubscriberRegistry registry;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SseSubscriberRegistry(new SimpleMeterRegistry()) {
+			@Override
+			SseEmitter createEmitter() {
+				RecordingEmitter emitter = new RecordingEmitter();
+				emitters.add(emitter);
+				return emitter;
+			}
+		};
+		ReflectionTestUtils.setField(registry, "timeout", Duration.ofMinutes(30));
+		ReflectionTestUtils.setField(registry, "replayBufferSize", 3);
+		ReflectionTestUtils.setField(registry, "replayWindow", Duration.ofMinutes(5));
+		ReflectionTestUtils.setField(registry, "maxStreamsPerUser", 2);
+		ReflectionTestUtils.setField(registry, "maxQueuedEvents", 10);
+		sendInline();
+	}
+
+	@Test
+	void eventsReachEveryStreamOfTheUserOnly() {
+		RecordingEmitter first = subscribe(1L, null);
+		RecordingEmitter second = subscribe(1L, null);
+		RecordingEmitter other = subscribe(2L, null);
+
+		registry.send(1L, "request-updated", "42");
+
+		assertTrue(first.received("event:request-updated"));
+		assertTrue(second.received("event:request-updated"));
+		assertFalse(other.received("event:request-updated"));
+	}
+
+	@Test
+	void reconnectReplaysOnlyTheMissedEvents() {
+		RecordingEmitter stream = subscribe(1L, null);
+		registry.send(1L, "request-updated", "first");
+		registry.send(1L, "request-updated", "second");
+		registry.send(1L, "request-updated", "third");
+
+		RecordingEmitter reconnected = subscribe(1L, stream.idOf("first"));
+
+		assertFalse(reconnected.received("first"));
+		assertTrue(reconnected.received("second"));
+		assertTrue(reconnected.received("third"));
+		assertFalse(reconnected.received("event:" + SseSubscriberRegistry.RESYNC_EVENT));
+	}
+
+	@Test
+	void reconnectWithAnIdFromAnotherProcessGetsResync() {
+		RecordingEmitter reconnected = subscribe(1L, "otherprocess-7");
+
+		assertTrue(reconnected.received("event:" + SseSubscriberRegistry.RESYNC_EVENT));
+	}
+
+	@Test
+	void reconnectPastTheReplayBufferGetsResync() {
+		RecordingEmitter stream = subscribe(1L, null);
+		for (int i = 1; i <= 5; i++) {
+			registry.send(1L, "request-updated", "event " + i);
+		}
+
+		RecordingEmitter reconnected = subscribe(1L, stream.idOf("event 1"));
+
+		assertTrue(reconnected.received("event:" + SseSubscriberRegistry.RESYNC_EVENT));
+		assertFalse(reconnected.received("event 5"));
+	}
+
+	@Test
+	void heartbeatReachesOpenStreamsAndDropsDeadOnes() {
+		RecordingEmitter alive = subscribe(1L, null);
+		RecordingEmitter dead = subscribe(1L, null);
+		dead.failing = true;
+
+		registry.heartbeat();
+		registry.send(1L, "request-updated", "after");
+
+		assertTrue(alive.received(":heartbeat"));
+		assertTrue(alive.received("after"));
+		assertEquals(1, dead.failedAttempts);
+	}
+
+	@Test
+	void heartbeatForgetsChannelsIdleForTheReplayWindow() throws InterruptedException {
+		ReflectionTestUtils.setField(registry, "replayWindow", Duration.ofMillis(1));
+		RecordingEmitter stream = subscribe(1L, null);
+		registry.send(1L, "request-updated", "before");
+		stream.failing = true;
+		registry.heartbeat();
+
+		Thread.sleep(10);
+		registry.heartbeat();
+		// Sent while the user had no channel, so it is lost and the reconnect has to resync
+		registry.send(1L, "request-updated", "lost");
+		RecordingEmitter reconnected = subscribe(1L, stream.idOf("before"));
+
+		assertTrue(reconnected.received("event:" + SseSubscriberRegistry.RESYNC_EVENT));
+	}
+
+	@Test
+	void oldestStreamIsClosedBeyondTheLimitPerUser() {
+		RecordingEmitter oldest = subscribe(1L, null);
+		RecordingEmitter middle = subscribe(1L, null);
+		RecordingEmitter newest = subscribe(1L, null);
+
+		assertTrue(oldest.completed);
+		assertFalse(middle.completed);
+		assertFalse(newest.completed);
+	}
+
+	@Test
+	void sendingNeverWaitsForTheConnection() {
+		sendLater();
+		RecordingEmitter stream = subscribe(1L, null);
+
+		registry.send(1L, "request-updated", "queued");
+
+		assertFalse(stream.received("queued"));
+		runPendingSends();
+		assertTrue(stream.received("connected"));
+		assertTrue(stream.received("queued"));
+	}
+
+	@Test
+	void streamThatFallsTooFarBehindIsClosed() {
+		sendLater();
+		RecordingEmitter stream = subscribe(1L, null);
+
+		for (int i = 1; i <= 10; i++) {
+			registry.send(1L, "request-updated", "event " + i);
+		}
+		runPendingSends();
+
+		assertTrue(stream.completed);
+		assertFalse(stream.received("event 1"));
+	}
+
+	private RecordingEmitter subscribe(Long userId, String lastEventId) {
+		registry.subscribe(userId, lastEventId);
+		return emitters.getLast();
+	}
+
+	private void sendInline() {
+		ReflectionTestUtils.setField(registry, "sendExecutor", (Executor) Runnable::run);
+	}
+
+	private void sendLater() {
+		ReflectionTestUtils.setField(registry, "sendExecutor", (Executor) pendingSends::add);
+	}
+
+	private void runPendingSends() {
+		while (!pendingSends.isEmpty()) {
+			pendingSends.removeFirst().run();
+		}
+	}
+
+	/** Keeps what would have been written to the connection, one rendered event per entry. */
+	private static final class RecordingEmitter extends SseEmitter {
+		private final List<String> sent = new ArrayList<>();
+		private boolean failing;
+		private int failedAttempts;
+		private boolean completed;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (failing) {
+				failedAttempts++;
+				throw new IOException("Broken pipe");
+			}
+			sent.add(builder.build().stream()
+					.map(ResponseBodyEmitter.DataWithMediaType::getData)
+					.map(String::valueOf)
+					.collect(Collectors.joining()));
+		}
+
+		@Override
+		public void complete() {
+			completed = true;
+			super.complete();
+		}
+
+		boolean received(String text) {
+			return sent.stream().anyMatch(event -> event.contains(text));
+		}
+
+		String idOf(String data) {
+			String event = sent.stream().filter(e -> e.contains("data:" + data + "\n")).findFirst().orElseThrow();
+			return event.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.hyperlocal.backend.common.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against a local MinIO, e.g.
+ * docker run -p 9000:9000 minio/minio server /data && mc mb local/hyperlocal-test
+ * MINIO_ENDPOINT=http://localhost:9000 MINIO_BUCKET=hyperlocal-test mvn test
+ */
+@EnabledIfEnvironmentVariable(named = "MINIO_ENDPOINT", matches = ".+")
+class S3StorageBackendTests {
+
+	private S3StorageBackend backend;
+
+	@BeforeEach
+	void setUp() {
+		backend = new S3StorageBackend();
+		ReflectionTestUtils.setField(backend, "bucket", env("MINIO_BUCKET", "hyperlocal-test"));
+		ReflectionTestUtils.setField(backend, "endpoint", System.getenv("MINIO_ENDPOINT"));
+		ReflectionTestUtils.setField(backend, "region", "us-east-1");
+		ReflectionTestUtils.setField(backend, "accessKey", env("MINIO_ACCESS_KEY", "minioadmin"));
+		ReflectionTestUtils.setField(backend, "secretKey", env("MINIO_SECRET_KEY", "minioadmin"));
+		ReflectionTestUtils.setField(backend, "pathStyleAccess", true);
+		ReflectionTestUtils.setField(backend, "presignedDownloads", true);
+		backend.init();
+	}
+
+	@AfterEach
+	void tearDown() {
+		backend.close();
+	}
+
+	@Test
+	void putStatRangeListDelete() throws Exception {
+		String key = UploadLayout.userFileKey(UploadLayout.LISTINGS, 42L, "listing_42_1_0.png");
+		byte[] content = "0123456789".getBytes();
+
+		backend.put(key, new ByteArrayInputStream(content), content.length, "image/png");
+
+		assertEquals(10, backend.stat(key).orElseThrow().size());
+		try (InputStream in = backend.openRange(key, 2, 3)) {
+			assertEquals("234", new String(in.readAllBytes()));
+		}
+		try (Stream<StoredObject> objects = backend.list(UploadLayout.userDirectory(UploadLayout.LISTINGS, 42L) + "/")) {
+			assertEquals(List.of(key), objects.map(StoredObject::key).toList());
+		}
+		assertTrue(backend.presignedDownloadUrl(key, Duration.ofMinutes(1)).isPresent());
+
+		backend.delete(key);
+		assertFalse(backend.exists(key));
+	}
+
+	@Test
+	void maximumSizeUploadStreamsInOnePut() throws Exception {
+		String key = UploadLayout.userFileKey(UploadLayout.DOCUMENTS, 7L, "gov_id_7_1.pdf");
+		byte[] content = new byte[5 * 1024 * 1024];
+		Arrays.fill(content, (byte) 'x');
+		content[content.length - 1] = 'y';
+
+		backend.put(key, new ByteArrayInputStream(content), content.length, "application/pdf");
+
+		assertEquals(content.length, backend.stat(key).orElseThrow().size());
+		try (InputStream in = backend.openRange(key, content.length - 1, 1)) {
+			assertEquals('y', in.read());
+		}
+		backend.delete(key);
+	}
+
+	private static String env(String name, String fallback) {
+		String value = System.getenv(name);
+		return value != null ? value : fallback;
+	}
+}
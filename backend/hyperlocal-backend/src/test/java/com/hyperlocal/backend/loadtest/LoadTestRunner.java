@@ -0,0 +1,327 @@
+package com.hyperlocal.backend.loadtest;
+
+import com.hyperlocal.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Starts the backend in-process on H2 ("loadtest" + "seed" profiles), then replays the main user
+ * journeys with a fixed number of closed-loop virtual users and reports throughput and latency
+ * percentiles per operation.
+ *
+ * System properties:
+ *   loadtest.duration     measured run length (ISO-8601, default PT60S), preceded by a 15s warm-up
+ *   loadtest.concurrency  concurrent virtual users (default 32)
+ *   loadtest.variants     comma-separated backend configurations to compare, each run in its own
+ *                         context; a variant is "default" or "+"-joined Spring profiles, e.g.
+ *                         "default,virtual-threads" (default "default")
+ *   loadtest.output       JSON result file (default target/loadtest-result.json)
+ *
+ * Journey mix: browse 45%, listing detail 25%, availability 15%, request + owner approval 15%.
+ */
+public class LoadTestRunner {
+
+	private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+	private static final String PASSWORD = "password123";
+	private static final Duration WARMUP = Duration.ofSeconds(15);
+	private static final String DEFAULT_VARIANT = "default";
+
+	private final HttpClient client = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private final Map<String, String> tokens = new ConcurrentHashMap<>();
+	private final String baseUrl;
+	private final List<Candidate> candidates;
+
+	/** A member that can borrow a listing in one of their communities. */
+	private record Candidate(long userId, String email, long listingId, long ownerId, String ownerEmail,
+							 LocalDate availableFrom, LocalDate availableTo) {
+	}
+
+	private LoadTestRunner(String baseUrl, List<Candidate> candidates) {
+		this.baseUrl = baseUrl;
+		this.candidates = candidates;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Duration duration = Duration.parse(System.getProperty("loadtest.duration", "PT60S"));
+		int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+		String variants = System.getProperty("loadtest.variants", DEFAULT_VARIANT);
+		Path output = Path.of(System.getProperty("loadtest.output", "target/loadtest-result.json"));
+
+		List<String> reports = new ArrayList<>();
+		for (String variant : variants.split(",")) {
+			if (!variant.isBlank()) {
+				reports.add(runVariant(variant.trim(), duration, concurrency));
+			}
+		}
+
+		String report = "[\n" + String.join(",\n", reports) + "\n]\n";
+		System.out.println(report);
+		Files.createDirectories(output.toAbsolutePath().getParent());
+		Files.writeString(output, report);
+	}
+
+	/**
+	 * Runs one variant in a fresh application context. The in-memory database is recreated and
+	 * reseeded with the same random seed, so every variant sees the same dataset.
+	 */
+	private static String runVariant(String variant, Duration duration, int concurrency) throws InterruptedException {
+		List<String> profiles = new ArrayList<>(List.of("loadtest", "seed"));
+		if (!DEFAULT_VARIANT.equals(variant)) {
+			profiles.addAll(Arrays.asList(variant.split("\\+")));
+		}
+
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+		application.setAdditionalProfiles(profiles.toArray(String[]::new));
+		try (ConfigurableApplicationContext context = application.run("--server.port=0")) {
+			String port = context.getEnvironment().getRequiredProperty("local.server.port");
+			List<Candidate> candidates = loadCandidates(context.getBean(JdbcTemplate.class));
+
+			LoadTestRunner runner = new LoadTestRunner("http://localhost:" + port, candidates);
+			System.out.printf("[%s] Warming up for %s with %d virtual users%n", variant, WARMUP, concurrency);
+			runner.run(WARMUP, concurrency);
+			System.out.printf("[%s] Measuring for %s with %d virtual users%n", variant, duration, concurrency);
+			return report(variant, runner.run(duration, concurrency), duration, concurrency);
+		}
+	}
+
+	private static List<Candidate> loadCandidates(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.query("""
+				SELECT cm.user_id, u.email, l.id, l.owner_id, o.email, l.available_from, l.available_to
+				FROM community_members cm
+				JOIN listings l ON l.community_id = cm.community_id AND l.owner_id <> cm.user_id
+				JOIN users u ON u.id = cm.user_id
+				JOIN users o ON o.id = l.owner_id
+				WHERE cm.status = 'APPROVED' AND l.available_to > CURRENT_DATE + 14
+				ORDER BY cm.user_id, l.id
+				LIMIT 20000
+				""", (rs, row) -> new Candidate(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4),
+				rs.getString(5), rs.getDate(6).toLocalDate(), rs.getDate(7).toLocalDate()));
+	}
+
+	private Map<String, Stats> run(Duration duration, int concurrency) throws InterruptedException {
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<Map<String, Stats>> perWorker = new ArrayList<>();
+		try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < concurrency; i++) {
+				Map<String, Stats> stats = new TreeMap<>();
+				perWorker.add(stats);
+				workers.submit(() -> {
+					Random random = ThreadLocalRandom.current();
+					while (System.nanoTime() < deadline) {
+						journey(random, stats);
+					}
+					return null;
+				});
+			}
+		}
+
+		Map<String, Stats> merged = new TreeMap<>();
+		for (Map<String, Stats> stats : perWorker) {
+			stats.forEach((operation, s) -> merged.computeIfAbsent(operation, k -> new Stats()).merge(s));
+		}
+		return merged;
+	}
+
+	private void journey(Random random, Map<String, Stats> stats) {
+		Candidate candidate = candidates.get(random.nextInt(candidates.size()));
+		String token = token(candidate.email());
+		int roll = random.nextInt(100);
+		try {
+			if (roll < 45) {
+				int page = random.nextInt(5);
+				call(stats, "browse", token, get("/api/marketplace/listings?page=" + page + "&size=20", token));
+			} else if (roll < 70) {
+				call(stats, "listing_detail", token, get("/api/marketplace/listings/" + candidate.listingId(), token));
+			} else if (roll < 85) {
+				call(stats, "availability", token,
+						get("/api/marketplace/requests/listings/" + candidate.listingId() + "/availability", token));
+			} else {
+				requestAndApprove(random, candidate, token, stats);
+			}
+		} catch (IOException e) {
+			stats.computeIfAbsent("io_error", k -> new Stats()).record(0, false);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void requestAndApprove(Random random, Candidate candidate, String token, Map<String, Stats> stats)
+			throws IOException, InterruptedException {
+		LocalDate earliest = LocalDate.now().isAfter(candidate.availableFrom()) ? LocalDate.now() : candidate.availableFrom();
+		long span = Math.max(1, candidate.availableTo().toEpochDay() - earliest.toEpochDay() - 3);
+		LocalDate start = earliest.plusDays(random.nextLong(span));
+		LocalDate end = start.plusDays(random.nextInt(3));
+		String body = """
+				{"listingId": %d, "startDate": "%s", "endDate": "%s", "message": "Load test"}
+				""".formatted(candidate.listingId(), start, end);
+
+		HttpResponse<String> created = call(stats, "create_request", token, HttpRequest.newBuilder(uri("/api/marketplace/requests"))
+				.header("Authorization", "Bearer " + token)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build());
+		if (created.statusCode() / 100 != 2) {
+			return;
+		}
+
+		Matcher id = ID.matcher(created.body());
+		if (id.find()) {
+			String ownerToken = token(candidate.ownerEmail());
+			call(stats, "approve_request", ownerToken,
+					HttpRequest.newBuilder(uri("/api/marketplace/requests/" + id.group(1) + "/approve"))
+							.header("Authorization", "Bearer " + ownerToken)
+							.method("PATCH", HttpRequest.BodyPublishers.noBody())
+							.build());
+		}
+	}
+
+	private HttpResponse<String> call(Map<String, Stats> stats, String operation, String token, HttpRequest request)
+			throws IOException, InterruptedException {
+		long start = System.nanoTime();
+		HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+		// 409 on create/approve is an expected business outcome (overlapping dates), not a failure
+		boolean ok = response.statusCode() / 100 == 2 || response.statusCode() == 409;
+		stats.computeIfAbsent(operation, k -> new Stats()).record(System.nanoTime() - start, ok);
+		return response;
+	}
+
+	private HttpRequest get(String path, String token) {
+		return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token).GET().build();
+	}
+
+	private URI uri(String path) {
+		return URI.create(baseUrl + path);
+	}
+
+	private String token(String email) {
+		// Not computeIfAbsent: logging in is a blocking HTTP call and must not hold the map's bin lock
+		String token = tokens.get(email);
+		if (token == null) {
+			token = login(email);
+			tokens.putIfAbsent(email, token);
+		}
+		return token;
+	}
+
+	private String login(String email) {
+		String body = """
+				{"email": "%s", "password": "%s"}
+				""".formatted(email, PASSWORD);
+		try {
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body))
+					.build(), HttpResponse.BodyHandlers.ofString());
+			Matcher matcher = TOKEN.matcher(response.body());
+			if (!matcher.find()) {
+				throw new IllegalStateException("Login failed for " + email + ": " + response.statusCode());
+			}
+			return matcher.group(1);
+		} catch (IOException e) {
+			throw new IllegalStateException("Login failed for " + email, e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String report(String variant, Map<String, Stats> results, Duration duration, int concurrency) {
+		double seconds = duration.toMillis() / 1000.0;
+		StringBuilder json = new StringBuilder();
+		json.append("{\n  \"variant\": \"").append(variant).append('"')
+				.append(",\n  \"durationSeconds\": ").append(seconds)
+				.append(",\n  \"concurrency\": ").append(concurrency)
+				.append(",\n  \"operations\": {");
+		long total = 0;
+		String separator = "\n";
+		for (Map.Entry<String, Stats> entry : results.entrySet()) {
+			Stats stats = entry.getValue();
+			total += stats.count;
+			Map<String, Object> fields = new LinkedHashMap<>();
+			fields.put("count", stats.count);
+			fields.put("errors", stats.errors);
+			fields.put("throughputPerSecond", round(stats.count / seconds));
+			fields.put("p50Ms", round(stats.percentile(0.50) / 1e6));
+			fields.put("p99Ms", round(stats.percentile(0.99) / 1e6));
+			fields.put("p999Ms", round(stats.percentile(0.999) / 1e6));
+			fields.put("maxMs", round(stats.percentile(1.0) / 1e6));
+			json.append(separator).append("    \"").append(entry.getKey()).append("\": {");
+			String fieldSeparator = "";
+			for (Map.Entry<String, Object> field : fields.entrySet()) {
+				json.append(fieldSeparator).append('"').append(field.getKey()).append("\": ").append(field.getValue());
+				fieldSeparator = ", ";
+			}
+			json.append('}');
+			separator = ",\n";
+		}
+		json.append("\n  },\n  \"totalThroughputPerSecond\": ").append(round(total / seconds)).append("\n}");
+		return json.toString();
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 100) / 100.0;
+	}
+
+	/** Latencies of one operation; not thread-safe, one instance per worker and operation. */
+	private static final class Stats {
+
+		private long[] latencies = new long[1024];
+		private int count;
+		private long errors;
+
+		void record(long nanos, boolean ok) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = nanos;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		void merge(Stats other) {
+			for (int i = 0; i < other.count; i++) {
+				record(other.latencies[i], true);
+			}
+			errors += other.errors;
+		}
+
+		double percentile(double quantile) {
+			if (count == 0) {
+				return 0;
+			}
+			long[] sorted = Arrays.copyOf(latencies, count);
+			Arrays.sort(sorted);
+			int index = (int) Math.ceil(quantile * count) - 1;
+			return sorted[Math.max(0, Math.min(count - 1, index))];
+		}
+	}
+}
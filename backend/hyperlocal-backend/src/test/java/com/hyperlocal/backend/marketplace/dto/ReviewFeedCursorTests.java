@@ -0,0 +1,32 @@
+package com.hyperlocal.backend.marketplace.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReviewFeedCursorTests {
+
+	@Test
+	void roundTripsCreatedAtAndId() {
+		ReviewFeedCursor cursor = new ReviewFeedCursor(LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), 42L);
+
+		assertEquals(cursor, ReviewFeedCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void absentTokenMeansFirstPage() {
+		assertNull(ReviewFeedCursor.decode(null));
+		assertNull(ReviewFeedCursor.decode(""));
+	}
+
+	@Test
+	void rejectsUnreadableTokens() {
+		assertThrows(IllegalArgumentException.class, () -> ReviewFeedCursor.decode("not base64!"));
+		assertThrows(IllegalArgumentException.class, () -> ReviewFeedCursor.decode("bm8tc2VwYXJhdG9y"));
+		assertThrows(IllegalArgumentException.class, () -> ReviewFeedCursor.decode("eWVzdGVyZGF5fDE"));
+	}
+}
@@ -0,0 +1,55 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestCountsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BorrowRequestCountsCacheTests {
+
+	private final AtomicInteger loads = new AtomicInteger();
+	private BorrowRequestCountsCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new BorrowRequestCountsCache(new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+		cache.init();
+	}
+
+	@Test
+	void servesCachedCountsUntilInvalidated() {
+		BorrowRequestCountsResponse first = cache.get(1L, this::load);
+		assertSame(first, cache.get(1L, this::load));
+		assertEquals(1, loads.get());
+
+		cache.invalidateAfterCommit(List.of(1L));
+		cache.get(1L, this::load);
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void loadRacingAnInvalidationIsNotCached() {
+		// The invalidation lands while the counts are being loaded, so the loaded value may be stale
+		cache.get(1L, () -> {
+			cache.invalidateAfterCommit(List.of(1L));
+			return load();
+		});
+
+		cache.get(1L, this::load);
+		assertEquals(2, loads.get());
+	}
+
+	private BorrowRequestCountsResponse load() {
+		loads.incrementAndGet();
+		return BorrowRequestCountsResponse.builder().build();
+	}
+}
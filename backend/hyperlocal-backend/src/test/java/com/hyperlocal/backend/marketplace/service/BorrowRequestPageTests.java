@@ -0,0 +1,68 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.common.dto.FieldSet;
+import com.hyperlocal.backend.common.dto.PagedResponseDto;
+import com.hyperlocal.backend.marketplace.dto.BorrowRequestResponse;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BorrowRequestPageTests {
+
+	private final BorrowRequestResponse row = BorrowRequestResponse.builder()
+			.id(1L)
+			.listingId(10L)
+			.requesterId(2L)
+			.requesterName("Requester")
+			.requesterTrustIndex(70)
+			.ownerId(3L)
+			.ownerName("Owner")
+			.listingTitle("Drill")
+			.startDate(LocalDate.of(2026, 1, 5))
+			.status(BorrowRequestStatus.PENDING)
+			.build();
+
+	@Test
+	void sentRequestsKeepEveryJoinedField() {
+		BorrowRequestResponse response = page(true, FieldSet.ALL);
+
+		assertEquals("Requester", response.getRequesterName());
+		assertEquals("Owner", response.getOwnerName());
+		assertEquals("Drill", response.getListingTitle());
+	}
+
+	@Test
+	void incomingRequestsDropOwnerDetails() {
+		BorrowRequestResponse response = page(false, FieldSet.ALL);
+
+		assertNull(response.getOwnerId());
+		assertNull(response.getOwnerName());
+		assertEquals("Requester", response.getRequesterName());
+	}
+
+	@Test
+	void unselectedFieldsAreLeftNullButIdIsKept() {
+		BorrowRequestResponse response = page(true, FieldSet.parse("status,requesterName", BorrowRequestResponse.FIELDS));
+
+		assertEquals(1L, response.getId());
+		assertEquals(BorrowRequestStatus.PENDING, response.getStatus());
+		assertEquals("Requester", response.getRequesterName());
+		assertNull(response.getRequesterTrustIndex());
+		assertNull(response.getListingTitle());
+		assertNull(response.getOwnerName());
+		assertNull(response.getStartDate());
+	}
+
+	private BorrowRequestResponse page(boolean includeOwnerDetails, FieldSet fields) {
+		PagedResponseDto<BorrowRequestResponse> page = BorrowRequestService.toPagedResponse(
+				new PageImpl<>(List.of(row), PageRequest.of(0, 20), 1), includeOwnerDetails, fields);
+		return page.getContent().getFirst();
+	}
+}
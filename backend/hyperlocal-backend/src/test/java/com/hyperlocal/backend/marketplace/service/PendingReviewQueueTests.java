@@ -0,0 +1,121 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.TestFixture;
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.PendingReview;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.user.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static com.hyperlocal.backend.TestFixture.as;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The pending-review queue behind /api/reviews/me/pending follows the borrow request and listing
+ * lifecycle. Each test runs in one transaction that is rolled back afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class PendingReviewQueueTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TestFixture fixture;
+	private User owner;
+	private User borrower;
+	private Listing listing;
+
+	@BeforeEach
+	void seed() {
+		fixture = new TestFixture(entityManager);
+		owner = fixture.seedUser("Queue Owner", "owner@queue.test");
+		borrower = fixture.seedUser("Queue Borrower", "borrower@queue.test");
+		Community community = fixture.seedCommunity("Queue Commons", "QUEUE1", owner);
+		listing = fixture.seedListing(owner, community, "Cordless drill", ListingCategory.values()[0]);
+		entityManager.flush();
+	}
+
+	@Test
+	void completingARequestQueuesItsReview() throws Exception {
+		BorrowRequest request = seedRequest(BorrowRequestStatus.APPROVED);
+
+		mockMvc.perform(patch("/api/marketplace/requests/{id}/complete", request.getId()).with(as(owner)))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/api/reviews/me/pending").with(as(borrower)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].transactionId", contains(request.getId().intValue())))
+				.andExpect(jsonPath("$[0].ownerName").value(owner.getName()));
+		mockMvc.perform(get("/api/reviews/me/pending").with(as(owner)))
+				.andExpect(jsonPath("$", empty()));
+	}
+
+	@Test
+	void postingTheReviewDequeuesIt() throws Exception {
+		BorrowRequest request = seedCompletedWithPendingReview();
+
+		mockMvc.perform(post("/api/reviews").with(as(borrower))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"transactionId": %d, "listingId": %d, "revieweeUserId": %d, "rating": 4,
+								 "comment": "Worked as described", "recommend": true}
+								""".formatted(request.getId(), listing.getId(), owner.getId())))
+				.andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get("/api/reviews/me/pending").with(as(borrower)))
+				.andExpect(jsonPath("$", empty()));
+	}
+
+	@Test
+	void deletingTheListingDequeuesItsReviews() throws Exception {
+		seedCompletedWithPendingReview();
+
+		mockMvc.perform(delete("/api/marketplace/listings/{id}", listing.getId()).with(as(owner)))
+				.andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get("/api/reviews/me/pending").with(as(borrower)))
+				.andExpect(jsonPath("$", empty()));
+	}
+
+	private BorrowRequest seedRequest(BorrowRequestStatus status) {
+		BorrowRequest request = fixture.seedRequest(listing, borrower, LocalDate.now().minusDays(2), LocalDate.now(), status);
+		entityManager.flush();
+		return request;
+	}
+
+	private BorrowRequest seedCompletedWithPendingReview() throws Exception {
+		BorrowRequest request = seedRequest(BorrowRequestStatus.COMPLETED);
+		entityManager.persist(PendingReview.of(request));
+		entityManager.flush();
+
+		mockMvc.perform(get("/api/reviews/me/pending").with(as(borrower)))
+				.andExpect(jsonPath("$[*].transactionId", contains(request.getId().intValue())));
+		return request;
+	}
+}
@@ -0,0 +1,168 @@
+package com.hyperlocal.backend.marketplace.service;
+
+import com.hyperlocal.backend.TestFixture;
+import com.hyperlocal.backend.community.entity.Community;
+import com.hyperlocal.backend.marketplace.entity.BorrowRequest;
+import com.hyperlocal.backend.marketplace.entity.Listing;
+import com.hyperlocal.backend.marketplace.entity.Review;
+import com.hyperlocal.backend.marketplace.enums.BorrowRequestStatus;
+import com.hyperlocal.backend.marketplace.enums.ListingCategory;
+import com.hyperlocal.backend.user.entity.User;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.hyperlocal.backend.TestFixture.as;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The review feed of /api/reviews/listings/{id}: keyset slices and the maintained rating histogram.
+ * Each test runs in one transaction that is rolled back afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReviewFeedTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ReviewDenormalizationBackfill reviewDenormalizationBackfill;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private TestFixture fixture;
+	private User owner;
+	private User borrower;
+	private Listing listing;
+
+	@BeforeEach
+	void seed() {
+		fixture = new TestFixture(entityManager);
+		owner = fixture.seedUser("Feed Owner", "owner@feed.test");
+		borrower = fixture.seedUser("Feed Borrower", "borrower@feed.test");
+		Community community = fixture.seedCommunity("Feed Commons", "FEED1", owner);
+		listing = fixture.seedListing(owner, community, "Pressure washer", ListingCategory.values()[0]);
+		entityManager.flush();
+	}
+
+	@Test
+	void slicesNeverSkipOrRepeatReviewsWithTheSameTimestamp() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(seedReview(4, borrower.getName()).getId());
+		}
+		Long oldest = seedReview(3, borrower.getName()).getId();
+		entityManager.flush();
+		LocalDateTime sameInstant = LocalDateTime.now().withNano(0);
+		setCreatedAt(sameInstant, ids);
+		setCreatedAt(sameInstant.minusDays(1), List.of(oldest));
+		entityManager.clear();
+
+		List<Long> fed = new ArrayList<>();
+		String cursor = null;
+		do {
+			var slice = get("/api/reviews/listings/{id}", listing.getId()).param("size", "2").with(as(borrower));
+			if (cursor != null) {
+				slice.param("cursor", cursor);
+			}
+			String body = mockMvc.perform(slice)
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+			List<Number> sliceIds = JsonPath.read(body, "$.content[*].id");
+			sliceIds.forEach(id -> fed.add(id.longValue()));
+			cursor = JsonPath.read(body, "$.nextCursor");
+		} while (cursor != null);
+
+		// Equal timestamps are ordered by id, newest id first; the older review comes last
+		List<Long> expected = new ArrayList<>(ids);
+		expected.sort(Comparator.reverseOrder());
+		expected.add(oldest);
+		assertEquals(expected, fed);
+	}
+
+	@Test
+	void histogramCountsEachPostedReview() throws Exception {
+		postReview(seedRequest(), 5, true);
+		postReview(seedRequest(), 2, false);
+
+		mockMvc.perform(get("/api/reviews/listings/{id}", listing.getId()).with(as(borrower)))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.summary.totalReviews").value(2))
+				.andExpect(jsonPath("$.summary.averageRating").value(3.5))
+				.andExpect(jsonPath("$.summary.recommendRate").value(50))
+				.andExpect(jsonPath("$.summary.ratingCounts['5']").value(1))
+				.andExpect(jsonPath("$.summary.ratingCounts['2']").value(1))
+				.andExpect(jsonPath("$.summary.ratingCounts['1']").value(0))
+				.andExpect(jsonPath("$.content[0].reviewerName").value(borrower.getName()));
+	}
+
+	@Test
+	void historicalReviewsShowTheReviewersCurrentNameUntilBackfilled() throws Exception {
+		seedReview(4, null);
+		entityManager.flush();
+
+		mockMvc.perform(get("/api/reviews/listings/{id}", listing.getId()).with(as(borrower)))
+				.andExpect(jsonPath("$.content[0].reviewerName").value(borrower.getName()));
+	}
+
+	@Test
+	void backfillNamesReviewersOfHistoricalReviews() {
+		Long reviewId = seedReview(4, null).getId();
+		entityManager.flush();
+
+		assertEquals(1, reviewDenormalizationBackfill.backfill().reviewerNamesFilled());
+		assertEquals(borrower.getName(), entityManager
+				.createNativeQuery("SELECT reviewer_name FROM reviews WHERE id = :id")
+				.setParameter("id", reviewId)
+				.getSingleResult());
+	}
+
+	private void postReview(BorrowRequest request, int rating, boolean recommend) throws Exception {
+		mockMvc.perform(post("/api/reviews").with(as(borrower))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("""
+								{"transactionId": %d, "listingId": %d, "revieweeUserId": %d, "rating": %d,
+								 "comment": "Worked as described", "recommend": %b}
+								""".formatted(request.getId(), listing.getId(), owner.getId(), rating, recommend)))
+				.andExpect(status().is2xxSuccessful());
+	}
+
+	private void setCreatedAt(LocalDateTime createdAt, List<Long> reviewIds) {
+		entityManager.createNativeQuery("UPDATE reviews SET created_at = :createdAt WHERE id IN (:ids)")
+				.setParameter("createdAt", createdAt)
+				.setParameter("ids", reviewIds)
+				.executeUpdate();
+	}
+
+	private BorrowRequest seedRequest() {
+		BorrowRequest request = fixture.seedRequest(listing, borrower,
+				LocalDate.now().minusDays(10), LocalDate.now().minusDays(8), BorrowRequestStatus.COMPLETED);
+		entityManager.flush();
+		return request;
+	}
+
+	private Review seedReview(int rating, String reviewerName) {
+		return fixture.seedReview(seedRequest(), borrower, reviewerName, rating);
+	}
+}
@@ -0,0 +1,99 @@
+package com.hyperlocal.backend.user.service;
+
+import com.hyperlocal.backend.marketplace.enums.ListingStatus;
+import com.hyperlocal.backend.user.repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceTests {
+
+	@Mock
+	private UserStatsRepository userStatsRepository;
+
+	@Mock
+	private UserStatsRebuildJob rebuildJob;
+
+	@InjectMocks
+	private UserStatsService userStatsService;
+
+	@Test
+	void switchedOffListingIsPostedButNotActive() {
+		when(userStatsRepository.addListings(7L, 1, 0)).thenReturn(1);
+
+		userStatsService.listingCreated(7L, ListingStatus.UNAVAILABLE);
+
+		verify(rebuildJob, never()).insertMissing(anyLong());
+	}
+
+	@Test
+	void borrowingKeepsListingActive() {
+		userStatsService.listingStatusChanged(7L, ListingStatus.AVAILABLE, ListingStatus.BORROWED);
+
+		verify(userStatsRepository, never()).addListings(anyLong(), anyLong(), anyLong());
+	}
+
+	@Test
+	void togglingOffDecrementsActiveListings() {
+		when(userStatsRepository.addListings(7L, 0, -1)).thenReturn(1);
+
+		userStatsService.listingStatusChanged(7L, ListingStatus.AVAILABLE, ListingStatus.UNAVAILABLE);
+
+		verify(userStatsRepository).addListings(7L, 0, -1);
+	}
+
+	@Test
+	void missingRowIsInsertedBeforeCommitInsteadOfUpdated() {
+		when(userStatsRepository.incrementCompletedLends(9L)).thenReturn(0);
+		when(userStatsRepository.incrementCompletedBorrows(10L)).thenReturn(1);
+		when(rebuildJob.insertMissing(9L)).thenReturn(1);
+
+		inTransaction(() -> userStatsService.borrowCompleted(9L, 10L));
+
+		verify(rebuildJob).insertMissing(9L);
+		verify(rebuildJob, never()).insertMissing(10L);
+		verify(userStatsRepository).incrementCompletedLends(9L);
+	}
+
+	@Test
+	void rowInsertedConcurrentlyGetsEveryUpdate() {
+		when(userStatsRepository.addListings(9L, 0, 1)).thenReturn(0);
+		when(userStatsRepository.addRating(9L, 5)).thenReturn(0);
+		when(rebuildJob.insertMissing(9L)).thenReturn(0);
+
+		inTransaction(() -> {
+			userStatsService.listingStatusChanged(9L, ListingStatus.UNAVAILABLE, ListingStatus.AVAILABLE);
+			userStatsService.reviewReceived(9L, 5);
+		});
+
+		verify(rebuildJob).insertMissing(9L);
+		verify(userStatsRepository, times(2)).addListings(9L, 0, 1);
+		verify(userStatsRepository, times(2)).addRating(9L, 5);
+	}
+
+	/** Runs the calls in a stand-in transaction, then commits it as far as synchronizations go. */
+	private static void inTransaction(Runnable calls) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			calls.run();
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+			synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+}
@@ -25,7 +25,7 @@ export default function ListingReviewsSection({ itemId, itemTitle, reviewContext
     const shouldFetch = !reviewsData;
     const { data: fetchedData, isLoading: isFetching, isError: fetchError, refetch } = useQuery({
         queryKey: ['listingReviews', itemId],
-        queryFn: () => getListingReviews(itemId, { page: 0, size: 5, sort: 'createdAt,desc' }),
+        queryFn: () => getListingReviews(itemId, { size: 5 }),
         enabled: shouldFetch && Boolean(itemId),
     });
 
@@ -58,14 +58,11 @@ export default function ListingReviewsSection({ itemId, itemTitle, reviewContext
 
     const averageRating = Number(summary.averageRating ?? 0);
     const totalRatings = Number(summary.totalReviews ?? 0);
-    const recommendRate = Number(
-        summary.recommendRate
-        ?? summary.recommendationRate
-        ?? summary.recommendPercentage
-        ?? (normalizedReviews.length
-            ? Math.round((normalizedReviews.filter((review) => review.recommend).length / normalizedReviews.length) * 100)
-            : 0)
-    );
+    const recommendRate = Number(summary.recommendRate ?? 0);
+    const ratingCounts = [5, 4, 3, 2, 1].map((star) => ({
+        star,
+        count: Number(summary.ratingCounts?.[star] ?? 0),
+    }));
     const reviewsToRender = normalizedReviews;
     const canReview = Boolean(reviewContext?.transactionId && reviewContext?.revieweeUserId && itemId);
     const showTopEmptyHint = !loadingState && !errorState && totalRatings === 0;
@@ -164,10 +161,27 @@ export default function ListingReviewsSection({ itemId, itemTitle, reviewContext
                 <div className="bg-gray-50 rounded-xl p-4 border border-gray-100">
                     <p className="text-[11px] uppercase tracking-wide font-semibold text-muted-green">Would recommend</p>
                     <p className="text-2xl font-bold text-charcoal mt-1">{recommendRate}%</p>
-                    <p className="text-xs text-muted-green mt-1">Based on the latest reviews shown</p>
+                    <p className="text-xs text-muted-green mt-1">Based on all ratings</p>
                 </div>
             </div>
 
+            {totalRatings > 0 && (
+                <div className="space-y-1.5">
+                    {ratingCounts.map(({ star, count }) => (
+                        <div key={star} className="flex items-center gap-2 text-xs text-muted-green">
+                            <span className="w-8 font-semibold text-charcoal">{star} ★</span>
+                            <div className="flex-1 h-2 rounded-full bg-gray-100 overflow-hidden">
+                                <div
+                                    className="h-full rounded-full bg-amber-500"
+                                    style={{ width: `${(count / totalRatings) * 100}%` }}
+                                />
+                            </div>
+                            <span className="w-8 text-right">{count}</span>
+                        </div>
+                    ))}
+                </div>
+            )}
+
             <div className="space-y-3">
                 {loadingState ? (
                     <div className="text-sm text-muted-green">Loading reviews...</div>
@@ -16,8 +16,7 @@ import {
   getMyListings,
   getMySentRequests,
   rejectBorrowRequest,
-  getMySentRequestsCount,
-  getIncomingRequestsCount,
+  getRequestCounts,
 } from '../services/marketplaceService';
 import { useJoinCommunity, useMyCommunities } from '../hooks/useCommunityMutations';
 import { getMyProfile } from '../services/profileService';
@@ -81,9 +80,9 @@ export default function DashboardPage() {
 
   // Marketplace Queries — keys are scoped to user.id so User A's cache is
   // never served to User B even during the brief window after login.
-  const { data: myListings = [] } = useQuery({
-    queryKey: ['myListings', user?.id],
-    queryFn: getMyListings,
+  const { data: myListingsPage } = useQuery({
+    queryKey: ['myListings', user?.id, 'preview'],
+    queryFn: () => getMyListings({ size: 4 }),
     enabled: !!user,
   });
 
@@ -105,23 +104,14 @@ export default function DashboardPage() {
     enabled: !!user,
   });
 
-  const { data: itemsBorrowed = 0 } = useQuery({
-    queryKey: ['itemsBorrowedCount', user?.id],
-    queryFn: () => getMySentRequestsCount('COMPLETED'),
-    enabled: !!user,
-  });
-
-  const { data: itemsShared = 0 } = useQuery({
-    queryKey: ['itemsSharedCount', user?.id],
-    queryFn: () => getIncomingRequestsCount('COMPLETED'),
-    enabled: !!user,
-  });
-
-  const { data: pendingRequestsCount = 0 } = useQuery({
-    queryKey: ['pendingRequestsCount', user?.id],
-    queryFn: () => getIncomingRequestsCount('PENDING'),
+  const { data: requestCounts } = useQuery({
+    queryKey: ['requestCounts', user?.id],
+    queryFn: getRequestCounts,
     enabled: !!user,
   });
+  const itemsBorrowed = requestCounts?.outgoing?.COMPLETED ?? 0;
+  const itemsShared = requestCounts?.incoming?.COMPLETED ?? 0;
+  const pendingRequestsCount = requestCounts?.incoming?.PENDING ?? 0;
 
   const verified = profile?.verified ?? false;
   const { trustIndex, trustXp } = normalizeTrustValues(profile?.trustIndex, profile?.trustXp);
@@ -138,9 +128,7 @@ export default function DashboardPage() {
     queryClient.invalidateQueries({ queryKey: ['incomingRequests', user?.id] });
     queryClient.invalidateQueries({ queryKey: ['sentRequests', user?.id] });
     queryClient.invalidateQueries({ queryKey: ['recentRequests', user?.id] });
-    queryClient.invalidateQueries({ queryKey: ['itemsBorrowedCount', user?.id] });
-    queryClient.invalidateQueries({ queryKey: ['itemsSharedCount', user?.id] });
-    queryClient.invalidateQueries({ queryKey: ['pendingRequestsCount', user?.id] });
+    queryClient.invalidateQueries({ queryKey: ['requestCounts', user?.id] });
   };
 
   const approveMutation = useMutation({
@@ -215,7 +203,7 @@ export default function DashboardPage() {
 
   const activeRequests = requestsTab === 'incoming' ? incomingRequests : sentRequests;
   const previewRequests = activeRequests.slice(0, 3);
-  const previewListings = myListings.slice(0, 4);
+  const previewListings = myListingsPage?.listings ?? [];
   const showCreateListingCard = previewListings.length > 0 && previewListings.length % 2 === 1;
   const pendingRequestCount = incomingRequests.filter((request) => request.status === 'PENDING').length;
 
@@ -689,7 +677,7 @@ export default function DashboardPage() {
                 </button>
               </div>
 
-              {myListings.length > 0 ? (
+              {previewListings.length > 0 ? (
                 <div className="grid grid-cols-1 sm:grid-cols-2 gap-4">
                   {previewListings.map((item) => (
                     <div
@@ -918,7 +906,7 @@ export default function DashboardPage() {
                 <div className="flex items-center justify-between">
                   <span className="text-sm text-muted-green">Active Listings</span>
                   <span className="font-bold text-charcoal">
-                    {myListings.filter((item) => item.status === 'AVAILABLE').length}
+                    {myListingsPage?.statusCounts.AVAILABLE ?? 0}
                   </span>
                 </div>
                 <div className="flex items-center justify-between">
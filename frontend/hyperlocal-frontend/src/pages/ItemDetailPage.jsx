@@ -663,7 +663,7 @@ export default function ItemDetailPage() {
 
     const { data: listingReviewsData, isLoading: listingReviewsLoading, isError: listingReviewsError, refetch: refetchListingReviews } = useQuery({
         queryKey: ['listingReviews', id],
-        queryFn: () => getListingReviews(id, { page: 0, size: 5, sort: 'createdAt,desc' }),
+        queryFn: () => getListingReviews(id, { size: 5 }),
         enabled: !!id,
         staleTime: 1000 * 30,
     });
@@ -12,9 +12,10 @@ export default function MarketplaceActivityPage() {
   const { user } = useAuth();
 
   // Keys scoped to user.id to prevent cross-user cache contamination.
-  const { data: myListings = [], isLoading: listingsLoading } = useQuery({
-    queryKey: ['myListings', user?.id],
-    queryFn: getMyListings,
+  // Only the per-status counts are shown, so a one-item page is enough
+  const { data: myListings, isLoading: listingsLoading } = useQuery({
+    queryKey: ['myListings', user?.id, 'counts'],
+    queryFn: () => getMyListings({ size: 1 }),
     enabled: !!user,
   });
 
@@ -36,7 +37,8 @@ export default function MarketplaceActivityPage() {
   const pendingSent = sentRequests.filter((request) => normalizeStatus(request.status) === 'PENDING').length;
   const borrowedCount = sentRequests.filter((request) => ['APPROVED', 'COMPLETED'].includes(normalizeStatus(request.status))).length;
   const lentCount = incomingRequests.filter((request) => ['APPROVED', 'COMPLETED'].includes(normalizeStatus(request.status))).length;
-  const availableListings = myListings.filter((listing) => normalizeStatus(listing.status) === 'AVAILABLE').length;
+  const totalListings = myListings?.total ?? 0;
+  const availableListings = myListings?.statusCounts.AVAILABLE ?? 0;
   const totalRequests = incomingRequests.length + sentRequests.length;
   const totalPendingRequests = pendingIncoming + pendingSent;
   const isLoadingCards = listingsLoading || incomingLoading || sentLoading;
@@ -67,9 +69,9 @@ export default function MarketplaceActivityPage() {
     {
       title: 'My Listings',
       description: 'Manage listed items, edit details, and update availability.',
-      metric: `${myListings.length} total`,
+      metric: `${totalListings} total`,
       subMetric: `${availableListings} currently available`,
-      badge: `${Math.max(myListings.length - availableListings, 0)} unavailable`,
+      badge: `${Math.max(totalListings - availableListings, 0)} unavailable`,
       action: 'Open Listings',
       path: ROUTES.MY_LISTINGS,
       icon: 'sell',
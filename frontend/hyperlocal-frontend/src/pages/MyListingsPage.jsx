@@ -1,4 +1,4 @@
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { useMutation, useQuery, useQueryClient } from '@tanstack/react-query';
 import { toast } from 'sonner';
@@ -138,16 +138,28 @@ export default function MyListingsPage() {
     const queryClient = useQueryClient();
     const { user } = useAuth();
     const [filter, setFilter] = useState('All');
+    const [page, setPage] = useState(0);
     const [editingItem, setEditingItem] = useState(null);
     const [isEditModalOpen, setIsEditModalOpen] = useState(false);
     const [listingToDelete, setListingToDelete] = useState(null);
 
     // Key scoped to user.id to prevent cross-user cache contamination.
-    const { data: items = [], isLoading } = useQuery({
-        queryKey: ['myListings', user?.id],
-        queryFn: getMyListings,
+    const { data, isLoading } = useQuery({
+        queryKey: ['myListings', user?.id, filter, page],
+        queryFn: () => getMyListings({ status: filter, page }),
         enabled: !!user,
+        placeholderData: (previous) => previous,
     });
+    const items = data?.listings ?? [];
+    const statusCounts = data?.statusCounts ?? {};
+    const totalPages = data?.totalPages ?? 0;
+
+    // Deleting the last listing on the last page leaves that page empty; step back to the new last page
+    useEffect(() => {
+        if (data && page > 0 && page >= data.totalPages) {
+            setPage(Math.max(0, data.totalPages - 1));
+        }
+    }, [data, page]);
 
     const toggleMutation = useMutation({
         mutationFn: (item) => toggleListingAvailability(item.id),
@@ -173,8 +185,6 @@ export default function MyListingsPage() {
         },
     });
 
-    const filtered = filter === 'All' ? items : items.filter(i => i.status === filter);
-
     const handleEdit = (item) => {
         if (item.status === 'BORROWED') return;
         setEditingItem(item);
@@ -239,9 +249,9 @@ export default function MyListingsPage() {
                 {/* Stats row */}
                 <div className="grid grid-cols-3 gap-3 my-6">
                     {[
-                        { label: 'Total Listed', value: items.length, icon: 'inventory_2', color: 'text-primary' },
-                        { label: 'Available', value: items.filter(i => i.status === 'AVAILABLE').length, icon: 'check_circle', color: 'text-green-600' },
-                        { label: 'Borrowed Out', value: items.filter(i => i.status === 'BORROWED').length, icon: 'swap_horiz', color: 'text-blue-600' },
+                        { label: 'Total Listed', value: data?.total ?? 0, icon: 'inventory_2', color: 'text-primary' },
+                        { label: 'Available', value: statusCounts.AVAILABLE ?? 0, icon: 'check_circle', color: 'text-green-600' },
+                        { label: 'Borrowed Out', value: statusCounts.BORROWED ?? 0, icon: 'swap_horiz', color: 'text-blue-600' },
                     ].map(s => (
                         <div key={s.label} className="bg-white rounded-2xl border border-gray-100 shadow-sm p-4 flex items-center gap-3">
                             <span className={`material-symbols-outlined text-2xl ${s.color}`}>{s.icon}</span>
@@ -258,7 +268,7 @@ export default function MyListingsPage() {
                     {['All', 'AVAILABLE', 'BORROWED', 'UNAVAILABLE'].map(f => (
                         <button
                             key={f}
-                            onClick={() => setFilter(f)}
+                            onClick={() => { setFilter(f); setPage(0); }}
                             className={`px-4 py-1.5 rounded-lg text-sm font-semibold transition-colors ${
                                 filter === f ? 'bg-primary text-white shadow-sm' : 'text-muted-green hover:text-charcoal'
                             }`}
@@ -281,7 +291,7 @@ export default function MyListingsPage() {
                             </div>
                         ))}
                     </div>
-                ) : filtered.length === 0 ? (
+                ) : items.length === 0 ? (
                     <div className="flex flex-col items-center justify-center py-24 gap-4 text-center">
                         <div className="w-20 h-20 rounded-full bg-gray-100 flex items-center justify-center">
                             <span className="material-symbols-outlined text-4xl text-muted-green">inventory_2</span>
@@ -301,17 +311,26 @@ export default function MyListingsPage() {
                         </button>
                     </div>
                 ) : (
-                    <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 gap-4">
-                        {filtered.map(item => (
-                            <ListingCard
-                                key={item.id}
-                                item={item}
-                                onEdit={handleEdit}
-                                onToggle={handleToggle}
-                                onDelete={handleDelete}
-                            />
-                        ))}
-                    </div>
+                    <>
+                        <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 gap-4">
+                            {items.map(item => (
+                                <ListingCard
+                                    key={item.id}
+                                    item={item}
+                                    onEdit={handleEdit}
+                                    onToggle={handleToggle}
+                                    onDelete={handleDelete}
+                                />
+                            ))}
+                        </div>
+                        {totalPages > 1 && (
+                            <div className="flex justify-between items-center mt-6">
+                                <button onClick={() => setPage((p) => Math.max(0, p - 1))} disabled={page === 0} className="text-sm text-primary hover:underline disabled:opacity-40 disabled:cursor-not-allowed">← Prev</button>
+                                <span className="text-xs text-muted-green">Page {page + 1} of {totalPages}</span>
+                                <button onClick={() => setPage((p) => p + 1)} disabled={page >= totalPages - 1} className="text-sm text-primary hover:underline disabled:opacity-40 disabled:cursor-not-allowed">Next →</button>
+                            </div>
+                        )}
+                    </>
                 )}
             </div>
 
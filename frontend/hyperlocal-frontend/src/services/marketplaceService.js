@@ -305,19 +305,32 @@ export const deleteItem = async (listingId) => {
 };
 
 /**
- * GET /api/marketplace/listings/me
+ * GET /api/marketplace/listings/me/paged
+ * One page of the user's listings; statusCounts covers all of them, whatever the status filter.
  */
-export const getMyListings = async (status) => {
-    const response = await api.get('/api/marketplace/listings/me', {
-        params: status && status !== 'All' ? { status } : {},
+export const getMyListings = async ({ status, page = 0, size = 12 } = {}) => {
+    const response = await api.get('/api/marketplace/listings/me/paged', {
+        params: {
+            ...(status && status !== 'All' ? { status } : {}),
+            page,
+            size,
+        },
     });
 
-    const listings = Array.isArray(response.data)
-        ? response.data
-        : Array.isArray(response.data?.content)
-            ? response.data.content
-            : [];
-    return listings.map(normalizeListing);
+    const data = response.data ?? {};
+    const statusCounts = {
+        AVAILABLE: Number(data.statusCounts?.AVAILABLE) || 0,
+        BORROWED: Number(data.statusCounts?.BORROWED) || 0,
+        UNAVAILABLE: Number(data.statusCounts?.UNAVAILABLE) || 0,
+    };
+
+    return {
+        listings: Array.isArray(data.content) ? data.content.map(normalizeListing) : [],
+        statusCounts,
+        total: statusCounts.AVAILABLE + statusCounts.BORROWED + statusCounts.UNAVAILABLE,
+        pageNumber: Number(data.pageNumber) || 0,
+        totalPages: Number(data.totalPages) || 0,
+    };
 };
 
 /**
@@ -475,9 +488,13 @@ export const getRecentRequests = async () => {
 /**
  * REVIEWS & RATINGS (backend wiring stubs)
  */
-export const getListingReviews = async (listingId, { page = 0, size = 10, sort } = {}) => {
+/**
+ * Reviews newest first. Pass the previous response's nextCursor to fetch the next slice;
+ * it is null once the last slice has been returned.
+ */
+export const getListingReviews = async (listingId, { size = 10, cursor } = {}) => {
     const response = await api.get(`/api/reviews/listings/${listingId}`, {
-        params: { page, size, ...(sort ? { sort } : {}) },
+        params: { size, ...(cursor ? { cursor } : {}) },
     });
     return response.data;
 };
@@ -525,21 +542,10 @@ export const getTrustScoreSummary = async (userId) => {
 };
 
 /**
- * GET count of sent borrow requests with a specific status for user stats.
+ * GET /api/marketplace/requests/counts
+ * Per-status counts of incoming and sent requests: { incoming, outgoing, activeIncoming, activeOutgoing }.
  */
-export const getMySentRequestsCount = async (status) => {
-    const response = await api.get('/api/marketplace/requests/me', {
-        params: { status, page: 0, size: 1 },
-    });
-    return response.data?.totalElements ?? (Array.isArray(response.data) ? response.data.length : 0);
-};
-
-/**
- * GET count of incoming borrow requests with a specific status for user stats.
- */
-export const getIncomingRequestsCount = async (status) => {
-    const response = await api.get('/api/marketplace/requests/incoming', {
-        params: { status, page: 0, size: 1 },
-    });
-    return response.data?.totalElements ?? (Array.isArray(response.data) ? response.data.length : 0);
+export const getRequestCounts = async () => {
+    const response = await api.get('/api/marketplace/requests/counts');
+    return response.data;
 };